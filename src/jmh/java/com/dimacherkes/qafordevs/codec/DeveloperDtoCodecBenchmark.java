@@ -0,0 +1,72 @@
+package com.dimacherkes.qafordevs.codec;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode/decode throughput of a {@code List<DeveloperDto>} response per wire format. The encoded
+ * payload size of every format is printed during setup.
+ * <p>
+ * {@code ./gradlew jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeveloperDtoCodecBenchmark {
+
+    @Param({"application/json", "application/x-jackson-smile", "application/cbor"})
+    public String format;
+
+    @Param({"1000"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<DeveloperDto> developers;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        DeveloperObjectMappers mappers = new DeveloperObjectMappers(Jackson2ObjectMapperBuilder.json().build(),
+                Jackson2ObjectMapperBuilder.smile().build(), Jackson2ObjectMapperBuilder.cbor().build());
+        ObjectMapper mapper = mappers.forMediaType(MediaType.valueOf(format));
+        writer = mapper.writerFor(new TypeReference<List<DeveloperDto>>() {
+        });
+        reader = mapper.readerFor(new TypeReference<List<DeveloperDto>>() {
+        });
+        developers = IntStream.rangeClosed(1, listSize)
+                .mapToObj(id -> DeveloperDto.builder()
+                        .id(id)
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .email("developer" + id + "@mail.com")
+                        .specialty(id % 3 == 0 ? "Java" : "Python")
+                        .status(Status.ACTIVE)
+                        .build())
+                .toList();
+        encoded = writer.writeValueAsBytes(developers);
+        System.out.printf("%n%s payload for %d developers: %d bytes%n", format, listSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(developers);
+    }
+
+    @Benchmark
+    public List<DeveloperDto> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dimacherkes.qafordevs.codec;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of gzip per level for a full roster JSON payload. The compressed size of every level is
+ * printed during setup, so bandwidth saved can be weighed against compression throughput; a level
+ * of 0 is the uncompressed baseline.
+ * <p>
+ * {@code ./gradlew jmh -Pjmh.includes=ResponseCompressionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseCompressionBenchmark {
+
+    @Param({"0", "1", "6", "9"})
+    public int level;
+
+    @Param({"10000"})
+    public int listSize;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<DeveloperDto> developers = IntStream.rangeClosed(1, listSize)
+                .mapToObj(id -> DeveloperDto.builder()
+                        .id(id)
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .email("developer" + id + "@mail.com")
+                        .specialty(id % 3 == 0 ? "Java" : "Python")
+                        .status(Status.ACTIVE)
+                        .build())
+                .toList();
+        json = new ObjectMapper().writeValueAsBytes(developers);
+        System.out.printf("%nlevel %d: %d bytes -> %d bytes%n", level, json.length, compress().length);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        if (level == 0) {
+            return json;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return compressed.toByteArray();
+    }
+}
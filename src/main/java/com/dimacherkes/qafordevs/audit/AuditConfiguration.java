@@ -0,0 +1,42 @@
+package com.dimacherkes.qafordevs.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfiguration {
+
+    @Bean
+    public DeveloperAuditStore developerAuditStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        return new DeveloperAuditStore(jdbcTemplate, objectMapper);
+    }
+
+    @Bean
+    public DeveloperAuditLog developerAuditLog(DeveloperAuditStore developerAuditStore, ObjectMapper objectMapper,
+                                               AuditProperties properties) {
+        return new DeveloperAuditLog(developerAuditStore, new AuditSpool(properties.getSpoolPath(), objectMapper),
+                properties);
+    }
+
+    /**
+     * Hands the listener to Hibernate while the entity manager factory is built rather than from a bean
+     * nothing injects, which lazy initialization would never create.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer developerAuditListenerCustomizer(DeveloperAuditLog developerAuditLog) {
+        DeveloperAuditIntegrator integrator = new DeveloperAuditIntegrator(new DeveloperAuditListener(developerAuditLog));
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+}
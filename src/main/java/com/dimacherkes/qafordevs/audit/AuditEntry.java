@@ -0,0 +1,15 @@
+package com.dimacherkes.qafordevs.audit;
+
+import com.dimacherkes.qafordevs.event.ChangeType;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One committed developer change. {@code before} and {@code after} hold only the properties that
+ * changed; a creation has no {@code before} and a hard delete no {@code after}.
+ */
+public record AuditEntry(UUID eventId, Instant changedAt, Integer developerId, ChangeType changeType,
+                         Map<String, Object> before, Map<String, Object> after) {
+}
@@ -0,0 +1,37 @@
+package com.dimacherkes.qafordevs.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+    /**
+     * Most entries written by one batched insert.
+     */
+    private int batchSize = 500;
+    /**
+     * How long the writer waits for a batch to fill before writing what it has.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+    private int queueCapacity = 10_000;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    /**
+     * How long shutdown waits for buffered entries to be written before spooling the rest.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+    /**
+     * Monthly partitions created ahead of the current month.
+     */
+    private int partitionsAhead = 3;
+    /**
+     * Holds entries the queue could not take until they are written. Put it on storage that survives
+     * a restart of the instance, or entries spooled at shutdown are lost with it.
+     */
+    private Path spoolPath = Path.of(System.getProperty("java.io.tmpdir"), "qafordevs-audit", "spool.ndjson");
+}
@@ -0,0 +1,96 @@
+package com.dimacherkes.qafordevs.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Local NDJSON file for audit entries the writer could not take: the overflow of a full queue and
+ * whatever is still buffered when shutdown runs out of time. The writer replays it when it is idle
+ * and after the next start. The store ignores entries it already has, so replaying a file twice,
+ * for instance after a crash during a replay, writes every entry once.
+ */
+@Slf4j
+public class AuditSpool {
+
+    private final Path path;
+    private final Path replaying;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+
+    public AuditSpool(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.replaying = path.resolveSibling(path.getFileName() + ".replaying");
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(AuditEntry.class);
+    }
+
+    public synchronized void append(Collection<AuditEntry> entries) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditEntry entry : entries) {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.newLine();
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return !Files.exists(path) && !Files.exists(replaying);
+    }
+
+    /**
+     * Hands the spooled entries to {@code writer} in batches and deletes them once every batch went
+     * through. Entries appended meanwhile go to a fresh file and wait for the next replay. An exception
+     * thrown by {@code writer} leaves the entries spooled.
+     */
+    public void replay(int batchSize, Consumer<List<AuditEntry>> writer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(replaying)) {
+                if (!Files.exists(path)) {
+                    return;
+                }
+                Files.move(path, replaying, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        try (BufferedReader lines = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            List<AuditEntry> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(reader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    // the tail of an append cut short by a crash
+                    log.error("Skipping unreadable spooled audit entry {}", line, e);
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    writer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writer.accept(batch);
+            }
+        }
+        Files.delete(replaying);
+    }
+}
@@ -0,0 +1,29 @@
+package com.dimacherkes.qafordevs.audit;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+
+/**
+ * Registers the {@link DeveloperAuditListener} while the session factory is built, so the listener is
+ * in place whenever the entity manager factory exists, however lazily the application context starts.
+ */
+public class DeveloperAuditIntegrator implements Integrator {
+
+    private final DeveloperAuditListener listener;
+
+    public DeveloperAuditIntegrator(DeveloperAuditListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+}
@@ -0,0 +1,101 @@
+package com.dimacherkes.qafordevs.audit;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.event.ChangeType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Turns committed developer inserts, updates and deletes into audit entries. Hibernate hands over
+ * the loaded and the flushed state of each row, so the diff costs no extra query, and rolled back
+ * changes never reach the audit log. Bulk JPQL updates bypass these events and are not audited.
+ */
+public class DeveloperAuditListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final String STATUS = "status";
+
+    private final DeveloperAuditLog auditLog;
+
+    public DeveloperAuditListener(DeveloperAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == DeveloperEntity.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof DeveloperEntity developer) {
+            Map<String, Object> after = changed(event.getPersister(), null, event.getState());
+            submit(developer.getId(), ChangeType.CREATED, null, after);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof DeveloperEntity developer) {
+            Object[] oldState = event.getOldState();
+            Map<String, Object> before = Objects.isNull(oldState)
+                    ? null
+                    : changed(event.getPersister(), event.getState(), oldState);
+            Map<String, Object> after = changed(event.getPersister(), oldState, event.getState());
+            ChangeType type = Objects.nonNull(before) && Status.ACTIVE.equals(before.get(STATUS))
+                    && Status.DELETED.equals(after.get(STATUS)) ? ChangeType.SOFT_DELETED : ChangeType.UPDATED;
+            submit(developer.getId(), type, before, after);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof DeveloperEntity developer) {
+            Map<String, Object> before = changed(event.getPersister(), null, event.getDeletedState());
+            submit(developer.getId(), ChangeType.HARD_DELETED, before, null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void submit(Integer developerId, ChangeType type, Map<String, Object> before, Map<String, Object> after) {
+        auditLog.submit(new AuditEntry(UUID.randomUUID(), Instant.now(), developerId, type, before, after));
+    }
+
+    /**
+     * Properties of {@code state} that differ from {@code other}, or all of them when there is
+     * nothing to compare with.
+     */
+    private static Map<String, Object> changed(EntityPersister persister, Object[] other, Object[] state) {
+        String[] names = persister.getPropertyNames();
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (Objects.isNull(other) || !Objects.equals(other[i], state[i])) {
+                values.put(names[i], state[i]);
+            }
+        }
+        return values;
+    }
+}
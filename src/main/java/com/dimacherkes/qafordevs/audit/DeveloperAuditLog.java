@@ -0,0 +1,184 @@
+package com.dimacherkes.qafordevs.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers audit entries and writes them in batches from a single background thread, so committing
+ * a developer change costs a queue offer rather than an insert. A batch that fails is retried until
+ * it is written. Entries that find the queue full, are still buffered when the shutdown timeout is
+ * up or are submitted after shutdown go to the {@link AuditSpool} and are written from there later,
+ * so the committing thread never waits for the database.
+ */
+@Slf4j
+public class DeveloperAuditLog implements MeterBinder, DisposableBean {
+
+    private final DeveloperAuditStore store;
+    private final AuditSpool spool;
+    private final AuditProperties properties;
+    private final BlockingQueue<AuditEntry> queue;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile long shutdownDeadline = Long.MAX_VALUE;
+    private YearMonth partitionedUntil;
+
+    public DeveloperAuditLog(DeveloperAuditStore store, AuditSpool spool, AuditProperties properties) {
+        this.store = store;
+        this.spool = spool;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.partitionedUntil = currentMonth();
+        store.createSchema(partitionedUntil, properties.getPartitionsAhead());
+        this.writer = Thread.ofPlatform()
+                .name("developer-audit-log")
+                .daemon()
+                .start(this::drain);
+    }
+
+    public void submit(AuditEntry entry) {
+        if (!running || !queue.offer(entry)) {
+            spool(List.of(entry));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("developer.audit.written", written, AtomicLong::get)
+                .description("Audit entries written to the history table")
+                .register(registry);
+        FunctionCounter.builder("developer.audit.spooled", spooled, AtomicLong::get)
+                .description("Audit entries written to the local spool instead of the queue")
+                .register(registry);
+        FunctionCounter.builder("developer.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit entries lost because the spool could not be written")
+                .register(registry);
+        FunctionCounter.builder("developer.audit.failed.batches", failedBatches, AtomicLong::get)
+                .description("Audit batch inserts that failed and were retried")
+                .register(registry);
+        Gauge.builder("developer.audit.queued", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(registry);
+    }
+
+    private void drain() {
+        List<AuditEntry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    fill(batch);
+                }
+                if (!batch.isEmpty()) {
+                    write(batch);
+                } else if (running && !spool.isEmpty()) {
+                    replaySpool();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (System.nanoTime() > shutdownDeadline) {
+                break;
+            }
+        }
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            log.warn("Audit log stopped with {} entries not written, spooling them for the next start", batch.size());
+            spool(batch);
+        }
+    }
+
+    private void spool(List<AuditEntry> entries) {
+        try {
+            spool.append(entries);
+            spooled.addAndGet(entries.size());
+        } catch (IOException e) {
+            dropped.addAndGet(entries.size());
+            log.error("Failed to spool {} audit entries, they are lost", entries.size(), e);
+        }
+    }
+
+    /**
+     * Runs while the queue is idle; a failure leaves the entries spooled for the next attempt.
+     */
+    private void replaySpool() throws InterruptedException {
+        try {
+            spool.replay(properties.getBatchSize(), entries -> {
+                maintainPartitions();
+                store.insertAll(entries);
+                written.addAndGet(entries.size());
+            });
+        } catch (IOException | RuntimeException e) {
+            failedBatches.incrementAndGet();
+            log.warn("Failed to replay spooled audit entries, retrying in {}", properties.getRetryBackoff(), e);
+            Thread.sleep(properties.getRetryBackoff().toMillis());
+        }
+    }
+
+    private void fill(List<AuditEntry> batch) throws InterruptedException {
+        AuditEntry first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            AuditEntry next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+        }
+    }
+
+    private void write(List<AuditEntry> batch) throws InterruptedException {
+        try {
+            maintainPartitions();
+            store.insertAll(batch);
+            written.addAndGet(batch.size());
+            batch.clear();
+        } catch (RuntimeException e) {
+            // the batch is kept and sent again, duplicates of a partly applied attempt are ignored by the store
+            failedBatches.incrementAndGet();
+            log.warn("Failed to write {} audit entries, retrying in {}", batch.size(), properties.getRetryBackoff(), e);
+            Thread.sleep(properties.getRetryBackoff().toMillis());
+        }
+    }
+
+    private void maintainPartitions() {
+        YearMonth current = currentMonth();
+        if (!current.equals(partitionedUntil)) {
+            store.ensurePartitions(current, properties.getPartitionsAhead());
+            partitionedUntil = current;
+        }
+    }
+
+    private YearMonth currentMonth() {
+        return YearMonth.now(ZoneOffset.UTC);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        shutdownDeadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        running = false;
+        writer.join(properties.getShutdownTimeout().plusSeconds(1).toMillis());
+    }
+}
@@ -0,0 +1,124 @@
+package com.dimacherkes.qafordevs.audit;
+
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * JDBC access to the {@code developer_audit} table. The table is range partitioned by month on
+ * {@code changed_at}, which Hibernate schema generation can not express, so it is created here.
+ * Inserts ignore event ids already present, which makes re-sending a batch after a failure safe.
+ */
+@RequiredArgsConstructor
+public class DeveloperAuditStore {
+
+    private static final TypeReference<Map<String, Object>> STATE_TYPE = new TypeReference<>() {
+    };
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void createSchema(YearMonth current, int partitionsAhead) {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS developer_audit (
+                    event_id UUID NOT NULL,
+                    changed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    developer_id INTEGER NOT NULL,
+                    change_type VARCHAR(32) NOT NULL,
+                    before_state JSONB,
+                    after_state JSONB,
+                    PRIMARY KEY (event_id, changed_at)
+                ) PARTITION BY RANGE (changed_at)""");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_developer_audit_developer"
+                + " ON developer_audit (developer_id, changed_at)");
+        // catches clock skew and anything past the created months instead of failing the insert
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS developer_audit_default PARTITION OF developer_audit DEFAULT");
+        ensurePartitions(current, partitionsAhead);
+    }
+
+    public void ensurePartitions(YearMonth current, int partitionsAhead) {
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS developer_audit_" + month.format(PARTITION_SUFFIX)
+                    + " PARTITION OF developer_audit FOR VALUES FROM ('" + startOf(month)
+                    + "') TO ('" + startOf(month.plusMonths(1)) + "')");
+        }
+    }
+
+    public void insertAll(List<AuditEntry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (AuditEntry entry : entries) {
+            rows.add(new Object[]{entry.eventId(), Timestamp.from(entry.changedAt()), entry.developerId(),
+                    entry.changeType().name(), toJson(entry.before()), toJson(entry.after())});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO developer_audit (event_id, changed_at, developer_id, change_type, before_state, after_state)
+                VALUES (?, ?, ?, ?, ?::jsonb, ?::jsonb)
+                ON CONFLICT DO NOTHING""", rows);
+    }
+
+    /**
+     * Entries changed in {@code [from, to)}, oldest first. Only partitions overlapping the range
+     * are scanned.
+     */
+    public List<AuditEntry> findAll(Instant from, Instant to, Integer developerId, int limit) {
+        RowMapper<AuditEntry> mapper = (rs, rowNum) -> new AuditEntry(
+                rs.getObject("event_id", UUID.class),
+                rs.getTimestamp("changed_at").toInstant(),
+                rs.getInt("developer_id"),
+                ChangeType.valueOf(rs.getString("change_type")),
+                fromJson(rs.getString("before_state")),
+                fromJson(rs.getString("after_state")));
+        String select = "SELECT event_id, changed_at, developer_id, change_type, before_state, after_state"
+                + " FROM developer_audit WHERE changed_at >= ? AND changed_at < ?";
+        if (Objects.isNull(developerId)) {
+            return jdbcTemplate.query(select + " ORDER BY changed_at, event_id LIMIT ?", mapper,
+                    Timestamp.from(from), Timestamp.from(to), limit);
+        }
+        return jdbcTemplate.query(select + " AND developer_id = ? ORDER BY changed_at, event_id LIMIT ?", mapper,
+                Timestamp.from(from), Timestamp.from(to), developerId, limit);
+    }
+
+    private static String startOf(YearMonth month) {
+        // spelled out in UTC so the bounds do not depend on the session time zone
+        return month.atDay(1) + " 00:00:00+00";
+    }
+
+    private String toJson(Map<String, Object> state) {
+        if (Objects.isNull(state)) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (Objects.isNull(json)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, STATE_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
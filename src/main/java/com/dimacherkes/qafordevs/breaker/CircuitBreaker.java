@@ -0,0 +1,149 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for the database. Closed, it tracks the outcome of the last
+ * {@code windowSize} calls and opens when too many of them failed. Open, it rejects every call for
+ * {@code openDuration}. Half-open, it lets a growing share of calls through, one ramp step at a time,
+ * so a database that just came back is not hit by the full load at once.
+ */
+@Slf4j
+public class CircuitBreaker implements MeterBinder {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final List<Double> rampShares;
+    private final long rampStepNanos;
+    private final LongSupplier clock;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private long stateChangedAt;
+    private int rampStep;
+    private boolean rampStepSucceeded;
+
+    public CircuitBreaker(CircuitBreakerProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CircuitBreaker(CircuitBreakerProperties properties, LongSupplier clock) {
+        this.minimumCalls = properties.getMinimumCalls();
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.rampShares = List.copyOf(properties.getRampShares());
+        this.rampStepNanos = properties.getRampStepDuration().toNanos();
+        this.clock = clock;
+        this.window = new boolean[properties.getWindowSize()];
+    }
+
+    /**
+     * @return whether the call may go to the database; when not, it has to be answered without it
+     */
+    public synchronized boolean allowRequest() {
+        long now = clock.getAsLong();
+        if (state == State.OPEN && now - stateChangedAt >= openNanos) {
+            transition(State.HALF_OPEN, now);
+        }
+        if (state == State.HALF_OPEN) {
+            advanceRamp(now);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> ThreadLocalRandom.current().nextDouble() < rampShares.get(rampStep);
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            rampStepSucceeded = true;
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        long now = clock.getAsLong();
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN, now);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= minimumCalls && (double) windowFailures / windowCalls >= failureRateThreshold) {
+                transition(State.OPEN, now);
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return whole seconds until the open circuit starts probing again, at least one
+     */
+    public synchronized long retryAfterSeconds() {
+        long remaining = state == State.OPEN ? openNanos - (clock.getAsLong() - stateChangedAt) : 0;
+        return Math.max(1, (remaining + 999_999_999L) / 1_000_000_000L);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("developer.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Database circuit state: 0 closed, 1 half-open, 2 open")
+                .register(registry);
+    }
+
+    private void advanceRamp(long now) {
+        if (now - stateChangedAt < (rampStep + 1) * rampStepNanos || !rampStepSucceeded) {
+            return;
+        }
+        if (rampStep + 1 == rampShares.size()) {
+            transition(State.CLOSED, now);
+            return;
+        }
+        rampStep++;
+        rampStepSucceeded = false;
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowPosition]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private void transition(State next, long now) {
+        log.warn("Database circuit {} -> {}", state, next);
+        state = next;
+        stateChangedAt = now;
+        rampStep = 0;
+        rampStepSucceeded = false;
+        windowPosition = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.dimacherkes.qafordevs.exception.CircuitOpenException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Marks responses built from last-known values with {@value #STALE_HEADER} (their age in seconds)
+ * and keeps them out of caches, and answers calls rejected by the open circuit with 503.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "qafordevs.circuit-breaker", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CircuitBreakerAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Data-Stale";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(CircuitBreakerAspect.STALE_SINCE_ATTRIBUTE) instanceof Instant staleSince) {
+            long ageSeconds = Math.max(0, Duration.between(staleSince, Instant.now()).toSeconds());
+            response.getHeaders().set(STALE_HEADER, String.valueOf(ageSeconds));
+            response.getHeaders().setCacheControl(CacheControl.noStore());
+        }
+        return body;
+    }
+
+    @ExceptionHandler(CircuitOpenException.class)
+    public ResponseEntity<ErrorDto> circuitOpen(CircuitOpenException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ErrorDto.builder()
+                        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                        .message(e.getMessage())
+                        .build());
+    }
+}
@@ -0,0 +1,215 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.exception.CircuitOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Puts {@link CircuitBreaker} in front of the developer repository. Only failures to reach the
+ * database count against the circuit; a constraint violation or a missing row is a healthy answer.
+ * <p>
+ * Point reads and specialty lists remember their last result, refreshed at most once per refresh
+ * interval unless a write drops it first. When the circuit is open, or the call fails because the
+ * database is unreachable, that result is returned instead and the request is marked stale for
+ * {@link CircuitBreakerAdvice}. Everything else fails fast with {@link CircuitOpenException}. Runs
+ * outermost so the fallback key is the caller's call, not a per-shard one.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CircuitBreakerAspect {
+
+    static final String STALE_SINCE_ATTRIBUTE = CircuitBreakerAspect.class.getName() + ".staleSince";
+
+    private static final Set<String> FALLBACK_READS = Set.of("findById", "findProjectedById", "findByEmail",
+            "findAllActiveBySpecialty", "findAllActiveBySpecialtyProjected");
+    private static final String ID_TAG_PREFIX = "id:";
+    private static final String EMAIL_TAG_PREFIX = "email:";
+    private static final String SPECIALTY_TAG_PREFIX = "specialty:";
+
+    private final CircuitBreaker circuitBreaker;
+    private final LastKnownValues lastKnownValues;
+    private final Counter staleReads;
+    private final Counter rejectedCalls;
+
+    public CircuitBreakerAspect(CircuitBreaker circuitBreaker, LastKnownValues lastKnownValues, MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.lastKnownValues = lastKnownValues;
+        this.staleReads = Counter.builder("developer.circuit.fallback").tag("result", "stale").register(meterRegistry);
+        this.rejectedCalls = Counter.builder("developer.circuit.fallback").tag("result", "rejected").register(meterRegistry);
+        Gauge.builder("developer.circuit.last_known.bytes", lastKnownValues, LastKnownValues::bytes)
+                .description("Estimated heap held by the results kept for the open circuit")
+                .register(meterRegistry);
+    }
+
+    @Around("target(com.dimacherkes.qafordevs.repository.DeveloperRepository)")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        List<Object> key = FALLBACK_READS.contains(method) ? key(method, joinPoint.getArgs()) : null;
+        if (!circuitBreaker.allowRequest()) {
+            return fallback(key, null);
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (RuntimeException e) {
+            if (!isDatabaseUnavailable(e)) {
+                circuitBreaker.onSuccess();
+                throw e;
+            }
+            circuitBreaker.onFailure();
+            return fallback(key, e);
+        }
+        circuitBreaker.onSuccess();
+        if (Objects.nonNull(key)) {
+            Instant now = Instant.now();
+            if (lastKnownValues.needsRefresh(key, now)) {
+                lastKnownValues.put(key, result, tags(key, result), now);
+            }
+        } else {
+            refreshAfterWrite(method, joinPoint.getArgs(), result);
+        }
+        return result;
+    }
+
+    private Object fallback(List<Object> key, RuntimeException failure) {
+        LastKnownValues.Value lastKnown = Objects.isNull(key) ? null : lastKnownValues.get(key, Instant.now());
+        if (Objects.isNull(lastKnown)) {
+            rejectedCalls.increment();
+            if (Objects.nonNull(failure)) {
+                throw failure;
+            }
+            throw new CircuitOpenException("Database is unavailable, retry later", circuitBreaker.retryAfterSeconds());
+        }
+        staleReads.increment();
+        markStale(lastKnown.storedAt());
+        return lastKnown.result();
+    }
+
+    /**
+     * A read answered after a write through the same instance must not fall back to what the data
+     * looked like before it: every remembered value holding the written developers goes, as do the
+     * email and specialty lookups they now match.
+     */
+    private void refreshAfterWrite(String method, Object[] args, Object result) {
+        if (method.startsWith("save")) {
+            developers(result).forEach(developer -> {
+                invalidate(developer);
+                lastKnownValues.put(key("findById", new Object[]{developer.getId()}), Optional.of(developer),
+                        Set.of(idTag(developer.getId())), Instant.now());
+            });
+        } else if (method.startsWith("delete")) {
+            if (args.length == 0) {
+                lastKnownValues.clear();
+                return;
+            }
+            Iterable<?> deleted = args[0] instanceof Iterable<?> iterable ? iterable : List.of(args[0]);
+            for (Object target : deleted) {
+                if (target instanceof DeveloperEntity developer) {
+                    invalidate(developer);
+                } else {
+                    lastKnownValues.invalidate(idTag(target));
+                }
+            }
+        }
+    }
+
+    private void invalidate(DeveloperEntity developer) {
+        lastKnownValues.invalidate(idTag(developer.getId()));
+        lastKnownValues.invalidate(EMAIL_TAG_PREFIX + DeveloperEntity.emailKey(developer.getEmail()));
+        lastKnownValues.invalidate(SPECIALTY_TAG_PREFIX + developer.getSpecialty());
+    }
+
+    /**
+     * The developers a read returned, and for lookups by email or specialty the value looked up.
+     */
+    private static Set<String> tags(List<Object> key, Object result) {
+        Set<String> tags = new HashSet<>();
+        String method = (String) key.get(0);
+        if (method.equals("findById") || method.equals("findProjectedById")) {
+            tags.add(idTag(key.get(1)));
+        } else if (method.equals("findByEmail")) {
+            tags.add(EMAIL_TAG_PREFIX + key.get(1));
+        } else {
+            tags.add(SPECIALTY_TAG_PREFIX + key.get(1));
+        }
+        developers(result).forEach(developer -> tags.add(idTag(developer.getId())));
+        return tags;
+    }
+
+    private static List<DeveloperEntity> developers(Object result) {
+        if (result instanceof DeveloperEntity developer) {
+            return List.of(developer);
+        }
+        if (result instanceof Optional<?> optional) {
+            return developers(optional.orElse(null));
+        }
+        if (result instanceof Iterable<?> iterable) {
+            List<DeveloperEntity> found = new ArrayList<>();
+            iterable.forEach(element -> found.addAll(developers(element)));
+            return found;
+        }
+        return List.of();
+    }
+
+    private static String idTag(Object id) {
+        return ID_TAG_PREFIX + id;
+    }
+
+    private static List<Object> key(String method, Object[] args) {
+        List<Object> key = new ArrayList<>(args.length + 1);
+        key.add(method);
+        key.addAll(Arrays.asList(args));
+        if ("findByEmail".equals(method)) {
+            key.set(1, DeveloperEntity.emailKey((String) args[0]));
+        }
+        return key;
+    }
+
+    private static void markStale(Instant storedAt) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(attributes)) {
+            return;
+        }
+        Instant staleSince = (Instant) attributes.getAttribute(STALE_SINCE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (Objects.isNull(staleSince) || storedAt.isBefore(staleSince)) {
+            attributes.setAttribute(STALE_SINCE_ATTRIBUTE, storedAt, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isDatabaseUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof JDBCConnectionException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
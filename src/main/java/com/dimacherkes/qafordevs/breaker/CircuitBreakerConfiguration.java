@@ -0,0 +1,28 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.circuit-breaker", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+public class CircuitBreakerConfiguration {
+
+    @Bean
+    public CircuitBreaker databaseCircuitBreaker(CircuitBreakerProperties properties) {
+        return new CircuitBreaker(properties);
+    }
+
+    @Bean
+    public CircuitBreakerAspect circuitBreakerAspect(CircuitBreaker databaseCircuitBreaker,
+                                                     CircuitBreakerProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        LastKnownValues lastKnownValues = new LastKnownValues(properties.getLastKnownMaxBytes(),
+                properties.getLastKnownMaxValueBytes(), properties.getMaxStaleness(),
+                properties.getLastKnownRefreshInterval());
+        return new CircuitBreakerAspect(databaseCircuitBreaker, lastKnownValues, meterRegistry);
+    }
+}
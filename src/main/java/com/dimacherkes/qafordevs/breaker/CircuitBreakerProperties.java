@@ -0,0 +1,48 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    private boolean enabled = true;
+    /**
+     * Repository calls whose outcome is remembered to compute the failure rate.
+     */
+    private int windowSize = 50;
+    /**
+     * Calls the window needs before the failure rate is trusted.
+     */
+    private int minimumCalls = 20;
+    private double failureRateThreshold = 0.5;
+    private Duration openDuration = Duration.ofSeconds(10);
+    /**
+     * Share of calls let through to the database on each step of the half-open ramp; a failure at any
+     * step opens the circuit again, a clean last step closes it.
+     */
+    private List<Double> rampShares = new ArrayList<>(List.of(0.1, 0.25, 0.5));
+    private Duration rampStepDuration = Duration.ofSeconds(5);
+    /**
+     * Estimated heap the read results kept to answer from while the circuit is open may take.
+     */
+    private long lastKnownMaxBytes = 32L * 1024 * 1024;
+    /**
+     * Larger read results, such as a list covering most of the table, are not kept.
+     */
+    private long lastKnownMaxValueBytes = 1024 * 1024;
+    /**
+     * Older last-known values are not served, the read fails like a write instead.
+     */
+    private Duration maxStaleness = Duration.ofHours(1);
+    /**
+     * Reads within this long of the remembered result do not replace it; writes through this
+     * instance still drop it at once.
+     */
+    private Duration lastKnownRefreshInterval = Duration.ofSeconds(30);
+}
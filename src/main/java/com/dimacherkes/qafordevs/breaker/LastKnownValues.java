@@ -0,0 +1,228 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Most recent result of each cacheable repository read, keyed by method and arguments, kept in
+ * least-recently-used order within a byte budget.
+ * <p>
+ * Developers are stored as immutable snapshots and every {@link #get} hands out fresh detached
+ * copies, so callers modifying what they read change neither the stored value nor each other's.
+ * Each value carries tags (the developers it contains, the email or specialty it was looked up by)
+ * through which writes {@link #invalidate} every value they make wrong.
+ * <p>
+ * A value younger than the refresh interval is not replaced by the next read of the same key, so a
+ * hot read pays for the copy once per interval rather than on every call.
+ */
+public class LastKnownValues {
+
+    // rough heap cost of a snapshot or a map entry without its strings
+    private static final long OBJECT_BYTES = 64;
+
+    public record Value(Object result, Instant storedAt) {
+    }
+
+    private record Snapshot(Integer id, String email, String emailKey, String firstName, String lastName,
+                            String specialty, Status status, Instant updatedAt) {
+
+        private static Snapshot of(DeveloperEntity developer) {
+            return new Snapshot(developer.getId(), developer.getEmail(), developer.getEmailKey(),
+                    developer.getFirstName(), developer.getLastName(), developer.getSpecialty(),
+                    developer.getStatus(), developer.getUpdatedAt());
+        }
+
+        private DeveloperEntity toEntity() {
+            return DeveloperEntity.builder()
+                    .id(id)
+                    .email(email)
+                    .emailKey(emailKey)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .specialty(specialty)
+                    .status(status)
+                    .updatedAt(updatedAt)
+                    .loadedEmail(email)
+                    .loadedEmailKey(emailKey)
+                    .build();
+        }
+
+        private long bytes() {
+            return OBJECT_BYTES + 2L * (length(email) + length(emailKey) + length(firstName) + length(lastName)
+                    + length(specialty));
+        }
+
+        private static int length(String value) {
+            return Objects.isNull(value) ? 0 : value.length();
+        }
+    }
+
+    private record Entry(Object snapshot, Instant storedAt, Set<String> tags, long bytes) {
+    }
+
+    private final LinkedHashMap<List<Object>, Entry> values = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<List<Object>>> keysByTag = new HashMap<>();
+    private final long maxBytes;
+    private final long maxValueBytes;
+    private final Duration maxStaleness;
+    private final Duration refreshInterval;
+    private long bytes;
+
+    public LastKnownValues(long maxBytes, long maxValueBytes, Duration maxStaleness, Duration refreshInterval) {
+        this.maxBytes = maxBytes;
+        this.maxValueBytes = maxValueBytes;
+        this.maxStaleness = maxStaleness;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * @return whether nothing is known for the key or the value is at least the refresh interval old
+     */
+    public synchronized boolean needsRefresh(List<Object> key, Instant now) {
+        Entry entry = values.get(key);
+        return entry == null || !entry.storedAt().plus(refreshInterval).isAfter(now);
+    }
+
+    /**
+     * Remembers the result in place of the previous one. A result larger than the value budget is
+     * not kept at all, the previous one is dropped all the same. A list whose row count alone rules
+     * it out is turned away before any copy is made, and the copy is made outside the lock.
+     */
+    public void put(List<Object> key, Object result, Set<String> tags, Instant now) {
+        if (OBJECT_BYTES + minimumBytes(result) > Math.min(maxValueBytes, maxBytes)) {
+            remove(key);
+            return;
+        }
+        Object snapshot = snapshot(result);
+        long size = OBJECT_BYTES + bytes(snapshot);
+        if (size > maxValueBytes || size > maxBytes) {
+            remove(key);
+            return;
+        }
+        store(key, new Entry(snapshot, now, Set.copyOf(tags), size));
+    }
+
+    private synchronized void store(List<Object> key, Entry entry) {
+        remove(key);
+        values.put(key, entry);
+        entry.tags().forEach(tag -> keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key));
+        bytes += entry.bytes();
+        while (bytes > maxBytes) {
+            remove(values.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * @return a copy of the value, {@code null} when nothing or only a value older than the max staleness is known
+     */
+    public synchronized Value get(List<Object> key, Instant now) {
+        Entry entry = values.get(key);
+        if (entry == null || entry.storedAt().plus(maxStaleness).isBefore(now)) {
+            return null;
+        }
+        return new Value(restore(entry.snapshot()), entry.storedAt());
+    }
+
+    public synchronized void remove(List<Object> key) {
+        Entry entry = values.remove(key);
+        if (entry == null) {
+            return;
+        }
+        bytes -= entry.bytes();
+        for (String tag : entry.tags()) {
+            Set<List<Object>> keys = keysByTag.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every value stored with the tag.
+     */
+    public synchronized void invalidate(String tag) {
+        Set<List<Object>> keys = keysByTag.remove(tag);
+        if (keys != null) {
+            List.copyOf(keys).forEach(this::remove);
+        }
+    }
+
+    public synchronized void clear() {
+        values.clear();
+        keysByTag.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Estimated heap held by the stored values.
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    private static Object snapshot(Object result) {
+        if (result instanceof DeveloperEntity developer) {
+            return Snapshot.of(developer);
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.map(LastKnownValues::snapshot);
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.stream().map(LastKnownValues::snapshot).toList();
+        }
+        return result;
+    }
+
+    private static Object restore(Object snapshot) {
+        if (snapshot instanceof Snapshot developer) {
+            return developer.toEntity();
+        }
+        if (snapshot instanceof Optional<?> optional) {
+            return optional.map(LastKnownValues::restore);
+        }
+        if (snapshot instanceof List<?> list) {
+            // a mutable list, like the one the repository returned
+            return list.stream().map(LastKnownValues::restore).collect(Collectors.toList());
+        }
+        return snapshot;
+    }
+
+    /**
+     * What a result takes at least once snapshotted, counting each developer without its strings.
+     */
+    private static long minimumBytes(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size() * (Long.BYTES + OBJECT_BYTES);
+        }
+        return 0;
+    }
+
+    private static long bytes(Object snapshot) {
+        if (snapshot instanceof Snapshot developer) {
+            return developer.bytes();
+        }
+        if (snapshot instanceof Optional<?> optional) {
+            return optional.map(LastKnownValues::bytes).orElse(0L);
+        }
+        if (snapshot instanceof List<?> list) {
+            return list.stream().mapToLong(element -> Long.BYTES + bytes(element)).sum();
+        }
+        return 0;
+    }
+}
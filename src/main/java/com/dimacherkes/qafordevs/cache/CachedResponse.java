@@ -0,0 +1,68 @@
+package com.dimacherkes.qafordevs.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized response body and headers captured at a data generation. The gzip variant is produced
+ * on the first request that accepts it and kept next to the identity bytes.
+ */
+public class CachedResponse {
+
+    private final long generation;
+    private final String contentType;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private volatile byte[] gzipBody;
+
+    public CachedResponse(long generation, String contentType, HttpHeaders headers, byte[] body) {
+        this.generation = generation;
+        this.contentType = contentType;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    public byte[] body() {
+        return body;
+    }
+
+    public byte[] gzipBody(int level) {
+        byte[] compressed = gzipBody;
+        if (compressed == null) {
+            // racing threads may both compress once, the result is identical either way
+            compressed = gzip(body, level);
+            gzipBody = compressed;
+        }
+        return compressed;
+    }
+
+    private static byte[] gzip(byte[] body, int level) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzipStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
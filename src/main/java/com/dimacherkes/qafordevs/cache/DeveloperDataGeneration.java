@@ -0,0 +1,42 @@
+package com.dimacherkes.qafordevs.cache;
+
+import com.dimacherkes.qafordevs.event.DeveloperBatchChangedEvent;
+import com.dimacherkes.qafordevs.event.DeveloperCacheEvictionEvent;
+import com.dimacherkes.qafordevs.event.DeveloperChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the developer data set. Every write moves it forward, so anything derived
+ * from the data only has to remember the generation it was built at to know whether it is stale.
+ */
+@Component
+public class DeveloperDataGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    public long advance() {
+        return generation.incrementAndGet();
+    }
+
+    @EventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        advance();
+    }
+
+    @EventListener
+    public void onDevelopersChanged(DeveloperBatchChangedEvent event) {
+        advance();
+    }
+
+    @EventListener
+    public void onRemoteEviction(DeveloperCacheEvictionEvent event) {
+        advance();
+    }
+}
@@ -0,0 +1,27 @@
+package com.dimacherkes.qafordevs.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCacheProperties properties,
+                                                                          DeveloperDataGeneration dataGeneration,
+                                                                          MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCacheFilter(dataGeneration, properties, meterRegistry));
+        registration.addUrlPatterns("/api/v1/developers", "/api/v1/developers/*");
+        // behind rate limiting, so cache hits still count against the client's budget
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,226 @@
+package com.dimacherkes.qafordevs.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.dimacherkes.qafordevs.codec.DeveloperMediaTypes.APPLICATION_CBOR;
+import static com.dimacherkes.qafordevs.codec.DeveloperMediaTypes.APPLICATION_SMILE;
+
+/**
+ * Serialized-bytes cache for the hot list endpoints. Entries are keyed by path, the query
+ * parameters the endpoints understand and the media type the request negotiates to, and remember
+ * the data generation they were built at; a hit writes the stored headers and bytes straight to the
+ * response, skipping the query, the entity to DTO mapping and Jackson. Any write moves the
+ * generation forward, which invalidates every entry at once.
+ * <p>
+ * Requests with parameters outside that set bypass the cache, so made-up parameters cannot fill it.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String LIST_PATH = "/api/v1/developers";
+    private static final String SPECIALTY_PATH_PREFIX = "/api/v1/developers/specialty/";
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+    private static final Set<String> KEY_PARAMETERS = Set.of(
+            "fields", "status", "specialty", "lastNamePrefix", "idFrom", "idTo", "afterId", "limit");
+    private static final List<MediaType> CACHED_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_JSON, APPLICATION_SMILE, APPLICATION_CBOR);
+    /**
+     * Written by the filter itself on every replay, or describing the bytes rather than the resource.
+     */
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.VARY, HttpHeaders.SET_COOKIE);
+
+    private final DeveloperDataGeneration dataGeneration;
+    private final ResponseCacheProperties properties;
+    private final ConcurrentMap<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCacheFilter(DeveloperDataGeneration dataGeneration, ResponseCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.dataGeneration = dataGeneration;
+        this.properties = properties;
+        this.hits = Counter.builder("developer.response.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("developer.response.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("developer.response.cache.entries", cache, ConcurrentMap::size).register(meterRegistry);
+        Gauge.builder("developer.response.cache.bytes", cachedBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"GET".equals(request.getMethod())
+                || !(LIST_PATH.equals(path) || path.startsWith(SPECIALTY_PATH_PREFIX));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // read before the handler runs: a write racing with it leaves the entry already outdated
+        long generation = dataGeneration.current();
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.generation() == generation) {
+            hits.increment();
+            write(cached, request, response);
+            return;
+        }
+
+        misses.increment();
+        response.setHeader(HttpHeaders.VARY, VARY);
+        ContentCachingResponseWrapper capturingResponse = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, capturingResponse);
+        if (capturingResponse.getStatus() != HttpServletResponse.SC_OK || isNoStore(capturingResponse)) {
+            capturingResponse.copyBodyToResponse();
+            return;
+        }
+        CachedResponse fresh = new CachedResponse(generation, capturingResponse.getContentType(),
+                storedHeaders(capturingResponse), capturingResponse.getContentAsByteArray());
+        store(key, fresh);
+        write(fresh, request, response);
+    }
+
+    /**
+     * Responses built from last-known values while the database is unreachable say so with
+     * {@code no-store}; caching them would outlive the outage.
+     */
+    private static boolean isNoStore(HttpServletResponse response) {
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        return Objects.nonNull(cacheControl) && cacheControl.contains("no-store");
+    }
+
+    private static HttpHeaders storedHeaders(HttpServletResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : response.getHeaderNames()) {
+            if (UNSTORED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private void store(String key, CachedResponse fresh) {
+        if (!fits(fresh)) {
+            evictOtherGenerations(fresh.generation());
+            if (!fits(fresh)) {
+                return;
+            }
+        }
+        CachedResponse previous = cache.put(key, fresh);
+        cachedBytes.addAndGet(fresh.body().length - (previous == null ? 0 : previous.body().length));
+    }
+
+    /**
+     * Counts identity bytes only; a gzip variant kept next to them is smaller than the body it was
+     * made from.
+     */
+    private boolean fits(CachedResponse fresh) {
+        return cache.size() < properties.getMaxEntries()
+                && cachedBytes.get() + fresh.body().length <= properties.getMaxTotalBytes();
+    }
+
+    private void evictOtherGenerations(long generation) {
+        for (Map.Entry<String, CachedResponse> entry : cache.entrySet()) {
+            CachedResponse cached = entry.getValue();
+            if (cached.generation() != generation && cache.remove(entry.getKey(), cached)) {
+                cachedBytes.addAndGet(-cached.body().length);
+            }
+        }
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        byte[] body = cached.body();
+        response.setStatus(HttpServletResponse.SC_OK);
+        // set rather than added: on a miss the handler has already written them to this response
+        cached.headers().forEach((name, values) -> {
+            response.setHeader(name, values.get(0));
+            values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+        });
+        response.setContentType(cached.contentType());
+        response.setHeader(HttpHeaders.VARY, VARY);
+        if (acceptsGzip(request) && body.length >= properties.getMinGzipBytes()) {
+            body = cached.gzipBody(properties.getGzipLevel());
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Path, known parameters in name order and the negotiated media type, or {@code null} when the
+     * request should not be cached at all.
+     */
+    private static String cacheKey(HttpServletRequest request) {
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        if (!KEY_PARAMETERS.containsAll(parameters.keySet())) {
+            return null;
+        }
+        MediaType mediaType = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        if (mediaType == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?');
+        parameters.forEach((name, values) -> key.append(name).append('=')
+                .append(String.join(",", Arrays.asList(values))).append('&'));
+        return key.append('|').append(mediaType).toString();
+    }
+
+    /**
+     * The media type the endpoints produce for this {@code Accept} header, {@code null} when it is
+     * malformed or matches none of them and the request is left to content negotiation.
+     */
+    private static MediaType negotiate(String acceptHeader) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(acceptHeader == null
+                    ? List.of(MediaType.ALL)
+                    : MediaType.parseMediaTypes(acceptHeader));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (MediaType cached : CACHED_MEDIA_TYPES) {
+                if (mediaType.isCompatibleWith(cached)) {
+                    return cached;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
@@ -0,0 +1,30 @@
+package com.dimacherkes.qafordevs.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.zip.Deflater;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    /**
+     * Payloads are compressed once per generation, so the slow but dense level pays off.
+     */
+    private int gzipLevel = Deflater.BEST_COMPRESSION;
+    /**
+     * Bodies smaller than this are not worth the gzip framing.
+     */
+    private int minGzipBytes = 2048;
+    /**
+     * Distinct endpoint, parameter and media type combinations kept at once.
+     */
+    private int maxEntries = 1024;
+    /**
+     * Identity bytes held across all entries. It is the only limit on the size of an entry, so the
+     * full listings, the most expensive responses to rebuild, are cached as well.
+     */
+    private long maxTotalBytes = 32L * 1024 * 1024;
+}
@@ -0,0 +1,36 @@
+package com.dimacherkes.qafordevs.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary converters built from Boot's {@link Jackson2ObjectMapperBuilder}, so they share the JSON
+ * mapper's configuration. Clients opt in with {@code Accept: application/x-jackson-smile} or
+ * {@code application/cbor}; JSON stays the default.
+ */
+@Configuration
+public class BinaryFormatsConfiguration {
+
+    @Bean
+    public DeveloperObjectMappers developerObjectMappers(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        return new DeveloperObjectMappers(objectMapper,
+                builder.factory(new SmileFactory()).build(),
+                builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(DeveloperObjectMappers developerObjectMappers) {
+        return new MappingJackson2SmileHttpMessageConverter(developerObjectMappers.smile());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(DeveloperObjectMappers developerObjectMappers) {
+        return new MappingJackson2CborHttpMessageConverter(developerObjectMappers.cbor());
+    }
+}
@@ -0,0 +1,39 @@
+package com.dimacherkes.qafordevs.codec;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Media types the developer endpoints can be negotiated to besides JSON.
+ */
+public final class DeveloperMediaTypes {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+    public static final String APPLICATION_CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+
+    private DeveloperMediaTypes() {
+    }
+
+    /**
+     * Picks the first streamable media type the client accepts, NDJSON when it accepts anything.
+     */
+    public static MediaType negotiateStream(String acceptHeader) {
+        List<MediaType> accepted = new ArrayList<>(acceptHeader == null
+                ? List.of(MediaType.ALL)
+                : MediaType.parseMediaTypes(acceptHeader));
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (MediaType supported : List.of(MediaType.APPLICATION_NDJSON, APPLICATION_SMILE, APPLICATION_CBOR)) {
+                if (mediaType.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
+    }
+}
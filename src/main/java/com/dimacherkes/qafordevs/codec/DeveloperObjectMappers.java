@@ -0,0 +1,22 @@
+package com.dimacherkes.qafordevs.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+/**
+ * One mapper per wire format, all configured like Boot's JSON mapper, so a developer looks the same
+ * whichever format a client negotiates. The HTTP message converters and the streaming endpoint
+ * share these instances.
+ */
+public record DeveloperObjectMappers(ObjectMapper json, ObjectMapper smile, ObjectMapper cbor) {
+
+    public ObjectMapper forMediaType(MediaType mediaType) {
+        if (DeveloperMediaTypes.APPLICATION_SMILE.isCompatibleWith(mediaType)) {
+            return smile;
+        }
+        if (DeveloperMediaTypes.APPLICATION_CBOR.isCompatibleWith(mediaType)) {
+            return cbor;
+        }
+        return json;
+    }
+}
@@ -0,0 +1,53 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * Refuses repository calls the request no longer has time for and reports statements cancelled by
+ * their query timeout as {@link DeadlineExceededException}, whatever layer wrapped them on the way up.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class DeadlineAspect {
+
+    // SQLSTATE Postgres reports for a statement cancelled by statement_timeout or a query timeout
+    private static final String QUERY_CANCELED = "57014";
+
+    private final long minQueryBudgetNanos;
+
+    @Around("target(com.dimacherkes.qafordevs.repository.DeveloperRepository)")
+    public Object withinDeadline(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (RequestDeadline.current() == null) {
+            return joinPoint.proceed();
+        }
+        RequestDeadline.check(minQueryBudgetNanos);
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException e) {
+            if (RequestDeadline.remainingNanos() <= 0 && isQueryTimeout(e)) {
+                throw new DeadlineExceededException("Request deadline exceeded", e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isQueryTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof org.springframework.dao.QueryTimeoutException
+                    || cause instanceof jakarta.persistence.QueryTimeoutException
+                    || cause instanceof SQLException sqlException && QUERY_CANCELED.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
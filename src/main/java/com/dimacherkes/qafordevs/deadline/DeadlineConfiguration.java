@@ -0,0 +1,38 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties,
+                                                                ObjectMapper objectMapper,
+                                                                MeterRegistry meterRegistry) {
+        FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v1/developers", "/api/v1/developers/*");
+        // ahead of rate limiting and idempotency, time spent waiting there counts against the budget
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    public DeadlineAspect deadlineAspect(DeadlineProperties properties) {
+        return new DeadlineAspect(properties.getMinQueryBudget().toNanos());
+    }
+
+    @Bean
+    public DeadlineQueryListener deadlineQueryListener() {
+        return new DeadlineQueryListener();
+    }
+}
@@ -0,0 +1,127 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+import com.dimacherkes.qafordevs.ratelimit.EndpointClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Gives every request a deadline, from the budget header or the default of its endpoint class, and
+ * answers 503 once it has passed instead of letting the caller wait for work it already gave up on.
+ * Repository calls check the deadline before they start and statements run with the remaining
+ * time as their query timeout, see {@link DeadlineAspect} and {@link DeadlineQueryListener}.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointClass, Duration> defaults = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> exceededCounters = new EnumMap<>(EndpointClass.class);
+
+    public DeadlineFilter(DeadlineProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        defaults.put(EndpointClass.POINT_READ, properties.getPointReadTimeout());
+        defaults.put(EndpointClass.LIST_SCAN, properties.getListScanTimeout());
+        defaults.put(EndpointClass.WRITE, properties.getWriteTimeout());
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            exceededCounters.put(endpointClass, Counter.builder("developer.requests.deadline_exceeded")
+                    .description("Requests answered with 503 because their deadline passed")
+                    .tag("endpoint", endpointClass.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long receivedAt = System.nanoTime();
+        EndpointClass endpointClass = EndpointClass.of(request);
+        Duration budget;
+        try {
+            budget = budget(request, endpointClass);
+        } catch (IllegalArgumentException e) {
+            reject(response, HttpStatus.BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Long previous = RequestDeadline.current();
+        RequestDeadline.set(receivedAt + budget.toNanos());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (DeadlineExceededException e) {
+            if (!rejectExceeded(response, endpointClass)) {
+                throw e;
+            }
+        } catch (ServletException e) {
+            // unhandled controller exceptions arrive wrapped by the dispatcher
+            if (!(deadlineExceeded(e) && rejectExceeded(response, endpointClass))) {
+                throw e;
+            }
+        } finally {
+            RequestDeadline.set(previous);
+        }
+    }
+
+    private Duration budget(HttpServletRequest request, EndpointClass endpointClass) {
+        String header = request.getHeader(properties.getHeader());
+        if (Objects.isNull(header)) {
+            return defaults.get(endpointClass);
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(properties.getHeader() + " must be a number of milliseconds");
+        }
+        // a budget that is already used up is a malformed request, not a deadline the server missed
+        if (millis <= 0) {
+            throw new IllegalArgumentException(properties.getHeader() + " must be a positive number of milliseconds");
+        }
+        Duration requested = Duration.ofMillis(millis);
+        return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+    }
+
+    private static boolean deadlineExceeded(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean rejectExceeded(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        if (response.isCommitted()) {
+            return false;
+        }
+        exceededCounters.get(endpointClass).increment();
+        response.resetBuffer();
+        reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Request deadline exceeded");
+        return true;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorDto.builder()
+                .status(status.value())
+                .message(message)
+                .build());
+    }
+}
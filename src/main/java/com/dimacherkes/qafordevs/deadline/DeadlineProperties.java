@@ -0,0 +1,29 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+    /**
+     * Header with the time budget of the request in milliseconds, relative so that client and
+     * server clocks do not have to agree.
+     */
+    private String header = "X-Request-Timeout";
+    private Duration pointReadTimeout = Duration.ofSeconds(2);
+    private Duration listScanTimeout = Duration.ofSeconds(10);
+    private Duration writeTimeout = Duration.ofSeconds(5);
+    /**
+     * Upper bound for budgets requested through the header.
+     */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+    /**
+     * A repository call is not started with less time than this left.
+     */
+    private Duration minQueryBudget = Duration.ofMillis(5);
+}
@@ -0,0 +1,48 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.postgresql.jdbc.PgStatement;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every statement of a request with the time the request has left as its query timeout, so
+ * Postgres cancels the statement once nobody waits for its result any more.
+ */
+public class DeadlineQueryListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long remainingNanos = RequestDeadline.remainingNanos();
+        if (remainingNanos == Long.MAX_VALUE) {
+            return;
+        }
+        if (remainingNanos <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+        try {
+            setQueryTimeout(execInfo.getStatement(), Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos)));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to set the query timeout", e);
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    private static void setQueryTimeout(Statement statement, long timeoutMillis) throws SQLException {
+        // JDBC only offers whole seconds, pgjdbc takes milliseconds
+        if (statement.isWrapperFor(PgStatement.class)) {
+            statement.unwrap(PgStatement.class).setQueryTimeoutMs(timeoutMillis);
+        } else {
+            statement.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the {@link System#nanoTime()} by which the request on the current thread has to be answered.
+ * Set by {@link DeadlineFilter}; code that hands work to other threads has to carry it over with
+ * {@link #callWith(Long, Callable)}.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * @return the deadline in {@link System#nanoTime()} terms, {@code null} when there is none
+     */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * @return nanoseconds left, {@link Long#MAX_VALUE} when there is no deadline
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * Fails fast when less than {@code minimumNanos} are left, instead of starting work whose result
+     * nobody will wait for.
+     */
+    public static void check(long minimumNanos) {
+        if (remainingNanos() < minimumNanos) {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        }
+    }
+
+    public static <T> T callWith(Long deadline, Callable<T> action) throws Exception {
+        Long previous = DEADLINE.get();
+        set(deadline);
+        try {
+            return action.call();
+        } finally {
+            set(previous);
+        }
+    }
+
+    static void set(Long deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+}
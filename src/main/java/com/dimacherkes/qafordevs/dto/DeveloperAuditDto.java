@@ -0,0 +1,38 @@
+package com.dimacherkes.qafordevs.dto;
+
+import com.dimacherkes.qafordevs.audit.AuditEntry;
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperAuditDto {
+    private UUID eventId;
+    private Integer developerId;
+    private ChangeType changeType;
+    private Instant changedAt;
+    private Map<String, Object> before;
+    private Map<String, Object> after;
+
+    public static DeveloperAuditDto fromEntry(AuditEntry entry) {
+        return DeveloperAuditDto.builder()
+                .eventId(entry.eventId())
+                .developerId(entry.developerId())
+                .changeType(entry.changeType())
+                .changedAt(entry.changedAt())
+                .before(entry.before())
+                .after(entry.after())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.dimacherkes.qafordevs.dto;
+
+import com.dimacherkes.qafordevs.entity.DeveloperImportEntity;
+import com.dimacherkes.qafordevs.entity.ImportStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperImportDto {
+    private String id;
+    private ImportStatus status;
+    private Long processedLines;
+    private Long imported;
+    private Long duplicates;
+    private Long invalid;
+    private String errorSample;
+    private Instant startedAt;
+    private Instant updatedAt;
+
+    public static DeveloperImportDto fromEntity(DeveloperImportEntity developerImport) {
+        return DeveloperImportDto.builder()
+                .id(developerImport.getId())
+                .status(developerImport.getStatus())
+                .processedLines(developerImport.getLastCommittedLine())
+                .imported(developerImport.getImported())
+                .duplicates(developerImport.getDuplicates())
+                .invalid(developerImport.getInvalid())
+                .errorSample(developerImport.getErrorSample())
+                .startedAt(developerImport.getStartedAt())
+                .updatedAt(developerImport.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.dimacherkes.qafordevs.dto;
+
+import com.dimacherkes.qafordevs.filter.AccessPath;
+import com.dimacherkes.qafordevs.filter.DeveloperPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperPageDto {
+    private List<DeveloperDto> developers;
+    private Integer nextAfterId;
+    private Long total;
+    private Boolean totalCapped;
+    private AccessPath accessPath;
+
+    public static DeveloperPageDto fromPage(DeveloperPage page) {
+        return DeveloperPageDto.builder()
+                .developers(page.developers().stream()
+                        .map(DeveloperDto::fromEntity)
+                        .toList())
+                .nextAfterId(page.nextAfterId())
+                .total(page.total())
+                .totalCapped(page.total() == null ? null : page.totalCapped())
+                .accessPath(page.accessPath())
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.dimacherkes.qafordevs.dto;
+
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.entity.JobStatus;
+import com.dimacherkes.qafordevs.entity.JobType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDto {
+    private String id;
+    private JobType type;
+    private JobStatus status;
+    private Long processed;
+    private Long total;
+    private Double itemsPerSecond;
+    private String result;
+    private String error;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public static JobDto fromEntity(JobEntity job) {
+        return JobDto.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .processed(job.getProcessed())
+                .total(job.getTotal())
+                .itemsPerSecond(itemsPerSecond(job))
+                .result(job.getResult())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private static Double itemsPerSecond(JobEntity job) {
+        if (Objects.isNull(job.getStartedAt())) {
+            return null;
+        }
+        Instant end = Objects.isNull(job.getFinishedAt()) ? job.getUpdatedAt() : job.getFinishedAt();
+        long millis = Duration.between(job.getStartedAt(), end).toMillis();
+        return millis <= 0 ? null : job.getProcessed() * 1000.0 / millis;
+    }
+}
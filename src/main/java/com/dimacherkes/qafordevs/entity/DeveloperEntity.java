@@ -4,23 +4,92 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Objects;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "developers")
+@Table(name = "developers", indexes = {
+        @Index(name = "ix_developers_updated_at", columnList = "updated_at, id"),
+        @Index(name = "ix_developers_status_specialty", columnList = "status, specialty, id"),
+        @Index(name = "ix_developers_last_name", columnList = "last_name"),
+        @Index(name = DeveloperEntity.EMAIL_KEY_INDEX, columnList = "email_key", unique = true)
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = DeveloperEntity.CACHE_REGION)
 public class DeveloperEntity {
 
+    public static final String CACHE_REGION = "developers";
+    public static final String EMAIL_KEY_INDEX = "ux_developers_email_key";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
     private String email;
+    /**
+     * Trimmed, lower-cased email, derived on every write. Uniqueness and lookups by email go
+     * through this column so that differently cased spellings are the same developer.
+     */
+    private String emailKey;
     private String firstName;
     private String lastName;
     private String specialty;
     @Enumerated(EnumType.STRING)
     private Status status;
+    /**
+     * Set by Hibernate on every insert and update; lets warm caches catch up on rows changed since a point in time.
+     * Bulk updates bypass it and have to set the column themselves.
+     */
+    @UpdateTimestamp
+    private Instant updatedAt;
+    /**
+     * Email and key as last read from or written to the database, see {@link #rederiveEmailKey()}.
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedEmail;
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedEmailKey;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberEmailKey() {
+        loadedEmail = email;
+        loadedEmailKey = emailKey;
+    }
+
+    @PrePersist
+    void deriveEmailKey() {
+        emailKey = emailKey(email);
+    }
+
+    /**
+     * An email that still spells the same key keeps the key it was loaded with. Rows the email key
+     * migration left without a key, because another developer holds it, can then still be updated;
+     * they get a key once their email is changed to one of their own.
+     */
+    @PreUpdate
+    void rederiveEmailKey() {
+        String derived = emailKey(email);
+        emailKey = Objects.nonNull(loadedEmail) && Objects.equals(derived, emailKey(loadedEmail)) ? loadedEmailKey : derived;
+    }
+
+    public static String emailKey(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
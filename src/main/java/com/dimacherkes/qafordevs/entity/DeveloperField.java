@@ -0,0 +1,86 @@
+package com.dimacherkes.qafordevs.entity;
+
+import com.dimacherkes.qafordevs.exception.InvalidDeveloperFieldException;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Developer properties a client can ask for with {@code fields=}. The names match both the entity
+ * properties and the JSON fields of {@link com.dimacherkes.qafordevs.dto.DeveloperDto}.
+ */
+public enum DeveloperField {
+    ID("id", DeveloperEntity::getId, (developer, value) -> developer.setId((Integer) value)),
+    EMAIL("email", DeveloperEntity::getEmail, (developer, value) -> developer.setEmail((String) value)),
+    FIRST_NAME("firstName", DeveloperEntity::getFirstName, (developer, value) -> developer.setFirstName((String) value)),
+    LAST_NAME("lastName", DeveloperEntity::getLastName, (developer, value) -> developer.setLastName((String) value)),
+    SPECIALTY("specialty", DeveloperEntity::getSpecialty, (developer, value) -> developer.setSpecialty((String) value)),
+    STATUS("status", DeveloperEntity::getStatus, (developer, value) -> developer.setStatus((Status) value));
+
+    private final String property;
+    private final Function<DeveloperEntity, Object> getter;
+    private final BiConsumer<DeveloperEntity, Object> setter;
+
+    DeveloperField(String property, Function<DeveloperEntity, Object> getter, BiConsumer<DeveloperEntity, Object> setter) {
+        this.property = property;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object get(DeveloperEntity developer) {
+        return getter.apply(developer);
+    }
+
+    public void set(DeveloperEntity developer, Object value) {
+        setter.accept(developer, value);
+    }
+
+    /**
+     * Parses a comma separated list of property names. The id is always part of the result, it keys
+     * the rows for ordering and for merging shard results.
+     *
+     * @return every field when {@code fields} is null or blank
+     * @throws InvalidDeveloperFieldException on an unknown property name
+     */
+    public static Set<DeveloperField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(DeveloperField.class);
+        }
+        Set<DeveloperField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            parsed.add(byProperty(name.trim()));
+        }
+        return parsed;
+    }
+
+    public static boolean isAll(Set<DeveloperField> fields) {
+        return fields.size() == values().length;
+    }
+
+    /**
+     * Copy of the developer holding only the given fields.
+     */
+    public static DeveloperEntity project(DeveloperEntity developer, Set<DeveloperField> fields) {
+        DeveloperEntity projected = new DeveloperEntity();
+        for (DeveloperField field : fields) {
+            field.set(projected, field.get(developer));
+        }
+        return projected;
+    }
+
+    private static DeveloperField byProperty(String name) {
+        for (DeveloperField field : values()) {
+            if (field.property.equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidDeveloperFieldException("Unknown developer field '" + name + "', expected one of "
+                + EnumSet.allOf(DeveloperField.class).stream().map(DeveloperField::getProperty).toList());
+    }
+}
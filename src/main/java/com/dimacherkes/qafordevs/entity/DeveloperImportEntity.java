@@ -0,0 +1,34 @@
+package com.dimacherkes.qafordevs.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "developer_imports")
+public class DeveloperImportEntity {
+
+    @Id
+    private String id;
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+    /**
+     * Last data line whose batch has been committed; a resumed import skips everything up to it.
+     */
+    private long lastCommittedLine;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    @Column(length = 4000)
+    private String errorSample;
+    private Instant startedAt;
+    private Instant updatedAt;
+}
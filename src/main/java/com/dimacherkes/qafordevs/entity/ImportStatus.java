@@ -0,0 +1,5 @@
+package com.dimacherkes.qafordevs.entity;
+
+public enum ImportStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,50 @@
+package com.dimacherkes.qafordevs.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "jobs")
+public class JobEntity {
+
+    @Id
+    private String id;
+    @Enumerated(EnumType.STRING)
+    private JobType type;
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+    private long processed;
+    /**
+     * Amount of work known up front, {@code null} while the job can not tell.
+     */
+    private Long total;
+    @Column(length = 4000)
+    private String result;
+    @Column(length = 4000)
+    private String error;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Instant updatedAt;
+    /**
+     * Node id of the instance that accepted the job; only that instance runs it.
+     */
+    private String owner;
+    /**
+     * Refreshed by the owner while the job is open, a job whose heartbeat stops has lost its worker.
+     */
+    private Instant heartbeatAt;
+    /**
+     * Set when another instance is asked to cancel the job, the owner acts on it with its next heartbeat.
+     */
+    private boolean cancelRequested;
+}
@@ -0,0 +1,9 @@
+package com.dimacherkes.qafordevs.entity;
+
+public enum JobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
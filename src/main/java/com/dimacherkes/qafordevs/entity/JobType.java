@@ -0,0 +1,5 @@
+package com.dimacherkes.qafordevs.entity;
+
+public enum JobType {
+    DEVELOPER_IMPORT, DEVELOPER_EXPORT, DEVELOPER_SOFT_DELETE
+}
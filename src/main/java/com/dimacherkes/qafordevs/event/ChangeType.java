@@ -0,0 +1,5 @@
+package com.dimacherkes.qafordevs.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, SOFT_DELETED, HARD_DELETED
+}
@@ -0,0 +1,10 @@
+package com.dimacherkes.qafordevs.event;
+
+import java.util.List;
+
+/**
+ * Published by the service layer once per committed batch of a bulk write, such as an import batch,
+ * in place of a {@link DeveloperChangedEvent} per row, so listeners can handle the batch in one go.
+ */
+public record DeveloperBatchChangedEvent(ChangeType type, List<Integer> developerIds, List<String> emails) {
+}
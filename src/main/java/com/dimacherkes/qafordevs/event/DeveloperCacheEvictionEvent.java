@@ -0,0 +1,14 @@
+package com.dimacherkes.qafordevs.event;
+
+import java.util.Set;
+
+/**
+ * Published when developers were changed by another node. Local caches drop the listed keys,
+ * or everything when {@code all} is set because notifications may have been missed.
+ */
+public record DeveloperCacheEvictionEvent(Set<Integer> ids, Set<String> emails, boolean all) {
+
+    public static DeveloperCacheEvictionEvent everything() {
+        return new DeveloperCacheEvictionEvent(Set.of(), Set.of(), true);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dimacherkes.qafordevs.event;
+
+/**
+ * Published by the service layer after a developer has been written.
+ */
+public record DeveloperChangedEvent(ChangeType type, Integer developerId, String email) {
+}
@@ -0,0 +1,13 @@
+package com.dimacherkes.qafordevs.exception;
+
+/**
+ * Thrown when an update changes the email of a developer to one owned by another shard. The id of
+ * a developer encodes its shard, so the row can not follow the email without changing identity.
+ */
+public class DeveloperEmailShardChangeException extends RuntimeException {
+
+    public DeveloperEmailShardChangeException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.dimacherkes.qafordevs.exception;
+
+public class DeveloperImportNotFoundException extends RuntimeException {
+
+    public DeveloperImportNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dimacherkes.qafordevs.exception;
+
+public class InvalidDeveloperFieldException extends RuntimeException {
+
+    public InvalidDeveloperFieldException(String message) {
+        super(message);
+    }
+}
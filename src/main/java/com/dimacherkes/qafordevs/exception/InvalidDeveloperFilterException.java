@@ -0,0 +1,8 @@
+package com.dimacherkes.qafordevs.exception;
+
+public class InvalidDeveloperFilterException extends RuntimeException {
+
+    public InvalidDeveloperFilterException(String message) {
+        super(message);
+    }
+}
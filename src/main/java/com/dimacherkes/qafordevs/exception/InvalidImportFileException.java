@@ -0,0 +1,8 @@
+package com.dimacherkes.qafordevs.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dimacherkes.qafordevs.exception;
+
+public class JobCancelledException extends RuntimeException {
+
+    public JobCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dimacherkes.qafordevs.exception;
+
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dimacherkes.qafordevs.exception;
+
+public class JobRejectedException extends RuntimeException {
+
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.dimacherkes.qafordevs.filter;
+
+/**
+ * Index a filtered listing is driven by, in the order the planner considers them.
+ */
+public enum AccessPath {
+    /**
+     * {@code ix_developers_status_specialty (status, specialty, id)}, one range per status and
+     * specialty pair, merged by id.
+     */
+    SPECIALTY,
+    /**
+     * {@code ix_developers_last_name (last_name)}, entered through a range on the prefix.
+     */
+    LAST_NAME_PREFIX,
+    /**
+     * Primary key range.
+     */
+    ID_RANGE,
+    /**
+     * Primary key walk in id order with the status checked per row. Nothing narrows the scan, so
+     * it is only served page by page. Also serves a filter with nothing but a cursor or a limit.
+     */
+    STATUS_SCAN
+}
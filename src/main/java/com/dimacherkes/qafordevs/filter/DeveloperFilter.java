@@ -0,0 +1,18 @@
+package com.dimacherkes.qafordevs.filter;
+
+import com.dimacherkes.qafordevs.entity.Status;
+
+import java.util.Set;
+
+/**
+ * Criteria of a filtered developer listing. Every criterion is optional; {@code afterId} is the
+ * keyset cursor returned with the previous page.
+ */
+public record DeveloperFilter(Set<Status> statuses, Set<String> specialties, String lastNamePrefix,
+                              Integer idFrom, Integer idTo, Integer afterId, Integer limit) {
+
+    public DeveloperFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        specialties = specialties == null ? Set.of() : Set.copyOf(specialties);
+    }
+}
@@ -0,0 +1,13 @@
+package com.dimacherkes.qafordevs.filter;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+
+import java.util.List;
+
+/**
+ * One page of a filtered listing. {@code nextAfterId} is null on the last page; {@code total} is
+ * only counted for the first page and stops at the count cap, flagged by {@code totalCapped}.
+ */
+public record DeveloperPage(List<DeveloperEntity> developers, Integer nextAfterId, Long total, boolean totalCapped,
+                            AccessPath accessPath) {
+}
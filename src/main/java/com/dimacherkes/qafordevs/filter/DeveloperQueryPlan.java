@@ -0,0 +1,19 @@
+package com.dimacherkes.qafordevs.filter;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * A planned listing: every one of {@code pages} selects the requested page of one index range in
+ * id order and the page is their merge by id; {@code count} selects the whole result without the
+ * keyset cursor.
+ */
+public record DeveloperQueryPlan(AccessPath accessPath, List<Specification<DeveloperEntity>> pages,
+                                 Specification<DeveloperEntity> count, int limit) {
+
+    public DeveloperQueryPlan {
+        pages = List.copyOf(pages);
+    }
+}
@@ -0,0 +1,109 @@
+package com.dimacherkes.qafordevs.filter;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.exception.InvalidDeveloperFilterException;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maps a filter onto one of the developer indexes and turns it into specifications. Every plan is
+ * read in id order with a keyset cursor and a bounded page size. Without a status only active
+ * developers are listed. A status on its own narrows no index and is only ever served a page at a
+ * time, which is also how a filter without criteria pages the default listing; a last name prefix
+ * too short for the index is rejected instead of run.
+ */
+public class DeveloperQueryPlanner {
+
+    private final FilterProperties properties;
+
+    public DeveloperQueryPlanner(FilterProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @throws InvalidDeveloperFilterException when the filter is malformed or no index can serve it
+     */
+    public DeveloperQueryPlan plan(DeveloperFilter filter) {
+        int limit = limitOf(filter);
+        if (filter.specialties().size() > properties.getMaxSpecialties()) {
+            throw new InvalidDeveloperFilterException("At most " + properties.getMaxSpecialties()
+                    + " specialties can be filtered at once");
+        }
+        if (Objects.nonNull(filter.idFrom()) && Objects.nonNull(filter.idTo()) && filter.idFrom() > filter.idTo()) {
+            throw new InvalidDeveloperFilterException("idFrom must not be greater than idTo");
+        }
+        String prefix = filter.lastNamePrefix();
+        if (Objects.nonNull(prefix) && prefix.length() < properties.getMinLastNamePrefixLength()) {
+            throw new InvalidDeveloperFilterException("lastNamePrefix needs at least "
+                    + properties.getMinLastNamePrefixLength() + " characters to use the last name index");
+        }
+
+        AccessPath accessPath = accessPathOf(filter);
+        Set<Status> statuses = filter.statuses().isEmpty() ? EnumSet.of(Status.ACTIVE) : filter.statuses();
+
+        Specification<DeveloperEntity> rest = Specification.where(null);
+        if (Objects.nonNull(prefix)) {
+            rest = rest.and(DeveloperSpecifications.lastNameStartsWith(prefix));
+        }
+        if (Objects.nonNull(filter.idFrom())) {
+            rest = rest.and(DeveloperSpecifications.idFrom(filter.idFrom()));
+        }
+        if (Objects.nonNull(filter.idTo())) {
+            rest = rest.and(DeveloperSpecifications.idTo(filter.idTo()));
+        }
+        Specification<DeveloperEntity> count = rest.and(DeveloperSpecifications.statusIn(statuses));
+        if (!filter.specialties().isEmpty()) {
+            count = count.and(DeveloperSpecifications.specialtyIn(filter.specialties()));
+        }
+
+        List<Specification<DeveloperEntity>> pages = new ArrayList<>();
+        if (accessPath == AccessPath.SPECIALTY) {
+            // the index only yields id order below a fixed status and specialty, so each pair is read on its own
+            for (Status status : statuses) {
+                for (String specialty : filter.specialties()) {
+                    pages.add(afterCursor(rest.and(DeveloperSpecifications.statusIs(status))
+                            .and(DeveloperSpecifications.specialtyIs(specialty)), filter));
+                }
+            }
+        } else {
+            pages.add(afterCursor(count, filter));
+        }
+        return new DeveloperQueryPlan(accessPath, pages, count, limit);
+    }
+
+    private static Specification<DeveloperEntity> afterCursor(Specification<DeveloperEntity> specification,
+                                                              DeveloperFilter filter) {
+        return Objects.isNull(filter.afterId())
+                ? specification
+                : specification.and(DeveloperSpecifications.idAfter(filter.afterId()));
+    }
+
+    private int limitOf(DeveloperFilter filter) {
+        if (Objects.isNull(filter.limit())) {
+            return properties.getDefaultPageSize();
+        }
+        if (filter.limit() < 1 || filter.limit() > properties.getMaxPageSize()) {
+            throw new InvalidDeveloperFilterException("limit must be between 1 and " + properties.getMaxPageSize());
+        }
+        return filter.limit();
+    }
+
+    private static AccessPath accessPathOf(DeveloperFilter filter) {
+        if (!filter.specialties().isEmpty()) {
+            return AccessPath.SPECIALTY;
+        }
+        if (Objects.nonNull(filter.lastNamePrefix())) {
+            return AccessPath.LAST_NAME_PREFIX;
+        }
+        if (Objects.nonNull(filter.idFrom()) || Objects.nonNull(filter.idTo())) {
+            return AccessPath.ID_RANGE;
+        }
+        return AccessPath.STATUS_SCAN;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dimacherkes.qafordevs.filter;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public final class DeveloperSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private DeveloperSpecifications() {
+    }
+
+    public static Specification<DeveloperEntity> statusIn(Collection<Status> statuses) {
+        return (root, query, builder) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<DeveloperEntity> statusIs(Status status) {
+        return (root, query, builder) -> builder.equal(root.get("status"), status);
+    }
+
+    public static Specification<DeveloperEntity> specialtyIs(String specialty) {
+        return (root, query, builder) -> builder.equal(root.get("specialty"), specialty);
+    }
+
+    public static Specification<DeveloperEntity> specialtyIn(Collection<String> specialties) {
+        return (root, query, builder) -> root.get("specialty").in(specialties);
+    }
+
+    /**
+     * The bounding range lets the database enter the last name index under any collation, the
+     * {@code LIKE} keeps the match exact.
+     */
+    public static Specification<DeveloperEntity> lastNameStartsWith(String prefix) {
+        char last = prefix.charAt(prefix.length() - 1);
+        if (last == Character.MAX_VALUE) {
+            return (root, query, builder) -> builder.and(
+                    builder.greaterThanOrEqualTo(root.get("lastName"), prefix),
+                    builder.like(root.get("lastName"), escapeLike(prefix) + "%", LIKE_ESCAPE));
+        }
+        String upperBound = prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+        return (root, query, builder) -> builder.and(
+                builder.greaterThanOrEqualTo(root.get("lastName"), prefix),
+                builder.lessThan(root.get("lastName"), upperBound),
+                builder.like(root.get("lastName"), escapeLike(prefix) + "%", LIKE_ESCAPE));
+    }
+
+    public static Specification<DeveloperEntity> idFrom(Integer idFrom) {
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("id"), idFrom);
+    }
+
+    public static Specification<DeveloperEntity> idTo(Integer idTo) {
+        return (root, query, builder) -> builder.lessThanOrEqualTo(root.get("id"), idTo);
+    }
+
+    public static Specification<DeveloperEntity> idAfter(Integer afterId) {
+        return (root, query, builder) -> builder.greaterThan(root.get("id"), afterId);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
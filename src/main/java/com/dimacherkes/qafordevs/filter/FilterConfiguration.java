@@ -0,0 +1,15 @@
+package com.dimacherkes.qafordevs.filter;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FilterProperties.class)
+public class FilterConfiguration {
+
+    @Bean
+    public DeveloperQueryPlanner developerQueryPlanner(FilterProperties properties) {
+        return new DeveloperQueryPlanner(properties);
+    }
+}
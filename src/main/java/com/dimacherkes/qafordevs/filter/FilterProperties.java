@@ -0,0 +1,21 @@
+package com.dimacherkes.qafordevs.filter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.filter")
+public class FilterProperties {
+
+    private int defaultPageSize = 100;
+    private int maxPageSize = 500;
+    /**
+     * Shorter last name prefixes match too much of the index to be worth entering it.
+     */
+    private int minLastNamePrefixLength = 2;
+    private int maxSpecialties = 20;
+    /**
+     * Counting stops here; a total at the cap means "at least".
+     */
+    private long countCap = 10_000;
+}
@@ -0,0 +1,289 @@
+package com.dimacherkes.qafordevs.idempotency;
+
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POST and PUT requests carrying an {@code Idempotency-Key} safe to retry. The first request
+ * for a key runs and its response is stored with a fingerprint of the request; a retry with the
+ * same fingerprint gets the stored response without reaching the controller, and a duplicate
+ * arriving while the original still runs waits for it. Reusing a key for a different request is
+ * answered with 422. Server errors are not stored, so retrying them runs the request again.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER);
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter conflicted;
+    private final Counter limited;
+
+    public IdempotencyFilter(IdempotencyProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = new IdempotencyStore(properties.getTtl().toNanos(), properties.getMaxEntries(),
+                properties.getMaxTotalBytes(), properties.getMaxEntriesPerClient(), properties.getMaxBytesPerClient());
+        this.objectMapper = objectMapper;
+        this.executed = resultCounter(meterRegistry, "executed");
+        this.replayed = resultCounter(meterRegistry, "replayed");
+        this.mismatched = resultCounter(meterRegistry, "mismatched");
+        this.conflicted = resultCounter(meterRegistry, "conflicted");
+        this.limited = resultCounter(meterRegistry, "limited");
+        Gauge.builder("developer.idempotency.entries", store, IdempotencyStore::size).register(meterRegistry);
+        Gauge.builder("developer.idempotency.bytes", store, IdempotencyStore::bytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()))
+                || Objects.isNull(request.getHeader(properties.getKeyHeader()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(properties.getKeyHeader());
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            reject(response, HttpStatus.BAD_REQUEST, properties.getKeyHeader() + " must be 1 to "
+                    + properties.getMaxKeyLength() + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxBodyBytes() + 1);
+        if (body.length > properties.getMaxBodyBytes()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large for an idempotent request");
+            return;
+        }
+        String client = clientKey(request);
+        byte[] fingerprint = fingerprint(request, body);
+        long waitDeadline = System.nanoTime() + properties.getInFlightWait().toNanos();
+
+        while (true) {
+            IdempotencyStore.Reservation reservation = store.reserve(client, idempotencyKey, fingerprint,
+                    System.nanoTime());
+            switch (reservation.state()) {
+                case ACQUIRED -> {
+                    executed.increment();
+                    execute(reservation, new CachedBodyRequest(request, body), response, filterChain);
+                    return;
+                }
+                case MISMATCH -> {
+                    mismatched.increment();
+                    reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            properties.getKeyHeader() + " was already used for a different request");
+                    return;
+                }
+                case LIMITED -> {
+                    limited.increment();
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests with an "
+                            + properties.getKeyHeader() + " are in progress");
+                    return;
+                }
+                case DUPLICATE -> {
+                    StoredResponse stored;
+                    try {
+                        stored = reservation.response().get(Math.max(0, waitDeadline - System.nanoTime()),
+                                TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException e) {
+                        conflicted.increment();
+                        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                        reject(response, HttpStatus.CONFLICT, "A request with this "
+                                + properties.getKeyHeader() + " is still in progress");
+                        return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ServletException(e);
+                    } catch (ExecutionException e) {
+                        throw new ServletException(e.getCause());
+                    }
+                    if (stored != null) {
+                        replayed.increment();
+                        replay(stored, response);
+                        return;
+                    }
+                    // the original ended without a storable response, take the key over
+                }
+            }
+        }
+    }
+
+    private void execute(IdempotencyStore.Reservation reservation, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper capturingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, capturingResponse);
+            if (capturingResponse.getStatus() < 500 && capturingResponse.getContentSize() <= properties.getMaxBodyBytes()) {
+                Map<String, String> headers = new LinkedHashMap<>();
+                for (String name : STORED_HEADERS) {
+                    String value = capturingResponse.getHeader(name);
+                    if (value != null) {
+                        headers.put(name, value);
+                    }
+                }
+                store.complete(reservation, new StoredResponse(capturingResponse.getStatus(),
+                        capturingResponse.getContentType(), headers, capturingResponse.getContentAsByteArray()),
+                        System.nanoTime());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(reservation);
+            }
+        }
+        capturingResponse.copyBodyToResponse();
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        return Objects.requireNonNullElseGet(request.getHeader(properties.getClientHeader()),
+                () -> "ip:" + request.getRemoteAddr());
+    }
+
+    private static byte[] fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String target = request.getMethod() + ' ' + request.getRequestURI() + '?'
+                    + Objects.toString(request.getQueryString(), "") + '|'
+                    + Objects.toString(request.getContentType(), "") + '|';
+            digest.update(target.getBytes(StandardCharsets.UTF_8));
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorDto.builder()
+                .status(status.value())
+                .message(message)
+                .build());
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("developer.idempotency.requests")
+                .description("Requests carrying an idempotency key by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The body had to be read for the fingerprint, so the controller is handed the buffered copy.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // the whole body is in memory, so it is available at once and never blocks
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = Objects.requireNonNullElse(getCharacterEncoding(), StandardCharsets.UTF_8.name());
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
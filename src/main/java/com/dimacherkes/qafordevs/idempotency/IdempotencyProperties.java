@@ -0,0 +1,45 @@
+package com.dimacherkes.qafordevs.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private String keyHeader = "Idempotency-Key";
+    /**
+     * Keys are scoped per client, identified the same way as for rate limiting.
+     */
+    private String clientHeader = "X-API-Key";
+    private int maxKeyLength = 255;
+    /**
+     * How long a completed response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 10_000;
+    /**
+     * Upper bound on the stored response bodies of all clients together.
+     */
+    private long maxTotalBytes = 64L * 1024 * 1024;
+    /**
+     * Keys one client may hold. Past it the client's oldest stored response is dropped, and while
+     * all of its keys are still running further keys are answered with 429.
+     */
+    private int maxEntriesPerClient = 100;
+    /**
+     * Stored response bodies one client may hold, past it its oldest stored responses are dropped.
+     */
+    private long maxBytesPerClient = 4L * 1024 * 1024;
+    /**
+     * Larger request bodies are rejected when sent with a key, larger responses are not stored.
+     */
+    private int maxBodyBytes = 1024 * 1024;
+    /**
+     * How long a duplicate waits for the original request before it is answered with 409.
+     */
+    private Duration inFlightWait = Duration.ofSeconds(10);
+}
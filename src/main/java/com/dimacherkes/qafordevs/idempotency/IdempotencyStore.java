@@ -0,0 +1,202 @@
+package com.dimacherkes.qafordevs.idempotency;
+
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, expiring map from idempotency key to the request fingerprint and its response. The
+ * first request for a key reserves it and later ones share its future, so concurrent duplicates
+ * wait for the original instead of running again. Entries are kept in reservation order, which
+ * with a fixed TTL is also expiry order, so purging only ever looks at the head.
+ * <p>
+ * Keys are scoped per client and every client has its own entry and byte budget. A client that
+ * uses its budget up pushes out its own oldest responses, never those of other clients; the
+ * total budgets only come into play when many clients are close to their limits at once.
+ */
+public class IdempotencyStore {
+
+    public enum State {
+        /**
+         * The caller owns the key and has to {@link #complete} or {@link #release} the reservation.
+         */
+        ACQUIRED,
+        /**
+         * Another request with the same fingerprint owns or owned the key, its response follows from the future.
+         */
+        DUPLICATE,
+        /**
+         * The key was used for a different request.
+         */
+        MISMATCH,
+        /**
+         * The client holds as many keys as it may and all of them are still running, nothing was reserved.
+         */
+        LIMITED
+    }
+
+    public record Reservation(String key, State state, CompletableFuture<StoredResponse> response) {
+    }
+
+    private static final class Entry {
+        private final String client;
+        private final byte[] fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private boolean completed;
+        private long expiresAtNanos;
+        private long bytes;
+
+        private Entry(String client, byte[] fingerprint) {
+            this.client = client;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static final class Usage {
+        private final LinkedHashSet<String> keys = new LinkedHashSet<>();
+        private long bytes;
+    }
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final int maxEntriesPerClient;
+    private final long maxBytesPerClient;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, Usage> clients = new HashMap<>();
+    private long bytes;
+
+    public IdempotencyStore(long ttlNanos, int maxEntries, long maxBytes, int maxEntriesPerClient, long maxBytesPerClient) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntriesPerClient = maxEntriesPerClient;
+        this.maxBytesPerClient = maxBytesPerClient;
+    }
+
+    public synchronized Reservation reserve(String client, String key, byte[] fingerprint, long nowNanos) {
+        purgeExpired(nowNanos);
+        String entryKey = client + '|' + key;
+        Entry entry = entries.get(entryKey);
+        if (entry == null) {
+            Usage usage = clients.get(client);
+            if (usage != null && usage.keys.size() >= maxEntriesPerClient && !evictEldestCompleted(usage)) {
+                return new Reservation(entryKey, State.LIMITED, null);
+            }
+            if (entries.size() >= maxEntries) {
+                Map.Entry<String, Entry> eldest = entries.entrySet().iterator().next();
+                remove(eldest.getKey(), eldest.getValue());
+            }
+            entry = new Entry(client, fingerprint);
+            entries.put(entryKey, entry);
+            clients.computeIfAbsent(client, c -> new Usage()).keys.add(entryKey);
+            return new Reservation(entryKey, State.ACQUIRED, entry.response);
+        }
+        if (!MessageDigest.isEqual(entry.fingerprint, fingerprint)) {
+            return new Reservation(entryKey, State.MISMATCH, entry.response);
+        }
+        return new Reservation(entryKey, State.DUPLICATE, entry.response);
+    }
+
+    /**
+     * Stores the response for replay and hands it to every waiting duplicate. A response larger
+     * than the client's byte budget is only handed to the waiters.
+     */
+    public void complete(Reservation reservation, StoredResponse response, long nowNanos) {
+        synchronized (this) {
+            Entry entry = entries.get(reservation.key());
+            // the entry may have been pushed out by capacity, its waiters still get the response
+            if (entry != null && entry.response == reservation.response()) {
+                long size = (long) response.body().length + entry.fingerprint.length;
+                if (size > maxBytesPerClient || size > maxBytes) {
+                    remove(reservation.key(), entry);
+                } else {
+                    entry.completed = true;
+                    entry.expiresAtNanos = nowNanos + ttlNanos;
+                    entry.bytes = size;
+                    Usage usage = clients.get(entry.client);
+                    usage.bytes += size;
+                    bytes += size;
+                    // the entry just completed is the newest and fits alone, so it is never the one pushed out
+                    while (usage.bytes > maxBytesPerClient) {
+                        evictEldestCompleted(usage);
+                    }
+                    while (bytes > maxBytes) {
+                        evictEldestCompleted();
+                    }
+                }
+            }
+        }
+        reservation.response().complete(response);
+    }
+
+    /**
+     * Forgets the key without a response, so the next request for it runs again. Waiting
+     * duplicates receive {@code null} and reserve the key anew.
+     */
+    public void release(Reservation reservation) {
+        synchronized (this) {
+            Entry entry = entries.get(reservation.key());
+            if (entry != null && entry.response == reservation.response()) {
+                remove(reservation.key(), entry);
+            }
+        }
+        reservation.response().complete(null);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Bytes held by stored responses.
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    private boolean evictEldestCompleted(Usage usage) {
+        for (String entryKey : usage.keys) {
+            Entry entry = entries.get(entryKey);
+            if (entry.completed) {
+                remove(entryKey, entry);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean evictEldestCompleted() {
+        for (Map.Entry<String, Entry> eldest : entries.entrySet()) {
+            if (eldest.getValue().completed) {
+                remove(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remove(String entryKey, Entry entry) {
+        entries.remove(entryKey);
+        Usage usage = clients.get(entry.client);
+        usage.keys.remove(entryKey);
+        usage.bytes -= entry.bytes;
+        bytes -= entry.bytes;
+        if (usage.keys.isEmpty()) {
+            clients.remove(entry.client);
+        }
+    }
+
+    private void purgeExpired(long nowNanos) {
+        while (!entries.isEmpty()) {
+            Map.Entry<String, Entry> eldest = entries.entrySet().iterator().next();
+            if (!eldest.getValue().completed || eldest.getValue().expiresAtNanos - nowNanos > 0) {
+                return;
+            }
+            remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+}
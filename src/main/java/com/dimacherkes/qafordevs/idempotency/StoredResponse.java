@@ -0,0 +1,9 @@
+package com.dimacherkes.qafordevs.idempotency;
+
+import java.util.Map;
+
+/**
+ * Response of a completed request, replayed to retries carrying the same key.
+ */
+public record StoredResponse(int status, String contentType, Map<String, String> headers, byte[] body) {
+}
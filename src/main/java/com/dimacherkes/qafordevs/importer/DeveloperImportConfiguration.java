@@ -0,0 +1,9 @@
+package com.dimacherkes.qafordevs.importer;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DeveloperImportProperties.class)
+public class DeveloperImportConfiguration {
+}
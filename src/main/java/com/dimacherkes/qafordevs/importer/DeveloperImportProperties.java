@@ -0,0 +1,20 @@
+package com.dimacherkes.qafordevs.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.import")
+public class DeveloperImportProperties {
+
+    /**
+     * Rows validated, deduped and committed together; also the number of raw lines held in memory.
+     */
+    private int batchSize = 1000;
+    private int validationParallelism = Runtime.getRuntime().availableProcessors();
+    /**
+     * Sizing hint for the in-file dedupe set, it grows past this on demand.
+     */
+    private int expectedRows = 1 << 16;
+    private int maxErrorSamples = 20;
+}
@@ -0,0 +1,139 @@
+package com.dimacherkes.qafordevs.importer;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.exception.InvalidImportFileException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns a single raw line into an {@link ImportRow}. Implementations are stateless after construction,
+ * so one instance is shared by all validation workers.
+ */
+public interface DeveloperRowParser {
+
+    ImportRow parse(long lineNumber, String line);
+
+    /**
+     * @param header first line of the file for CSV, ignored for NDJSON
+     * @throws InvalidImportFileException if the CSV header is missing or lacks a required column
+     */
+    static DeveloperRowParser forFormat(ImportFormat format, String header, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new Csv(header);
+            case NDJSON -> new NdJson(objectMapper.readerFor(DeveloperDto.class));
+        };
+    }
+
+    final class NdJson implements DeveloperRowParser {
+
+        private final ObjectReader reader;
+
+        NdJson(ObjectReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow parse(long lineNumber, String line) {
+            try {
+                DeveloperDto dto = reader.readValue(line);
+                return new ImportRow(lineNumber, dto.getFirstName(), dto.getLastName(), dto.getEmail(),
+                        dto.getSpecialty(), null);
+            } catch (JsonProcessingException e) {
+                return ImportRow.invalid(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields and doubled quotes are supported, line breaks inside quotes are not.
+     */
+    final class Csv implements DeveloperRowParser {
+
+        private final int firstName;
+        private final int lastName;
+        private final int email;
+        private final int specialty;
+
+        Csv(String header) {
+            if (header == null) {
+                throw new InvalidImportFileException("CSV import requires a header line");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names;
+            try {
+                names = split(header);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidImportFileException("CSV header is malformed: " + e.getMessage());
+            }
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            this.firstName = column(columns, "firstname");
+            this.lastName = column(columns, "lastname");
+            this.email = column(columns, "email");
+            this.specialty = column(columns, "specialty");
+        }
+
+        @Override
+        public ImportRow parse(long lineNumber, String line) {
+            List<String> fields;
+            try {
+                fields = split(line);
+            } catch (IllegalArgumentException e) {
+                return ImportRow.invalid(lineNumber, e.getMessage());
+            }
+            return new ImportRow(lineNumber, field(fields, firstName), field(fields, lastName),
+                    field(fields, email), field(fields, specialty), null);
+        }
+
+        private static int column(Map<String, Integer> columns, String name) {
+            Integer index = columns.get(name);
+            if (index == null) {
+                throw new InvalidImportFileException("CSV header has no " + name + " column");
+            }
+            return index;
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        current.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("unterminated quoted field");
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.dimacherkes.qafordevs.importer;
+
+import java.util.Locale;
+
+/**
+ * Open-addressing set of 64-bit email fingerprints used for in-file dedupe. Keeping hashes instead of
+ * strings holds a multi-million line file at roughly 16 bytes per distinct email; the chance of two
+ * different emails sharing a fingerprint stays below one in a billion at that size.
+ */
+public final class EmailFingerprintSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] slots;
+    private int size;
+
+    public EmailFingerprintSet(int expectedSize) {
+        slots = new long[Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1];
+    }
+
+    /**
+     * @return {@code false} if the email (case-insensitively) was already added
+     */
+    public boolean add(String email) {
+        long fingerprint = fingerprint(email.toLowerCase(Locale.ROOT));
+        if (size * 2 >= slots.length) {
+            grow();
+        }
+        return insert(fingerprint);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean insert(long fingerprint) {
+        int mask = slots.length - 1;
+        int index = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == fingerprint) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = fingerprint;
+        size++;
+        return true;
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length << 1];
+        size = 0;
+        for (long fingerprint : old) {
+            if (fingerprint != EMPTY) {
+                insert(fingerprint);
+            }
+        }
+    }
+
+    static long fingerprint(String value) {
+        // FNV-1a over UTF-16 units followed by a murmur3 finaliser to spread the low bits
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1L : hash;
+    }
+}
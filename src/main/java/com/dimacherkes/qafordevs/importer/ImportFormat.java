@@ -0,0 +1,20 @@
+package com.dimacherkes.qafordevs.importer;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV, NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static ImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return NDJSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import content type " + contentType);
+    }
+}
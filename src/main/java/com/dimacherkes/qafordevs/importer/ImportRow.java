@@ -0,0 +1,29 @@
+package com.dimacherkes.qafordevs.importer;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+
+/**
+ * One parsed line of an import file; {@code error} is set instead of the fields when the line is rejected.
+ */
+public record ImportRow(long lineNumber, String firstName, String lastName, String email, String specialty,
+                        String error) {
+
+    public static ImportRow invalid(long lineNumber, String error) {
+        return new ImportRow(lineNumber, null, null, null, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public DeveloperEntity toEntity() {
+        return DeveloperEntity.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .specialty(specialty)
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
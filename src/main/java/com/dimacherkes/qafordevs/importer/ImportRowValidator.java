@@ -0,0 +1,46 @@
+package com.dimacherkes.qafordevs.importer;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Normalises a parsed row (trimmed fields, collapsed whitespace in names) and checks it can be stored.
+ */
+public final class ImportRowValidator {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LENGTH = 255;
+
+    private ImportRowValidator() {
+    }
+
+    public static ImportRow validate(ImportRow row) {
+        if (!row.isValid()) {
+            return row;
+        }
+        String firstName = normaliseName(row.firstName());
+        String lastName = normaliseName(row.lastName());
+        String email = Objects.isNull(row.email()) ? "" : row.email().trim();
+        String specialty = Objects.isNull(row.specialty()) ? "" : row.specialty().trim();
+
+        if (firstName.isEmpty() || lastName.isEmpty()) {
+            return ImportRow.invalid(row.lineNumber(), "first and last name are required");
+        }
+        if (!EMAIL.matcher(email).matches()) {
+            return ImportRow.invalid(row.lineNumber(), "invalid email");
+        }
+        if (specialty.isEmpty()) {
+            return ImportRow.invalid(row.lineNumber(), "specialty is required");
+        }
+        if (firstName.length() > MAX_LENGTH || lastName.length() > MAX_LENGTH
+                || email.length() > MAX_LENGTH || specialty.length() > MAX_LENGTH) {
+            return ImportRow.invalid(row.lineNumber(), "field longer than " + MAX_LENGTH + " characters");
+        }
+        return new ImportRow(row.lineNumber(), firstName, lastName, email, specialty, null);
+    }
+
+    private static String normaliseName(String name) {
+        return Objects.isNull(name) ? "" : WHITESPACE.matcher(name.trim()).replaceAll(" ");
+    }
+}
@@ -0,0 +1,34 @@
+package com.dimacherkes.qafordevs.invalidation;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.event.DeveloperCacheEvictionEvent;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Applies remote evictions to the second-level cache. Query results can not be addressed by email,
+ * so the lookup query regions are dropped as a whole; they refill on the next lookup.
+ */
+public class HibernateCacheEvictor {
+
+    private final Cache cache;
+
+    public HibernateCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @EventListener
+    public void onEviction(DeveloperCacheEvictionEvent event) {
+        if (event.all()) {
+            cache.evictEntityData(DeveloperEntity.class);
+        } else {
+            event.ids().forEach(id -> cache.evictEntityData(DeveloperEntity.class, id));
+        }
+        cache.evictQueryRegion(DeveloperRepository.BY_EMAIL_CACHE_REGION);
+        cache.evictQueryRegion(DeveloperRepository.BY_SPECIALTY_CACHE_REGION);
+        cache.evictDefaultQueryRegion();
+    }
+}
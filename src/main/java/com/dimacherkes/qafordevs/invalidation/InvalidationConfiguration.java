@@ -0,0 +1,56 @@
+package com.dimacherkes.qafordevs.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Objects;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.cache-invalidation", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfiguration {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Falls back to {@code spring.datasource}; set it explicitly when the application datasource is
+     * sharded or otherwise does not name the same database on every node.
+     */
+    @Bean
+    public InvalidationDataSource invalidationDataSource(InvalidationProperties properties,
+                                                         DataSourceProperties dataSourceProperties) {
+        InvalidationProperties.Datasource datasource = properties.getDatasource();
+        return new InvalidationDataSource(
+                Objects.requireNonNullElseGet(datasource.getUrl(), dataSourceProperties::determineUrl),
+                Objects.requireNonNullElseGet(datasource.getUsername(), dataSourceProperties::determineUsername),
+                Objects.requireNonNullElseGet(datasource.getPassword(), dataSourceProperties::determinePassword));
+    }
+
+    @Bean
+    public InvalidationPublisher invalidationPublisher(InvalidationDataSource invalidationDataSource,
+                                                       ObjectMapper objectMapper,
+                                                       InvalidationProperties properties) {
+        return new InvalidationPublisher(invalidationDataSource.jdbcTemplate(), objectMapper, properties, nodeId);
+    }
+
+    @Bean
+    public InvalidationListener invalidationListener(InvalidationDataSource invalidationDataSource,
+                                                     ObjectMapper objectMapper,
+                                                     ApplicationEventPublisher eventPublisher,
+                                                     InvalidationProperties properties) {
+        return new InvalidationListener(invalidationDataSource::getConnection,
+                objectMapper, eventPublisher, properties, nodeId);
+    }
+
+    @Bean
+    public HibernateCacheEvictor hibernateCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        return new HibernateCacheEvictor(entityManagerFactory);
+    }
+}
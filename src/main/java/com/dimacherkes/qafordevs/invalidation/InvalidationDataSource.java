@@ -0,0 +1,50 @@
+package com.dimacherkes.qafordevs.invalidation;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The one database every node sends invalidations to and listens on. It is a pool of its own, one
+ * connection for the LISTEN session and one for {@code pg_notify}, so the pinned listening connection
+ * never takes a slot of the application pool and sending never depends on where the application
+ * pool routes.
+ * <p>
+ * Deliberately not a {@link javax.sql.DataSource} bean, which would replace the application's datasource.
+ */
+public class InvalidationDataSource implements DisposableBean {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public InvalidationDataSource(String url, String username, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("cache-invalidation");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(2);
+        config.setMinimumIdle(0);
+        // the listener reconnects with backoff, an unreachable database must not stop the application
+        config.setInitializationFailTimeout(-1);
+        this.dataSource = new HikariDataSource(config);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+}
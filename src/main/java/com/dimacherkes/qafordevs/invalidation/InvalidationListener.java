@@ -0,0 +1,153 @@
+package com.dimacherkes.qafordevs.invalidation;
+
+import com.dimacherkes.qafordevs.event.DeveloperCacheEvictionEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Holds a dedicated connection in LISTEN mode and turns notifications from other nodes into
+ * {@link DeveloperCacheEvictionEvent}s. Notifications sent while the connection is down are lost,
+ * so after every reconnect local caches are flushed completely.
+ */
+@Slf4j
+public class InvalidationListener implements MeterBinder, DisposableBean {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final ConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationProperties properties;
+    private final String nodeId;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final Thread listener;
+    private volatile boolean running = true;
+    private volatile Connection connection;
+
+    public InvalidationListener(ConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher, InvalidationProperties properties,
+                                String nodeId) {
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation channel name " + properties.getChannel());
+        }
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.nodeId = nodeId;
+        this.listener = Thread.ofPlatform()
+                .name("cache-invalidation-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("developer.cache.invalidation.received", received, AtomicLong::get)
+                .description("Invalidation notifications received from other nodes")
+                .register(registry);
+        FunctionCounter.builder("developer.cache.invalidation.reconnects", reconnects, AtomicLong::get)
+                .description("Listener reconnects, each one flushes the local caches")
+                .register(registry);
+    }
+
+    private void listen() {
+        Duration backoff = properties.getReconnectBackoff();
+        boolean missedNotifications = false;
+        while (running) {
+            try (Connection listening = connectionFactory.connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                if (missedNotifications) {
+                    reconnects.incrementAndGet();
+                    eventPublisher.publishEvent(DeveloperCacheEvictionEvent.everything());
+                    missedNotifications = false;
+                }
+                backoff = properties.getReconnectBackoff();
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) properties.getPollTimeout().toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                missedNotifications = true;
+                log.warn("Cache invalidation listener lost its connection, retrying in {}", backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(properties.getMaxReconnectBackoff()) > 0
+                        ? properties.getMaxReconnectBackoff()
+                        : backoff.multipliedBy(2);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        try {
+            InvalidationMessage message = objectMapper.readValue(payload, InvalidationMessage.class);
+            if (nodeId.equals(message.origin())) {
+                return;
+            }
+            received.incrementAndGet();
+            eventPublisher.publishEvent(message.all()
+                    ? DeveloperCacheEvictionEvent.everything()
+                    : new DeveloperCacheEvictionEvent(new HashSet<>(message.ids()), new HashSet<>(message.emails()), false));
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation payload {}", payload, e);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply cache invalidation payload {}", payload, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        Connection listening = connection;
+        if (listening != null) {
+            try {
+                listening.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close cache invalidation connection", e);
+            }
+        }
+        listener.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        Connection connect() throws SQLException;
+    }
+}
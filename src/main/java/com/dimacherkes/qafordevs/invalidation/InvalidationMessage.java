@@ -0,0 +1,13 @@
+package com.dimacherkes.qafordevs.invalidation;
+
+import java.util.List;
+
+/**
+ * NOTIFY payload. {@code origin} lets a node skip its own messages, it already evicted locally.
+ */
+public record InvalidationMessage(String origin, List<Integer> ids, List<String> emails, boolean all) {
+
+    public static InvalidationMessage everything(String origin) {
+        return new InvalidationMessage(origin, List.of(), List.of(), true);
+    }
+}
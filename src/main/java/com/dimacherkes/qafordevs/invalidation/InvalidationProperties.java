@@ -0,0 +1,37 @@
+package com.dimacherkes.qafordevs.invalidation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.cache-invalidation")
+public class InvalidationProperties {
+
+    private boolean enabled = false;
+    /**
+     * Postgres channel used for LISTEN/NOTIFY, a plain lower case identifier.
+     */
+    private String channel = "developer_invalidation";
+    /**
+     * How long changes are collected before they are sent as one notification.
+     */
+    private Duration batchWindow = Duration.ofMillis(50);
+    private int queueCapacity = 10_000;
+    private Duration pollTimeout = Duration.ofSeconds(1);
+    private Duration reconnectBackoff = Duration.ofSeconds(1);
+    private Duration maxReconnectBackoff = Duration.ofSeconds(30);
+    /**
+     * Database notifications are sent through and listened on, the same one for every node.
+     * Unset fields fall back to {@code spring.datasource}.
+     */
+    private Datasource datasource = new Datasource();
+
+    @Data
+    public static class Datasource {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,163 @@
+package com.dimacherkes.qafordevs.invalidation;
+
+import com.dimacherkes.qafordevs.event.DeveloperBatchChangedEvent;
+import com.dimacherkes.qafordevs.event.DeveloperChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects developer changes and sends them to the other nodes with {@code pg_notify} from a single
+ * background thread. Changes arriving within one batch window share a notification. A batch of bulk
+ * writes takes a single queue slot however many rows it changed. When the queue overflows or a
+ * notification can not be sent, a flush-all message replaces the lost keys.
+ */
+@Slf4j
+public class InvalidationPublisher implements MeterBinder, DisposableBean {
+
+    // Postgres rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final InvalidationProperties properties;
+    private final String nodeId;
+    private final BlockingQueue<DeveloperBatchChangedEvent> queue;
+    private final AtomicBoolean lostChanges = new AtomicBoolean();
+    private final AtomicLong notifications = new AtomicLong();
+    private final AtomicLong fullFlushes = new AtomicLong();
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    public InvalidationPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                 InvalidationProperties properties, String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.nodeId = nodeId;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.sender = Thread.ofPlatform()
+                .name("cache-invalidation-publisher")
+                .daemon()
+                .start(this::send);
+    }
+
+    @EventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        onDevelopersChanged(new DeveloperBatchChangedEvent(event.type(), Collections.singletonList(event.developerId()),
+                Collections.singletonList(event.email())));
+    }
+
+    @EventListener
+    public void onDevelopersChanged(DeveloperBatchChangedEvent event) {
+        if (!queue.offer(event)) {
+            lostChanges.set(true);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("developer.cache.invalidation.sent", notifications, AtomicLong::get)
+                .description("Invalidation notifications sent to other nodes")
+                .register(registry);
+        FunctionCounter.builder("developer.cache.invalidation.sent.flush_all", fullFlushes, AtomicLong::get)
+                .description("Flush-all notifications sent because individual changes were lost")
+                .register(registry);
+    }
+
+    private void send() {
+        List<DeveloperBatchChangedEvent> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                DeveloperBatchChangedEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null && !lostChanges.get()) {
+                    continue;
+                }
+                if (first != null) {
+                    batch.add(first);
+                    if (running) {
+                        Thread.sleep(properties.getBatchWindow());
+                    }
+                    queue.drainTo(batch);
+                }
+                publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publish(List<DeveloperBatchChangedEvent> batch) {
+        try {
+            if (lostChanges.getAndSet(false)) {
+                // one flush-all covers the lost changes and everything collected so far
+                notify(InvalidationMessage.everything(nodeId));
+                fullFlushes.incrementAndGet();
+                return;
+            }
+            Set<Integer> ids = new LinkedHashSet<>();
+            Set<String> emails = new LinkedHashSet<>();
+            for (DeveloperBatchChangedEvent event : batch) {
+                ids.addAll(event.developerIds());
+                event.emails().stream().filter(Objects::nonNull).forEach(emails::add);
+            }
+            sendSplit(new ArrayList<>(ids), new ArrayList<>(emails));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not send cache invalidation, other nodes will be asked to flush everything", e);
+            lostChanges.set(true);
+        }
+    }
+
+    private void sendSplit(List<Integer> ids, List<String> emails) throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(new InvalidationMessage(nodeId, ids, emails, false));
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            notify(payload);
+            return;
+        }
+        if (ids.size() <= 1 && emails.size() <= 1) {
+            notify(InvalidationMessage.everything(nodeId));
+            fullFlushes.incrementAndGet();
+            return;
+        }
+        sendSplit(ids.subList(0, ids.size() / 2), emails.subList(0, emails.size() / 2));
+        sendSplit(ids.subList(ids.size() / 2, ids.size()), emails.subList(emails.size() / 2, emails.size()));
+    }
+
+    private void notify(InvalidationMessage message) throws JsonProcessingException {
+        notify(objectMapper.writeValueAsString(message));
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", properties.getChannel(), payload);
+        notifications.incrementAndGet();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        sender.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,39 @@
+package com.dimacherkes.qafordevs.jdbc;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the datasource once with every {@link QueryExecutionListener} bean (slow query log, request
+ * deadlines), so features can hook into statement execution without stacking proxies.
+ */
+@Configuration
+public class DataSourceProxyConfiguration {
+
+    @Bean
+    public static BeanPostProcessor queryListenerDataSourcePostProcessor(ObjectProvider<QueryExecutionListener> queryListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    List<QueryExecutionListener> listeners = queryListeners.orderedStream().toList();
+                    if (listeners.isEmpty()) {
+                        return bean;
+                    }
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                    listeners.forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
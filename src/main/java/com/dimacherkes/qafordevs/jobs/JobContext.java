@@ -0,0 +1,73 @@
+package com.dimacherkes.qafordevs.jobs;
+
+import com.dimacherkes.qafordevs.exception.JobCancelledException;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Handle a running job uses to publish progress. Progress lives in memory and is handed to the
+ * flusher at most once per flush interval, so tight loops do not turn into a write per item.
+ */
+public class JobContext {
+
+    @Getter
+    private final String jobId;
+    private final long flushIntervalNanos;
+    private final Consumer<JobContext> flusher;
+
+    private volatile long processed;
+    private volatile Long total;
+    private volatile boolean cancelled;
+    private long lastFlush = System.nanoTime();
+
+    public JobContext(String jobId, Duration flushInterval, Consumer<JobContext> flusher) {
+        this.jobId = jobId;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flusher = flusher;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+        maybeFlush();
+    }
+
+    public void addProcessed(long delta) {
+        setProcessed(processed + delta);
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new JobCancelledException("Job " + jobId + " was cancelled");
+        }
+    }
+
+    private void maybeFlush() {
+        long now = System.nanoTime();
+        if (now - lastFlush >= flushIntervalNanos) {
+            lastFlush = now;
+            flusher.accept(this);
+        }
+    }
+}
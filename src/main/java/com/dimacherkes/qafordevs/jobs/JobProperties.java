@@ -0,0 +1,42 @@
+package com.dimacherkes.qafordevs.jobs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.jobs")
+public class JobProperties {
+
+    /**
+     * Jobs running at the same time; each one may hold a database connection for its whole run.
+     */
+    private int maxConcurrentJobs = 2;
+    /**
+     * Accepted jobs waiting for a worker, submissions beyond it are rejected.
+     */
+    private int queueCapacity = 32;
+    /**
+     * Minimum time between two progress writes of the same job.
+     */
+    private Duration progressFlushInterval = Duration.ofSeconds(1);
+    /**
+     * Where uploads are spooled and export results are written.
+     */
+    private Path workDir = Path.of(System.getProperty("java.io.tmpdir"), "qafordevs-jobs");
+    private int batchSize = 1000;
+    /**
+     * Owner recorded on the jobs this instance accepts. Keep it stable across restarts, such as the
+     * pod name, so a restarted instance recognises the jobs its previous run left open.
+     */
+    private String nodeId = Objects.requireNonNullElseGet(System.getenv("HOSTNAME"), () -> UUID.randomUUID().toString());
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+    /**
+     * Open jobs whose heartbeat is older than this are failed by whichever instance notices first.
+     */
+    private Duration staleAfter = Duration.ofMinutes(1);
+}
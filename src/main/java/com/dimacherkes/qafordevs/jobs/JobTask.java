@@ -0,0 +1,11 @@
+package com.dimacherkes.qafordevs.jobs;
+
+/**
+ * Body of a job. It reports progress and polls for cancellation through the {@link JobContext};
+ * the returned value is stored as the job result.
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    String run(JobContext context) throws Exception;
+}
@@ -0,0 +1,36 @@
+package com.dimacherkes.qafordevs.metrics;
+
+import com.dimacherkes.qafordevs.exception.DeveloperNotFoundException;
+import com.dimacherkes.qafordevs.exception.DeveloperWithDuplicateEmailException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+
+@Aspect
+public class DeveloperOutcomeMetricsAspect {
+
+    private final Counter notFoundCounter;
+    private final Counter duplicateEmailCounter;
+
+    public DeveloperOutcomeMetricsAspect(MeterRegistry meterRegistry) {
+        this.notFoundCounter = Counter.builder("developer.service.outcomes")
+                .description("Developer service calls ended with a business error")
+                .tag("outcome", "not_found")
+                .register(meterRegistry);
+        this.duplicateEmailCounter = Counter.builder("developer.service.outcomes")
+                .description("Developer service calls ended with a business error")
+                .tag("outcome", "duplicate_email")
+                .register(meterRegistry);
+    }
+
+    @AfterThrowing(pointcut = "target(com.dimacherkes.qafordevs.service.DeveloperService)", throwing = "e")
+    public void countNotFound(DeveloperNotFoundException e) {
+        notFoundCounter.increment();
+    }
+
+    @AfterThrowing(pointcut = "target(com.dimacherkes.qafordevs.service.DeveloperService)", throwing = "e")
+    public void countDuplicateEmail(DeveloperWithDuplicateEmailException e) {
+        duplicateEmailCounter.increment();
+    }
+}
@@ -0,0 +1,52 @@
+package com.dimacherkes.qafordevs.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public DeveloperOutcomeMetricsAspect developerOutcomeMetricsAspect(MeterRegistry meterRegistry) {
+        return new DeveloperOutcomeMetricsAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+
+    /**
+     * Hibernate only collects statistics when {@code qafordevs.metrics.hibernate-statistics} is on,
+     * collecting them costs a few counters per session and statement on every request.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "qafordevs.metrics", name = "hibernate-statistics", havingValue = "true")
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "developers", Collections.emptyList());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementMetricsFilter> statementMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new StatementMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,26 @@
+package com.dimacherkes.qafordevs.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Counting is a thread-local
+ * increment, cheap enough to stay enabled in production.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENT_COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENT_COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return STATEMENT_COUNT.get()[0];
+    }
+}
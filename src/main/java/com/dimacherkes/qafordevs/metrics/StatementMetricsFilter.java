@@ -0,0 +1,43 @@
+package com.dimacherkes.qafordevs.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Records how many SQL statements each request executed, tagged like {@code http.server.requests}.
+ */
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private final Meter.MeterProvider<DistributionSummary> statements;
+
+    public StatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.statements = DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements executed per request")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(100.0)
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCountingInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            statements.withTags("method", request.getMethod(), "uri", Objects.toString(uri, "UNKNOWN"))
+                    .record(StatementCountingInspector.count());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.dimacherkes.qafordevs.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Brings a developers table created before emails were normalized up to date: adds the
+ * {@code email_key} column, backfills it and swaps the case-sensitive unique index for one on the key.
+ * <p>
+ * Rows whose emails only differ by case or surrounding whitespace can not share a key. The lowest id
+ * of such a group keeps it, the others are left with a {@code NULL} key and reported so they can be
+ * merged by hand, on every run until that is done. Until then they are invisible to email lookups
+ * but still reachable by id, and updates that leave their email alone keep the key empty.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmailKeyMigration {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Report migrate(String label) {
+        jdbcTemplate.execute("ALTER TABLE developers ADD COLUMN IF NOT EXISTS email_key VARCHAR(255)");
+
+        List<Collision> collisions = jdbcTemplate.query("""
+                        SELECT lower(trim(email)) AS email_key, array_agg(id ORDER BY id) AS ids
+                        FROM developers
+                        WHERE email IS NOT NULL
+                        GROUP BY lower(trim(email))
+                        HAVING count(*) > 1""",
+                (rs, rowNum) -> new Collision(rs.getString("email_key"),
+                        List.of((Integer[]) rs.getArray("ids").getArray())));
+        for (Collision collision : collisions) {
+            log.error("{}: developers {} share email key '{}', only {} keeps it",
+                    label, collision.ids(), collision.emailKey(), collision.ids().getFirst());
+        }
+
+        int backfilled = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update("""
+                    UPDATE developers SET email_key = lower(trim(email)), updated_at = now()
+                    WHERE id IN (
+                        SELECT d.id FROM developers d
+                        WHERE d.email_key IS NULL AND d.email IS NOT NULL
+                          AND NOT EXISTS (SELECT 1 FROM developers o
+                                          WHERE lower(trim(o.email)) = lower(trim(d.email)) AND o.id < d.id)
+                        LIMIT ?)""", BACKFILL_BATCH_SIZE);
+            backfilled += updated;
+        } while (updated == BACKFILL_BATCH_SIZE);
+
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_developers_email_key ON developers (email_key)");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS ux_developers_email");
+        if (backfilled > 0 || !collisions.isEmpty()) {
+            log.info("{}: backfilled {} email keys, {} collisions", label, backfilled, collisions.size());
+        }
+        return new Report(backfilled, collisions);
+    }
+
+    public record Collision(String emailKey, List<Integer> ids) {
+    }
+
+    public record Report(int backfilled, List<Collision> collisions) {
+    }
+}
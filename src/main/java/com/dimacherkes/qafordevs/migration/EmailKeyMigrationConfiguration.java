@@ -0,0 +1,38 @@
+package com.dimacherkes.qafordevs.migration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Migrates the developers table of the primary database. Sharded deployments migrate every shard
+ * from the shard schema initializer instead.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class EmailKeyMigrationConfiguration {
+
+    /**
+     * Runs before Hibernate starts, so schema validation already sees the {@code email_key} column.
+     * A database without the table is left to Hibernate, which creates it with the key in place.
+     */
+    @Bean
+    public EmailKeyMigration emailKeyMigration(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        EmailKeyMigration migration = new EmailKeyMigration(jdbcTemplate);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('developers') IS NOT NULL", Boolean.class))) {
+            migration.migrate("Primary database");
+        }
+        return migration;
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor emailKeyMigrationDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor("emailKeyMigration");
+    }
+}
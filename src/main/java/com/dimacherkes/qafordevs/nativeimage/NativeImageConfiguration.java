@@ -0,0 +1,25 @@
+package com.dimacherkes.qafordevs.nativeimage;
+
+import com.dimacherkes.qafordevs.dto.DeveloperAuditDto;
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.dto.DeveloperImportDto;
+import com.dimacherkes.qafordevs.dto.DeveloperPageDto;
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.dimacherkes.qafordevs.dto.JobDto;
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.invalidation.InvalidationMessage;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * The controller returns {@code ResponseEntity<?>}, so AOT can not infer the Jackson payload types
+ * from method signatures and they are registered for binding explicitly.
+ */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({DeveloperDto.class, ErrorDto.class, DeveloperEntity.class,
+        DeveloperImportDto.class, JobDto.class, InvalidationMessage.class, DeveloperAuditDto.class,
+        DeveloperPageDto.class})
+@ImportRuntimeHints(NativeImageRuntimeHints.class)
+public class NativeImageConfiguration {
+}
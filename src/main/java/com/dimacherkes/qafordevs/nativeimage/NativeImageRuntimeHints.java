@@ -0,0 +1,29 @@
+package com.dimacherkes.qafordevs.nativeimage;
+
+import com.dimacherkes.qafordevs.metrics.StatementCountingInspector;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+public class NativeImageRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // datasource-proxy wraps JDBC objects in JDK proxies that have to be known at build time
+        hints.proxies().registerJdkProxy(Connection.class, ProxyJdbcObject.class);
+        hints.proxies().registerJdkProxy(Statement.class, ProxyJdbcObject.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class, ProxyJdbcObject.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class, ProxyJdbcObject.class);
+
+        hints.reflection().registerType(StatementCountingInspector.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // second-level cache regions are configured from a classpath resource
+        hints.resources().registerPattern("ehcache.xml");
+    }
+}
@@ -0,0 +1,151 @@
+package com.dimacherkes.qafordevs.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes Hikari pools within {@link PoolProperties.Adaptive} bounds from the pools' own
+ * {@code hikaricp.connections.acquire} and {@code hikaricp.connections.usage} timers: how long
+ * callers waited for a connection versus how long the database kept it. Resizing starts with the
+ * application context, once every pool and the meter registry are in place.
+ */
+@Slf4j
+public class AdaptivePoolSizer implements MeterBinder, SmartLifecycle, DisposableBean {
+
+    private final List<Pool> pools;
+    private final MeterRegistry meterRegistry;
+    private final long intervalNanos;
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> resizing;
+
+    public AdaptivePoolSizer(List<HikariDataSource> dataSources, PoolProperties.Adaptive properties, MeterRegistry meterRegistry) {
+        this.pools = dataSources.stream()
+                .map(dataSource -> new Pool(dataSource, new PoolSizeController(properties)))
+                .toList();
+        this.meterRegistry = meterRegistry;
+        this.intervalNanos = properties.getInterval().toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("adaptive-pool-sizer")
+                .daemon()
+                .factory());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Pool pool : pools) {
+            Gauge.builder("hikaricp.connections.adaptive.max", pool.dataSource.getHikariConfigMXBean(),
+                            HikariConfigMXBean::getMaximumPoolSize)
+                    .description("Maximum pool size currently chosen by the adaptive sizer")
+                    .tag("pool", pool.name())
+                    .register(registry);
+        }
+    }
+
+    void resize() {
+        for (Pool pool : pools) {
+            try {
+                pool.resize();
+            } catch (RuntimeException e) {
+                log.warn("Failed to resize pool {}", pool.name(), e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (Objects.isNull(resizing)) {
+            resizing = scheduler.scheduleWithFixedDelay(this::resize, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (Objects.nonNull(resizing)) {
+            resizing.cancel(false);
+            resizing = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return Objects.nonNull(resizing);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private class Pool {
+
+        private final HikariDataSource dataSource;
+        private final PoolSizeController controller;
+        private final int minimumIdle;
+        private long acquisitions;
+        private double waitNanos;
+        private long usages;
+        private double usageNanos;
+
+        private Pool(HikariDataSource dataSource, PoolSizeController controller) {
+            this.dataSource = dataSource;
+            this.controller = controller;
+            this.minimumIdle = dataSource.getHikariConfigMXBean().getMinimumIdle();
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+
+        private void resize() {
+            Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", name()).timer();
+            Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", name()).timer();
+            if (Objects.isNull(acquire) || Objects.isNull(usage)) {
+                return;
+            }
+            long acquisitionsDelta = acquire.count() - acquisitions;
+            double waitDelta = acquire.totalTime(TimeUnit.NANOSECONDS) - waitNanos;
+            long usagesDelta = usage.count() - usages;
+            double usageDelta = usage.totalTime(TimeUnit.NANOSECONDS) - usageNanos;
+            acquisitions = acquire.count();
+            waitNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+            usages = usage.count();
+            usageNanos = usage.totalTime(TimeUnit.NANOSECONDS);
+
+            PoolSizeController.Window window = new PoolSizeController.Window(acquisitionsDelta,
+                    acquisitionsDelta == 0 ? 0 : waitDelta / acquisitionsDelta / 1_000_000,
+                    usagesDelta == 0 ? 0 : usageDelta / usagesDelta / 1_000_000,
+                    usageDelta / intervalNanos);
+            HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+            int current = config.getMaximumPoolSize();
+            int next = controller.next(current, window);
+            if (next == current) {
+                return;
+            }
+            // the configured minimum idle is capped while the pool is smaller and comes back as it grows
+            if (next > current) {
+                config.setMaximumPoolSize(next);
+                config.setMinimumIdle(Math.min(minimumIdle, next));
+            } else {
+                config.setMinimumIdle(Math.min(minimumIdle, next));
+                config.setMaximumPoolSize(next);
+            }
+            log.info("Resized pool {} from {} to {} connections (wait {} ms, held {} ms, {} busy)", name(), current, next,
+                    String.format("%.2f", window.meanWaitMillis()), String.format("%.2f", window.meanUsageMillis()),
+                    String.format("%.1f", window.busyConnections()));
+        }
+    }
+}
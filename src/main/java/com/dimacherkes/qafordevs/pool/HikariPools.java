@@ -0,0 +1,39 @@
+package com.dimacherkes.qafordevs.pool;
+
+import com.dimacherkes.qafordevs.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+public final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    /**
+     * The pools behind the application datasource, looked up through the datasource-proxy wrapper:
+     * the single pool, or one per shard.
+     */
+    public static List<HikariDataSource> behind(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(ShardRoutingDataSource.class)) {
+            return dataSource.unwrap(ShardRoutingDataSource.class).getResolvedDataSources().values().stream()
+                    .filter(HikariDataSource.class::isInstance)
+                    .map(HikariDataSource.class::cast)
+                    .toList();
+        }
+        return List.of(dataSource.unwrap(HikariDataSource.class));
+    }
+
+    /**
+     * Connections one request can count on: a request holds at most one connection per pool, so the
+     * smallest pool is the limit.
+     */
+    public static int smallestMaximumPoolSize(List<HikariDataSource> pools) {
+        return pools.stream()
+                .mapToInt(pool -> pool.getHikariConfigMXBean().getMaximumPoolSize())
+                .min()
+                .orElse(0);
+    }
+}
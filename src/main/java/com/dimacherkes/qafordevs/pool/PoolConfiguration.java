@@ -0,0 +1,22 @@
+package com.dimacherkes.qafordevs.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.pool.adaptive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PoolProperties.class)
+public class PoolConfiguration {
+
+    @Bean
+    public AdaptivePoolSizer adaptivePoolSizer(DataSource dataSource, PoolProperties properties, MeterRegistry meterRegistry)
+            throws SQLException {
+        return new AdaptivePoolSizer(HikariPools.behind(dataSource), properties.getAdaptive(), meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.dimacherkes.qafordevs.pool;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Static pool settings live under {@code spring.datasource.hikari} (tuned presets in the
+ * {@code pool-oltp} and {@code pool-batch} profiles); this only covers runtime resizing.
+ */
+@Data
+@ConfigurationProperties(prefix = "qafordevs.pool")
+public class PoolProperties {
+
+    private Adaptive adaptive = new Adaptive();
+
+    @Data
+    public static class Adaptive {
+        private boolean enabled = false;
+        private int minSize = 5;
+        /**
+         * Hard upper bound; together with the number of application instances it has to stay below
+         * the database's max_connections.
+         */
+        private int maxSize = 40;
+        private Duration interval = Duration.ofSeconds(15);
+        private int growStep = 2;
+        /**
+         * Grow when the mean wait for a connection exceeds this share of the mean time a connection
+         * is held, i.e. when requests queue for the pool longer than it takes the database to serve them.
+         */
+        private double growWaitRatio = 0.25;
+        /**
+         * Waits below this share of the hold time count as calm.
+         */
+        private double shrinkWaitRatio = 0.02;
+        /**
+         * Calm intervals also need the mean number of busy connections below this share of the pool.
+         */
+        private double shrinkUtilization = 0.5;
+        /**
+         * Consecutive calm intervals before the pool gives back one connection.
+         */
+        private int shrinkAfterIntervals = 4;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dimacherkes.qafordevs.pool;
+
+/**
+ * Sizing decision for one pool. Grows quickly when callers wait for connections relative to how
+ * long the database keeps them, and shrinks one connection at a time only after the pool has been
+ * calm for several intervals, so a short lull does not undo a resize that was needed.
+ */
+class PoolSizeController {
+
+    /**
+     * What happened in the pool during one interval.
+     *
+     * @param acquisitions    connections handed out
+     * @param meanWaitMillis  mean time callers waited for a connection
+     * @param meanUsageMillis mean time a connection was held before it was returned
+     * @param busyConnections mean number of connections in use (total hold time / interval length)
+     */
+    record Window(long acquisitions, double meanWaitMillis, double meanUsageMillis, double busyConnections) {
+    }
+
+    private final PoolProperties.Adaptive properties;
+    private int calmIntervals;
+
+    PoolSizeController(PoolProperties.Adaptive properties) {
+        this.properties = properties;
+    }
+
+    int next(int current, Window window) {
+        int bounded = Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), current));
+        boolean idle = window.acquisitions() == 0;
+        if (!idle && window.meanWaitMillis() > properties.getGrowWaitRatio() * window.meanUsageMillis()) {
+            calmIntervals = 0;
+            return Math.min(properties.getMaxSize(), bounded + properties.getGrowStep());
+        }
+        boolean calm = idle
+                || window.meanWaitMillis() <= properties.getShrinkWaitRatio() * window.meanUsageMillis()
+                && window.busyConnections() < properties.getShrinkUtilization() * bounded;
+        if (!calm) {
+            calmIntervals = 0;
+            return bounded;
+        }
+        if (++calmIntervals < properties.getShrinkAfterIntervals()) {
+            return bounded;
+        }
+        calmIntervals = 0;
+        return Math.max(properties.getMinSize(), bounded - 1);
+    }
+}
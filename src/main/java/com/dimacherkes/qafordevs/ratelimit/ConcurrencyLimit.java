@@ -0,0 +1,38 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Counting limit whose size is read on every acquire, so it follows a connection pool that is
+ * resized at runtime. Shrinking below the requests in flight only stops new ones until enough finish.
+ */
+public class ConcurrencyLimit {
+
+    private final IntSupplier permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimit(IntSupplier permits) {
+        this.permits = permits;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= permits.getAsInt()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
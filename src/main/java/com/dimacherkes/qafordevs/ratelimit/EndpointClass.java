@@ -0,0 +1,23 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum EndpointClass {
+    POINT_READ, LIST_SCAN, WRITE;
+
+    private static final String DEVELOPERS_PATH = "/api/v1/developers";
+
+    public static EndpointClass of(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(DEVELOPERS_PATH) || path.equals(DEVELOPERS_PATH + "/")
+                || path.equals(DEVELOPERS_PATH + "/stream")
+                || path.equals(DEVELOPERS_PATH + "/audit")
+                || path.startsWith(DEVELOPERS_PATH + "/specialty/")) {
+            return LIST_SCAN;
+        }
+        return POINT_READ;
+    }
+}
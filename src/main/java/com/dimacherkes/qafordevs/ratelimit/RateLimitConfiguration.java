@@ -0,0 +1,39 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import com.dimacherkes.qafordevs.pool.HikariPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration {
+
+    /**
+     * Concurrency limits follow the current size of the smallest pool, which the adaptive sizer may change.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                  ObjectMapper objectMapper,
+                                                                  MeterRegistry meterRegistry,
+                                                                  DataSource dataSource) throws SQLException {
+        List<HikariDataSource> pools = HikariPools.behind(dataSource);
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, meterRegistry,
+                () -> HikariPools.smallestMaximumPoolSize(pools));
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/developers", "/api/v1/developers/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
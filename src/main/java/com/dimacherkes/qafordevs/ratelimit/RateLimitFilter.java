@@ -0,0 +1,202 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Rejects requests before they reach the controller: 429 when the client exhausted its token
+ * bucket, 503 when the endpoint class already runs its share of the database pool. A request keeps
+ * its slot until the response is complete, which for async requests is after the filter returned.
+ * <p>
+ * Idle buckets are evicted by a background sweep. While the map holds {@code maxClients} buckets new
+ * clients share a single overflow bucket, so neither memory nor the per-request cost grow with the
+ * number of distinct keys.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+    private final ScheduledExecutorService sweeper;
+    private final Map<EndpointClass, ConcurrencyLimit> concurrencyLimits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rateLimitedCounters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> shedCounters = new EnumMap<>(EndpointClass.class);
+
+    /**
+     * @param poolSize current number of connections a request can count on
+     */
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           IntSupplier poolSize) {
+        double shares = properties.getPointReadPoolShare() + properties.getListScanPoolShare()
+                + properties.getWritePoolShare();
+        if (shares > 1.0 + 1e-9) {
+            throw new IllegalArgumentException("Pool shares of the endpoint classes add up to " + shares
+                    + ", more connections than the pool has");
+        }
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.overflowBucket = new TokenBucket(properties.getBurst(), properties.getRequestsPerSecond(), System.nanoTime());
+        concurrencyLimits.put(EndpointClass.POINT_READ, poolShare(poolSize, properties.getPointReadPoolShare()));
+        concurrencyLimits.put(EndpointClass.LIST_SCAN, poolShare(poolSize, properties.getListScanPoolShare()));
+        concurrencyLimits.put(EndpointClass.WRITE, poolShare(poolSize, properties.getWritePoolShare()));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rateLimitedCounters.put(endpointClass, rejectedCounter(meterRegistry, endpointClass, "rate_limited"));
+            shedCounters.put(endpointClass, rejectedCounter(meterRegistry, endpointClass, "shed"));
+        }
+        Gauge.builder("developer.requests.rate_limit.clients", buckets, Map::size)
+                .description("Clients with a token bucket of their own")
+                .register(meterRegistry);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("rate-limit-sweep")
+                .daemon()
+                .factory());
+        long interval = properties.getIdleSweepInterval().toNanos();
+        sweeper.scheduleWithFixedDelay(() -> evictIdle(System.nanoTime()), interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Drops the buckets that refilled completely, which makes room for new clients.
+     */
+    public void evictIdle(long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos));
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(clientKey(request), now);
+
+        if (!bucket.tryAcquire(now)) {
+            rateLimitedCounters.get(endpointClass).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable(now)));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+            return;
+        }
+
+        ConcurrencyLimit concurrencyLimit = concurrencyLimits.get(endpointClass);
+        if (!concurrencyLimit.tryAcquire()) {
+            shedCounters.get(endpointClass).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded, retry later");
+            return;
+        }
+        Runnable release = releaseOnce(concurrencyLimit);
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // streaming bodies are written after this returns, the slot is held until they finish
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release.run();
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        return Objects.requireNonNullElseGet(request.getHeader(properties.getApiKeyHeader()),
+                () -> "ip:" + request.getRemoteAddr());
+    }
+
+    private TokenBucket bucketFor(String clientKey, long now) {
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxClients()) {
+            return overflowBucket;
+        }
+        return buckets.computeIfAbsent(clientKey,
+                key -> new TokenBucket(properties.getBurst(), properties.getRequestsPerSecond(), now));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorDto.builder()
+                .status(status.value())
+                .message(message)
+                .build());
+    }
+
+    private static ConcurrencyLimit poolShare(IntSupplier poolSize, double share) {
+        return new ConcurrencyLimit(() -> Math.max(1, (int) (poolSize.getAsInt() * share)));
+    }
+
+    private static Runnable releaseOnce(ConcurrencyLimit concurrencyLimit) {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimit.release();
+            }
+        };
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, EndpointClass endpointClass, String reason) {
+        return Counter.builder("developer.requests.rejected")
+                .description("Requests rejected before reaching the controller")
+                .tag("endpoint", endpointClass.name().toLowerCase(Locale.ROOT))
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
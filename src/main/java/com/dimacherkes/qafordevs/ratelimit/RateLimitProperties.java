@@ -0,0 +1,38 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private String apiKeyHeader = "X-API-Key";
+    /**
+     * Requests a client may send in a burst.
+     */
+    private int burst = 200;
+    /**
+     * Sustained requests per second per client.
+     */
+    private int requestsPerSecond = 100;
+    /**
+     * Clients with a bucket of their own. Further clients share one overflow bucket until the sweep
+     * evicted idle buckets.
+     */
+    private int maxClients = 100_000;
+    /**
+     * How often buckets that refilled completely are evicted.
+     */
+    private Duration idleSweepInterval = Duration.ofSeconds(30);
+    /**
+     * Shares of the connection pool each endpoint class may keep busy with concurrent requests. They
+     * add up to at most 1, so together the classes never run more requests than the pool has connections.
+     */
+    private double pointReadPoolShare = 0.5;
+    private double listScanPoolShare = 0.2;
+    private double writePoolShare = 0.3;
+}
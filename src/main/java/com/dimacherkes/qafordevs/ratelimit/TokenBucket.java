@@ -0,0 +1,47 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: instead of a token count the bucket keeps the
+ * theoretical arrival time of the next request, so acquiring is a single CAS on one long.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(int burst, int requestsPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = 1_000_000_000L / requestsPerSecond;
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            if (next - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until the next request would be accepted.
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        return Math.max(0, theoreticalArrivalTime.get() + emissionIntervalNanos - burstToleranceNanos - nowNanos);
+    }
+
+    /**
+     * A bucket that refilled completely carries no state worth keeping.
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,7 @@
+package com.dimacherkes.qafordevs.repository;
+
+import com.dimacherkes.qafordevs.entity.DeveloperImportEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DeveloperImportRepository extends JpaRepository<DeveloperImportEntity, String> {
+}
@@ -0,0 +1,34 @@
+package com.dimacherkes.qafordevs.repository;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperField;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads that select only the requested columns, by fixed criteria or by specification. The returned
+ * developers are detached, carry only the selected fields and must not be saved back.
+ */
+public interface DeveloperProjectionRepository {
+
+    DeveloperEntity findProjectedById(Integer id, Set<DeveloperField> fields);
+
+    List<DeveloperEntity> findAllActiveProjected(Set<DeveloperField> fields);
+
+    List<DeveloperEntity> findAllActiveBySpecialtyProjected(String specialty, Set<DeveloperField> fields);
+
+    /**
+     * Developers matching the specification in id order.
+     */
+    List<DeveloperEntity> findAllMatching(Specification<DeveloperEntity> specification, Set<DeveloperField> fields,
+                                          Limit limit);
+
+    /**
+     * Number of matching developers, counting no further than {@code cap}.
+     */
+    long countMatching(Specification<DeveloperEntity> specification, long cap);
+
+}
@@ -0,0 +1,109 @@
+package com.dimacherkes.qafordevs.repository;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperField;
+import com.dimacherkes.qafordevs.entity.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds a criteria multiselect over the requested properties only, so neither the database nor
+ * the persistence context handles columns nobody asked for. The specialty lookup shares the
+ * query cache region of its full counterpart.
+ */
+public class DeveloperProjectionRepositoryImpl implements DeveloperProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public DeveloperEntity findProjectedById(Integer id, Set<DeveloperField> fields) {
+        List<DeveloperEntity> found = select(fields, (root, query, builder) -> builder.equal(root.get("id"), id),
+                null, null);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public List<DeveloperEntity> findAllActiveProjected(Set<DeveloperField> fields) {
+        return select(fields, (root, query, builder) -> builder.equal(root.get("status"), Status.ACTIVE), null, null);
+    }
+
+    @Override
+    public List<DeveloperEntity> findAllActiveBySpecialtyProjected(String specialty, Set<DeveloperField> fields) {
+        return select(fields, (root, query, builder) -> builder.and(
+                builder.equal(root.get("status"), Status.ACTIVE),
+                builder.equal(root.get("specialty"), specialty)), null, DeveloperRepository.BY_SPECIALTY_CACHE_REGION);
+    }
+
+    @Override
+    public List<DeveloperEntity> findAllMatching(Specification<DeveloperEntity> specification,
+                                                 Set<DeveloperField> fields, Limit limit) {
+        return select(fields, specification, limit, null);
+    }
+
+    @Override
+    public long countMatching(Specification<DeveloperEntity> specification, long cap) {
+        // fetching at most cap ids keeps the cost bounded where count(*) would visit every match
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = builder.createQuery(Integer.class);
+        Root<DeveloperEntity> root = query.from(DeveloperEntity.class);
+        query.select(root.get("id"));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults((int) Math.min(cap, Integer.MAX_VALUE))
+                .getResultList()
+                .size();
+    }
+
+    private List<DeveloperEntity> select(Set<DeveloperField> fields, Specification<DeveloperEntity> specification,
+                                         Limit limit, String cacheRegion) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<DeveloperEntity> root = query.from(DeveloperEntity.class);
+        List<DeveloperField> selected = List.copyOf(fields);
+        query.multiselect(selected.stream()
+                        .<Selection<?>>map(field -> root.get(field.getProperty()))
+                        .toList())
+                .orderBy(builder.asc(root.get("id")));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit != null && limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        if (cacheRegion != null) {
+            typedQuery.setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .setHint(HibernateHints.HINT_CACHE_REGION, cacheRegion);
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+        List<DeveloperEntity> developers = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            DeveloperEntity developer = new DeveloperEntity();
+            for (int i = 0; i < selected.size(); i++) {
+                selected.get(i).set(developer, row.get(i));
+            }
+            developers.add(developer);
+        }
+        return developers;
+    }
+}
@@ -1,16 +1,62 @@
 package com.dimacherkes.qafordevs.repository;
 
 import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
-public interface DeveloperRepository extends JpaRepository<DeveloperEntity, Integer> {
+public interface DeveloperRepository extends JpaRepository<DeveloperEntity, Integer>, DeveloperProjectionRepository {
 
+    /**
+     * Query cache regions. Their keys do not include the shard, so the sharded profile turns the
+     * query cache off.
+     */
+    String BY_EMAIL_CACHE_REGION = "developers.byEmail";
+    String BY_SPECIALTY_CACHE_REGION = "developers.bySpecialty";
+
+    /**
+     * Matches regardless of case and surrounding whitespace, through the unique email key index.
+     */
+    @Query("SELECT d FROM DeveloperEntity d WHERE d.emailKey = lower(trim(?1))")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_EMAIL_CACHE_REGION)
+    })
     DeveloperEntity findByEmail(String email);
 
+    /**
+     * @param emailKeys emails normalized with {@link DeveloperEntity#emailKey(String)}
+     */
+    List<DeveloperEntity> findAllByEmailKeyIn(Collection<String> emailKeys);
+
     @Query("SELECT d FROM DeveloperEntity d WHERE d.status = 'ACTIVE' AND d.specialty = ?1")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_SPECIALTY_CACHE_REGION)
+    })
     List<DeveloperEntity> findAllActiveBySpecialty(String specialty);
 
+    @Query("SELECT d FROM DeveloperEntity d WHERE d.status = 'ACTIVE' AND d.specialty = ?1 ORDER BY d.id")
+    List<DeveloperEntity> findAllActiveBySpecialty(String specialty, Limit limit);
+
+    @Query("SELECT d FROM DeveloperEntity d WHERE d.status = 'ACTIVE' AND d.id > ?1 ORDER BY d.id")
+    List<DeveloperEntity> findAllActiveAfterId(Integer afterId, Limit limit);
+
+    long countByStatus(Status status);
+
+    @Query("SELECT d FROM DeveloperEntity d WHERE d.updatedAt > ?1 OR (d.updatedAt = ?1 AND d.id > ?2)"
+            + " ORDER BY d.updatedAt, d.id")
+    List<DeveloperEntity> findAllUpdatedAfter(Instant updatedAt, Integer afterId, Limit limit);
+
+    @Query("SELECT d.id FROM DeveloperEntity d WHERE d.id > ?1 ORDER BY d.id")
+    List<Integer> findAllIdsAfterId(Integer afterId, Limit limit);
+
 }
@@ -0,0 +1,53 @@
+package com.dimacherkes.qafordevs.repository;
+
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.entity.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface JobRepository extends JpaRepository<JobEntity, String> {
+
+    List<JobEntity> findAllByOwnerAndStatusIn(String owner, Collection<JobStatus> statuses);
+
+    List<JobEntity> findAllByOwnerAndCancelRequestedTrueAndStatusIn(String owner, Collection<JobStatus> statuses);
+
+    List<JobEntity> findAllByStatusInAndHeartbeatAtBefore(Collection<JobStatus> statuses, Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.heartbeatAt = ?2 WHERE j.owner = ?1 AND j.status IN ?3")
+    int touchHeartbeats(String owner, Instant heartbeatAt, Collection<JobStatus> statuses);
+
+    /*
+     * Jobs are written field by field and only while they are in the expected status, never by saving
+     * a loaded copy: heartbeats, cancellations and stale sweeps of other instances change the same row.
+     */
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = ?2, j.startedAt = ?3, j.updatedAt = ?3 WHERE j.id = ?1 AND j.status = ?4")
+    int start(String id, JobStatus status, Instant startedAt, JobStatus expectedStatus);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.processed = ?2, j.total = ?3, j.updatedAt = ?4 WHERE j.id = ?1 AND j.status IN ?5")
+    int updateProgress(String id, long processed, Long total, Instant updatedAt, Collection<JobStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.cancelRequested = true, j.updatedAt = ?2 WHERE j.id = ?1 AND j.status IN ?3")
+    int requestCancel(String id, Instant updatedAt, Collection<JobStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = ?2, j.result = ?3, j.error = ?4, j.finishedAt = ?5, j.updatedAt = ?5 "
+            + "WHERE j.id = ?1 AND j.status IN ?6")
+    int finish(String id, JobStatus status, String result, String error, Instant finishedAt,
+               Collection<JobStatus> statuses);
+}
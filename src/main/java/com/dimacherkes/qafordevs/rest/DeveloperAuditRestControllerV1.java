@@ -0,0 +1,44 @@
+package com.dimacherkes.qafordevs.rest;
+
+import com.dimacherkes.qafordevs.dto.DeveloperAuditDto;
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.dimacherkes.qafordevs.service.DeveloperAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@RequestMapping("/api/v1/developers/audit")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "qafordevs.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeveloperAuditRestControllerV1 {
+
+    private final DeveloperAuditService auditService;
+
+    @GetMapping
+    public ResponseEntity<?> getHistory(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                        @RequestParam(value = "developerId", required = false) Integer developerId,
+                                        @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            List<DeveloperAuditDto> history = auditService.getHistory(from, to, developerId, limit)
+                    .stream()
+                    .map(DeveloperAuditDto::fromEntry)
+                    .toList();
+            return ok(history);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ErrorDto.builder()
+                            .status(400)
+                            .message(e.getMessage())
+                            .build());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.dimacherkes.qafordevs.rest;
+
+import com.dimacherkes.qafordevs.dto.DeveloperImportDto;
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.dimacherkes.qafordevs.entity.DeveloperImportEntity;
+import com.dimacherkes.qafordevs.entity.ImportStatus;
+import com.dimacherkes.qafordevs.exception.DeveloperImportNotFoundException;
+import com.dimacherkes.qafordevs.exception.InvalidImportFileException;
+import com.dimacherkes.qafordevs.importer.ImportFormat;
+import com.dimacherkes.qafordevs.service.DeveloperImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@RequestMapping("/api/v1/developers/import")
+@RequiredArgsConstructor
+public class DeveloperImportRestControllerV1 {
+
+    private final DeveloperImportService importService;
+
+    /**
+     * Reads the request body as a stream, so the upload is never buffered as a whole.
+     * A CSV file without a usable header answers 400 before anything is recorded. A failed import answers 500
+     * with its progress; repeat the upload with its id as {@code importId} to resume.
+     */
+    @PostMapping(consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importDevelopers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                              @RequestParam(value = "importId", required = false) String importId,
+                                              InputStream body) {
+        try {
+            DeveloperImportEntity result = importService.importDevelopers(importId, body, ImportFormat.fromContentType(contentType));
+            DeveloperImportDto dto = DeveloperImportDto.fromEntity(result);
+            return result.getStatus() == ImportStatus.FAILED
+                    ? ResponseEntity.internalServerError().body(dto)
+                    : ok(dto);
+        } catch (DeveloperImportNotFoundException e) {
+            return ResponseEntity
+                    .status(404)
+                    .body(ErrorDto.builder()
+                            .status(404)
+                            .message(e.getMessage())
+                            .build());
+        } catch (InvalidImportFileException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ErrorDto.builder()
+                            .status(400)
+                            .message(e.getMessage())
+                            .build());
+        }
+    }
+
+    @GetMapping("/{importId}")
+    public ResponseEntity<?> getImport(@PathVariable("importId") String importId) {
+        try {
+            return ok(DeveloperImportDto.fromEntity(importService.getImport(importId)));
+        } catch (DeveloperImportNotFoundException e) {
+            return ResponseEntity
+                    .status(404)
+                    .body(ErrorDto.builder()
+                            .status(404)
+                            .message(e.getMessage())
+                            .build());
+        }
+    }
+}
@@ -1,15 +1,41 @@
 package com.dimacherkes.qafordevs.rest;
 
+import com.dimacherkes.qafordevs.codec.DeveloperMediaTypes;
+import com.dimacherkes.qafordevs.codec.DeveloperObjectMappers;
 import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.dto.DeveloperPageDto;
 import com.dimacherkes.qafordevs.dto.ErrorDto;
 import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperField;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.exception.CircuitOpenException;
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+import com.dimacherkes.qafordevs.exception.DeveloperEmailShardChangeException;
 import com.dimacherkes.qafordevs.exception.DeveloperNotFoundException;
+import com.dimacherkes.qafordevs.exception.DeveloperWithDuplicateEmailException;
+import com.dimacherkes.qafordevs.exception.InvalidDeveloperFieldException;
+import com.dimacherkes.qafordevs.exception.InvalidDeveloperFilterException;
+import com.dimacherkes.qafordevs.filter.DeveloperFilter;
+import com.dimacherkes.qafordevs.filter.DeveloperPage;
+import com.dimacherkes.qafordevs.service.DeveloperSearchService;
 import com.dimacherkes.qafordevs.service.DeveloperService;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.springframework.http.ResponseEntity.ok;
 
@@ -18,7 +44,11 @@ import static org.springframework.http.ResponseEntity.ok;
 @RequiredArgsConstructor
 public class DeveloperRestControllerV1 {
 
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final DeveloperService developerService;
+    private final DeveloperSearchService developerSearchService;
+    private final DeveloperObjectMappers developerObjectMappers;
 
     @PostMapping
     public ResponseEntity<?> createDeveloper(@RequestBody DeveloperDto dto) {
@@ -27,6 +57,9 @@ public class DeveloperRestControllerV1 {
             DeveloperEntity createdDeveloper = developerService.saveDeveloper(entity);
             DeveloperDto result = DeveloperDto.fromEntity(createdDeveloper);
             return ok(result);
+        } catch (DeadlineExceededException | CircuitOpenException e) {
+            // answered with 503 by the deadline filter and the circuit breaker advice, not a client error
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ErrorDto.builder()
@@ -43,21 +76,33 @@ public class DeveloperRestControllerV1 {
             DeveloperEntity updatedEntity = developerService.updateDeveloper(entity);
             DeveloperDto result = DeveloperDto.fromEntity(updatedEntity);
             return ok(result);
-        } catch (DeveloperNotFoundException e) {
+        } catch (DeveloperNotFoundException | DeveloperWithDuplicateEmailException e) {
             return ResponseEntity.badRequest()
                     .body(ErrorDto.builder()
                             .status(400)
                             .message(e.getMessage())
                             .build());
+        } catch (DeveloperEmailShardChangeException e) {
+            return ResponseEntity
+                    .status(409)
+                    .body(ErrorDto.builder()
+                            .status(409)
+                            .message(e.getMessage())
+                            .build());
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getDeveloperById(@PathVariable("id") Integer id) {
+    public ResponseEntity<?> getDeveloperById(@PathVariable("id") Integer id,
+                                              @RequestParam(value = "fields", required = false) String fields) {
         try {
-            DeveloperEntity entity = developerService.getDeveloperById(id);
+            DeveloperEntity entity = Objects.isNull(fields)
+                    ? developerService.getDeveloperById(id)
+                    : developerService.getDeveloperById(id, DeveloperField.parse(fields));
             DeveloperDto result = DeveloperDto.fromEntity(entity);
             return ok(result);
+        } catch (InvalidDeveloperFieldException e) {
+            return badRequest(e);
         } catch (DeveloperNotFoundException e) {
             return ResponseEntity
                     .status(404)
@@ -68,24 +113,81 @@ public class DeveloperRestControllerV1 {
         }
     }
 
+    /**
+     * Lists all active developers, or one page of a filtered listing as soon as any filter
+     * parameter is given.
+     */
     @GetMapping()
-    public ResponseEntity<?> getAllDevelopers() {
-        List<DeveloperEntity> allDevelopers = developerService.getAllDevelopers();
-        List<DeveloperDto> result = allDevelopers.stream()
-                .map(DeveloperDto::fromEntity)
-                .toList();
-        return ok(result);
+    public ResponseEntity<?> getAllDevelopers(@RequestParam(value = "fields", required = false) String fields,
+                                              @RequestParam(value = "status", required = false) List<String> statuses,
+                                              @RequestParam(value = "specialty", required = false) List<String> specialties,
+                                              @RequestParam(value = "lastNamePrefix", required = false) String lastNamePrefix,
+                                              @RequestParam(value = "idFrom", required = false) Integer idFrom,
+                                              @RequestParam(value = "idTo", required = false) Integer idTo,
+                                              @RequestParam(value = "afterId", required = false) Integer afterId,
+                                              @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            if (Stream.of(statuses, specialties, lastNamePrefix, idFrom, idTo, afterId, limit).anyMatch(Objects::nonNull)) {
+                DeveloperFilter filter = new DeveloperFilter(parseStatuses(statuses),
+                        Objects.isNull(specialties) ? null : Set.copyOf(specialties),
+                        lastNamePrefix, idFrom, idTo, afterId, limit);
+                DeveloperPage page = developerSearchService.findDevelopers(filter, DeveloperField.parse(fields));
+                return ok(DeveloperPageDto.fromPage(page));
+            }
+            List<DeveloperEntity> allDevelopers = Objects.isNull(fields)
+                    ? developerService.getAllDevelopers()
+                    : developerService.getAllDevelopers(DeveloperField.parse(fields));
+            List<DeveloperDto> result = allDevelopers.stream()
+                    .map(DeveloperDto::fromEntity)
+                    .toList();
+            return ok(result);
+        } catch (InvalidDeveloperFieldException | InvalidDeveloperFilterException e) {
+            return badRequest(e);
+        }
     }
 
     @GetMapping("/specialty/{specialty}")
-    public ResponseEntity<?> getAllDevelopersBySpecialty(@PathVariable("specialty") String specialty) {
-        List<DeveloperEntity> entities = developerService.getAllActiveBySpecialty(specialty);
+    public ResponseEntity<?> getAllDevelopersBySpecialty(@PathVariable("specialty") String specialty,
+                                                         @RequestParam(value = "fields", required = false) String fields) {
+        List<DeveloperEntity> entities;
+        try {
+            entities = Objects.isNull(fields)
+                    ? developerService.getAllActiveBySpecialty(specialty)
+                    : developerService.getAllActiveBySpecialty(specialty, DeveloperField.parse(fields));
+        } catch (InvalidDeveloperFieldException e) {
+            return badRequest(e);
+        }
         List<DeveloperDto> result = entities.stream()
                 .map(DeveloperDto::fromEntity)
                 .toList();
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamActiveDevelopers(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType mediaType = DeveloperMediaTypes.negotiateStream(accept);
+        ObjectWriter writer = developerObjectMappers.forMediaType(mediaType).writerFor(DeveloperDto.class);
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+            writer = writer.withRootValueSeparator("\n");
+        }
+        ObjectWriter streamWriter = writer;
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter sequenceWriter = streamWriter.writeValues(outputStream)) {
+                developerService.forEachActiveDeveloper(STREAM_BATCH_SIZE, developer -> {
+                    try {
+                        sequenceWriter.write(DeveloperDto.fromEntity(developer));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteDeveloperById(@PathVariable("id") int id, @RequestParam(value = "isHard", defaultValue = "false") boolean isHard) {
         try {
@@ -104,5 +206,27 @@ public class DeveloperRestControllerV1 {
         }
     }
 
+    private static Set<Status> parseStatuses(List<String> statuses) {
+        if (Objects.isNull(statuses)) {
+            return null;
+        }
+        Set<Status> parsed = EnumSet.noneOf(Status.class);
+        for (String status : statuses) {
+            try {
+                parsed.add(Status.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidDeveloperFilterException("Unknown status '" + status + "', expected one of "
+                        + EnumSet.allOf(Status.class));
+            }
+        }
+        return parsed;
+    }
 
+    private static ResponseEntity<?> badRequest(RuntimeException e) {
+        return ResponseEntity.badRequest()
+                .body(ErrorDto.builder()
+                        .status(400)
+                        .message(e.getMessage())
+                        .build());
+    }
 }
@@ -0,0 +1,122 @@
+package com.dimacherkes.qafordevs.rest;
+
+import com.dimacherkes.qafordevs.dto.ErrorDto;
+import com.dimacherkes.qafordevs.dto.JobDto;
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.exception.InvalidImportFileException;
+import com.dimacherkes.qafordevs.exception.JobNotFoundException;
+import com.dimacherkes.qafordevs.exception.JobRejectedException;
+import com.dimacherkes.qafordevs.importer.ImportFormat;
+import com.dimacherkes.qafordevs.service.DeveloperJobService;
+import com.dimacherkes.qafordevs.service.JobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+@RequiredArgsConstructor
+public class JobRestControllerV1 {
+
+    private final JobService jobService;
+    private final DeveloperJobService developerJobService;
+
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> submitImport(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                          InputStream body) throws IOException {
+        try {
+            return accepted(developerJobService.submitImport(body, ImportFormat.fromContentType(contentType)));
+        } catch (JobRejectedException e) {
+            return rejected(e);
+        } catch (InvalidImportFileException e) {
+            return ResponseEntity.badRequest()
+                    .body(ErrorDto.builder()
+                            .status(400)
+                            .message(e.getMessage())
+                            .build());
+        }
+    }
+
+    @PostMapping("/export")
+    public ResponseEntity<?> submitExport() {
+        try {
+            return accepted(developerJobService.submitExport());
+        } catch (JobRejectedException e) {
+            return rejected(e);
+        }
+    }
+
+    @PostMapping("/soft-delete")
+    public ResponseEntity<?> submitSoftDelete(@RequestParam("specialty") String specialty) {
+        try {
+            return accepted(developerJobService.submitSoftDeleteBySpecialty(specialty));
+        } catch (JobRejectedException e) {
+            return rejected(e);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(@PathVariable("id") String id) {
+        try {
+            return ok(JobDto.fromEntity(jobService.getJob(id)));
+        } catch (JobNotFoundException e) {
+            return notFound(e);
+        }
+    }
+
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable("id") String id) {
+        try {
+            Resource export = new FileSystemResource(developerJobService.getExportResult(id));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(export);
+        } catch (JobNotFoundException e) {
+            return notFound(e);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancelJob(@PathVariable("id") String id) {
+        try {
+            return ok(JobDto.fromEntity(jobService.cancel(id)));
+        } catch (JobNotFoundException e) {
+            return notFound(e);
+        }
+    }
+
+    private static ResponseEntity<?> accepted(JobEntity job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/jobs/" + job.getId()))
+                .body(JobDto.fromEntity(job));
+    }
+
+    private static ResponseEntity<?> rejected(JobRejectedException e) {
+        return ResponseEntity
+                .status(503)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ErrorDto.builder()
+                        .status(503)
+                        .message(e.getMessage())
+                        .build());
+    }
+
+    private static ResponseEntity<?> notFound(JobNotFoundException e) {
+        return ResponseEntity
+                .status(404)
+                .body(ErrorDto.builder()
+                        .status(404)
+                        .message(e.getMessage())
+                        .build());
+    }
+}
@@ -0,0 +1,206 @@
+package com.dimacherkes.qafordevs.roster;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.dimacherkes.qafordevs.event.DeveloperBatchChangedEvent;
+import com.dimacherkes.qafordevs.event.DeveloperCacheEvictionEvent;
+import com.dimacherkes.qafordevs.event.DeveloperChangedEvent;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fills the roster with the active developers once the application is up, from the snapshot file plus a catch-up on
+ * {@code updated_at} when one is available and from the repository in id order otherwise, and keeps
+ * it in step with local and remote writes. Changes arriving during a load are remembered and re-read
+ * afterwards, so a row copied before its update can not survive the load.
+ */
+@Slf4j
+public class DeveloperRosterMaintainer {
+
+    private final OffHeapDeveloperRoster roster;
+    private final DeveloperRepository developerRepository;
+    private final RosterProperties properties;
+    private final Set<Integer> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+
+    public DeveloperRosterMaintainer(OffHeapDeveloperRoster roster, DeveloperRepository developerRepository,
+                                     RosterProperties properties) {
+        this.roster = roster;
+        this.developerRepository = developerRepository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual()
+                .name("developer-roster-loader")
+                .start(this::load);
+    }
+
+    public synchronized void load() {
+        long started = System.nanoTime();
+        loading = true;
+        changedDuringLoad.clear();
+        roster.clear(properties.getInitialCapacity());
+        String source;
+        try {
+            Optional<Instant> watermark = readSnapshot();
+            if (watermark.isPresent()) {
+                catchUp(watermark.get().minus(properties.getSnapshot().getCatchUpOverlap()));
+                removeHardDeleted();
+                source = "snapshot";
+            } else {
+                loadAll();
+                source = "database";
+            }
+        } catch (RuntimeException e) {
+            loading = false;
+            log.error("Developer roster load failed, reads stay on the database", e);
+            return;
+        }
+        loading = false;
+        changedDuringLoad.forEach(this::refresh);
+        changedDuringLoad.clear();
+        roster.markReady();
+        log.info("Developer roster loaded {} developers from {} into {} off-heap bytes in {} ms", roster.size(),
+                source, roster.offHeapBytes(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        if (loading) {
+            changedDuringLoad.add(event.developerId());
+        } else if (event.type() == ChangeType.HARD_DELETED) {
+            roster.remove(event.developerId());
+        } else {
+            refresh(event.developerId());
+        }
+    }
+
+    /**
+     * A batch is re-read with a single query instead of one per row.
+     */
+    @EventListener
+    public void onDevelopersChanged(DeveloperBatchChangedEvent event) {
+        if (loading) {
+            changedDuringLoad.addAll(event.developerIds());
+        } else if (event.type() == ChangeType.HARD_DELETED) {
+            event.developerIds().forEach(roster::remove);
+        } else {
+            refreshAll(event.developerIds());
+        }
+    }
+
+    @EventListener
+    public void onRemoteEviction(DeveloperCacheEvictionEvent event) {
+        if (event.all()) {
+            loadInBackground();
+        } else if (loading) {
+            changedDuringLoad.addAll(event.ids());
+        } else {
+            refreshAll(event.ids());
+        }
+    }
+
+    private Optional<Instant> readSnapshot() {
+        if (!properties.getSnapshot().isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            return RosterSnapshotFile.read(properties.getSnapshot().getPath(), roster);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable developer roster snapshot {}", properties.getSnapshot().getPath(), e);
+            roster.clear(properties.getInitialCapacity());
+            return Optional.empty();
+        }
+    }
+
+    private void loadAll() {
+        int batchSize = properties.getLoadBatchSize();
+        int lastId = 0;
+        while (true) {
+            List<DeveloperEntity> batch = developerRepository.findAllActiveAfterId(lastId, Limit.of(batchSize));
+            batch.forEach(roster::upsert);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Re-reads every row written since the watermark, paging on (updated_at, id).
+     */
+    private void catchUp(Instant since) {
+        int batchSize = properties.getLoadBatchSize();
+        Instant lastUpdatedAt = since;
+        int lastId = 0;
+        while (true) {
+            List<DeveloperEntity> batch = developerRepository.findAllUpdatedAfter(lastUpdatedAt, lastId,
+                    Limit.of(batchSize));
+            batch.forEach(roster::upsert);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            DeveloperEntity last = batch.get(batch.size() - 1);
+            lastUpdatedAt = last.getUpdatedAt();
+            lastId = last.getId();
+        }
+    }
+
+    /**
+     * Hard deletes leave no row behind to catch up from. After the catch-up the roster holds every
+     * active id, so equal counts mean nothing was deleted; otherwise live ids are compared one by one.
+     */
+    private void removeHardDeleted() {
+        if (developerRepository.countByStatus(Status.ACTIVE) == roster.size()) {
+            return;
+        }
+        int batchSize = properties.getLoadBatchSize();
+        int[] liveIds = new int[Math.max(16, roster.size())];
+        int liveCount = 0;
+        int lastId = 0;
+        while (true) {
+            List<Integer> batch = developerRepository.findAllIdsAfterId(lastId, Limit.of(batchSize));
+            for (Integer id : batch) {
+                if (liveCount == liveIds.length) {
+                    liveIds = Arrays.copyOf(liveIds, liveCount << 1);
+                }
+                liveIds[liveCount++] = id;
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1);
+        }
+        log.info("Removed {} developers deleted since the roster snapshot", roster.retainAll(liveIds, liveCount));
+    }
+
+    private void refresh(Integer id) {
+        developerRepository.findById(id)
+                .ifPresentOrElse(roster::upsert, () -> roster.remove(id));
+    }
+
+    private void refreshAll(Collection<Integer> ids) {
+        Set<Integer> missing = new HashSet<>(ids);
+        for (DeveloperEntity developer : developerRepository.findAllById(ids)) {
+            roster.upsert(developer);
+            missing.remove(developer.getId());
+        }
+        missing.forEach(roster::remove);
+    }
+}
@@ -0,0 +1,617 @@
+package com.dimacherkes.qafordevs.roster;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.Checksum;
+
+/**
+ * Active developer rows kept outside the Java heap in direct buffers, one column per attribute.
+ * Upserting a developer that is no longer active removes it, so reads of other developers fall
+ * through to the database. Specialty and status are stored as dictionary codes. Names and email
+ * share an append-only text column that is compacted once more than half of it is garbage. Ids are
+ * found through an open-addressing int-to-row index, and the rows of each specialty are listed
+ * next to its dictionary entry, so a lookup allocates nothing until the rows are materialised.
+ * <p>
+ * Direct buffers are used rather than {@code MemorySegment}, which is still a preview API on Java 21.
+ */
+public class OffHeapDeveloperRoster {
+
+    private static final int FREE = 0;
+    private static final int TOMBSTONE = -1;
+    private static final int NULL_STRING = 0xFFFF;
+    private static final Status[] STATUSES = Status.values();
+    private static final byte ACTIVE = (byte) Status.ACTIVE.ordinal();
+    private static final int INITIAL_TEXT_BYTES_PER_ROW = 64;
+    private static final long COMPACTION_THRESHOLD_BYTES = 1 << 20;
+    private static final int SNAPSHOT_CHUNK_BYTES = 1 << 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> specialtyDictionary = new ArrayList<>();
+    private final Map<String, Short> specialtyCodes = new HashMap<>();
+    // specialty code -> rows holding it, and each row's position in that list for constant time removal
+    private int[][] specialtyRows = new int[0][];
+    private int[] specialtyRowCounts = new int[0];
+
+    // row columns
+    private IntBuffer ids;
+    private ShortBuffer specialties;
+    private ByteBuffer statuses;
+    private IntBuffer textOffsets;
+    private IntBuffer textLengths;
+    private IntBuffer specialtyPositions;
+    private ByteBuffer text;
+    private int rowCapacity;
+    private int rowCount;
+    private int size;
+    private int[] freeRows = new int[16];
+    private int freeRowCount;
+    private int textEnd;
+    private long textGarbage;
+
+    // id -> row index
+    private IntBuffer indexKeys;
+    private IntBuffer indexRows;
+    private int indexUsed;
+
+    private volatile boolean ready;
+
+    public OffHeapDeveloperRoster(int initialCapacity) {
+        clear(initialCapacity);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public void clear(int initialCapacity) {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rowCapacity = Math.max(16, initialCapacity);
+            ids = ByteBuffer.allocateDirect(columnBytes(rowCapacity, Integer.BYTES)).asIntBuffer();
+            specialties = ByteBuffer.allocateDirect(columnBytes(rowCapacity, Short.BYTES)).asShortBuffer();
+            statuses = ByteBuffer.allocateDirect(rowCapacity);
+            textOffsets = ByteBuffer.allocateDirect(columnBytes(rowCapacity, Integer.BYTES)).asIntBuffer();
+            textLengths = ByteBuffer.allocateDirect(columnBytes(rowCapacity, Integer.BYTES)).asIntBuffer();
+            specialtyPositions = ByteBuffer.allocateDirect(columnBytes(rowCapacity, Integer.BYTES)).asIntBuffer();
+            text = ByteBuffer.allocateDirect(columnBytes(rowCapacity, INITIAL_TEXT_BYTES_PER_ROW));
+            rowCount = 0;
+            size = 0;
+            freeRowCount = 0;
+            textEnd = 0;
+            textGarbage = 0;
+            allocateIndex(indexCapacity(rowCapacity));
+            specialtyDictionary.clear();
+            specialtyCodes.clear();
+            specialtyRows = new int[0][];
+            specialtyRowCounts = new int[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores an active developer, or removes it when it is no longer active.
+     */
+    public void upsert(DeveloperEntity developer) {
+        int id = developer.getId();
+        if (developer.getStatus() != Status.ACTIVE) {
+            remove(id);
+            return;
+        }
+        byte[] encoded = encodeText(developer);
+        lock.writeLock().lock();
+        try {
+            int row = rowFor(id, specialtyCode(developer.getSpecialty()));
+            statuses.put(row, ACTIVE);
+            writeText(row, encoded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeRow(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public DeveloperEntity findById(int id) {
+        lock.readLock().lock();
+        try {
+            int row = findRow(id);
+            return row < 0 ? null : materialise(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<DeveloperEntity> findAllActiveBySpecialty(String specialty) {
+        lock.readLock().lock();
+        try {
+            Short code = specialtyCodes.get(specialty);
+            if (Objects.isNull(code)) {
+                return new ArrayList<>();
+            }
+            int[] rows = specialtyRows[code];
+            int count = specialtyRowCounts[code];
+            List<DeveloperEntity> developers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                developers.add(materialise(rows[i]));
+            }
+            return developers;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes every row as {@code id, status, specialty, text} with the text column copied verbatim,
+     * so a snapshot materialises no developer objects.
+     *
+     * @return number of rows written
+     */
+    public int writeRows(WritableByteChannel channel, Checksum checksum) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(SNAPSHOT_CHUNK_BYTES);
+        lock.readLock().lock();
+        try {
+            byte[][] specialtyBytes = new byte[specialtyDictionary.size()][];
+            for (int code = 0; code < specialtyBytes.length; code++) {
+                specialtyBytes[code] = specialtyDictionary.get(code).getBytes(StandardCharsets.UTF_8);
+            }
+            int written = 0;
+            for (int row = 0; row < rowCount; row++) {
+                int id = ids.get(row);
+                if (id == FREE) {
+                    continue;
+                }
+                short specialty = specialties.get(row);
+                int textLength = textLengths.get(row);
+                byte[] specialtyName = specialty < 0 ? null : specialtyBytes[specialty];
+                int recordLength = Integer.BYTES + 1 + Short.BYTES
+                        + (Objects.isNull(specialtyName) ? 0 : specialtyName.length) + Integer.BYTES + textLength;
+                if (chunk.remaining() < recordLength) {
+                    flush(chunk, channel, checksum);
+                    if (chunk.capacity() < recordLength) {
+                        chunk = ByteBuffer.allocate(recordLength);
+                    }
+                }
+                chunk.putInt(id);
+                chunk.put(statuses.get(row));
+                if (Objects.isNull(specialtyName)) {
+                    chunk.putShort((short) NULL_STRING);
+                } else {
+                    chunk.putShort((short) specialtyName.length);
+                    chunk.put(specialtyName);
+                }
+                chunk.putInt(textLength);
+                chunk.put(chunk.position(), text, textOffsets.get(row), textLength);
+                chunk.position(chunk.position() + textLength);
+                written++;
+            }
+            flush(chunk, channel, checksum);
+            return written;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts rows produced by {@link #writeRows}, reading them straight from the (typically mapped) buffer.
+     * Rows that are not active, which older snapshots may hold, are skipped.
+     */
+    public void readRows(ByteBuffer source, int rows) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < rows; i++) {
+                int id = source.getInt();
+                byte status = source.get();
+                int specialtyLength = Short.toUnsignedInt(source.getShort());
+                String specialty = null;
+                if (specialtyLength != NULL_STRING) {
+                    byte[] name = new byte[specialtyLength];
+                    source.get(name);
+                    specialty = new String(name, StandardCharsets.UTF_8);
+                }
+                int textLength = source.getInt();
+                if (status != ACTIVE) {
+                    removeRow(id);
+                    source.position(source.position() + textLength);
+                    continue;
+                }
+
+                int row = rowFor(id, specialtyCode(specialty));
+                statuses.put(row, status);
+                if (textEnd + textLength > text.capacity()) {
+                    compactText(textLength);
+                }
+                text.put(textEnd, source, source.position(), textLength);
+                source.position(source.position() + textLength);
+                textOffsets.put(row, textEnd);
+                textLengths.put(row, textLength);
+                textEnd += textLength;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every row whose id is not in {@code liveIds}, which must be sorted.
+     */
+    public int retainAll(int[] liveIds, int liveCount) {
+        List<Integer> stale = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rowCount; row++) {
+                int id = ids.get(row);
+                if (id != FREE && Arrays.binarySearch(liveIds, 0, liveCount, id) < 0) {
+                    stale.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        stale.forEach(this::remove);
+        return stale.size();
+    }
+
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) rowCapacity * (Integer.BYTES * 4 + Short.BYTES + 1)
+                    + text.capacity()
+                    + (long) indexKeys.capacity() * Integer.BYTES * 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void flush(ByteBuffer chunk, WritableByteChannel channel, Checksum checksum) throws IOException {
+        chunk.flip();
+        checksum.update(chunk.array(), 0, chunk.limit());
+        while (chunk.hasRemaining()) {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+
+    private DeveloperEntity materialise(int row) {
+        int offset = textOffsets.get(row);
+        String firstName = readString(offset);
+        offset += encodedLength(offset);
+        String lastName = readString(offset);
+        offset += encodedLength(offset);
+        String email = readString(offset);
+        short specialty = specialties.get(row);
+        byte status = statuses.get(row);
+        return DeveloperEntity.builder()
+                .id(ids.get(row))
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .specialty(specialty < 0 ? null : specialtyDictionary.get(specialty))
+                .status(status < 0 ? null : STATUSES[status])
+                .build();
+    }
+
+    /**
+     * Row of the id with the specialty set, allocated when the id is new. The text of a reused row
+     * becomes garbage, the caller writes the new text.
+     */
+    private int rowFor(int id, short specialty) {
+        int row = findRow(id);
+        if (row < 0) {
+            row = allocateRow();
+            indexPut(id, row);
+            ids.put(row, id);
+            size++;
+        } else {
+            textGarbage += textLengths.get(row);
+            if (specialties.get(row) == specialty) {
+                return row;
+            }
+            unlinkSpecialty(row);
+        }
+        specialties.put(row, specialty);
+        linkSpecialty(row, specialty);
+        return row;
+    }
+
+    private void removeRow(int id) {
+        int slot = findSlot(id);
+        if (indexKeys.get(slot) != id) {
+            return;
+        }
+        int row = indexRows.get(slot);
+        indexKeys.put(slot, TOMBSTONE);
+        unlinkSpecialty(row);
+        ids.put(row, FREE);
+        textGarbage += textLengths.get(row);
+        textLengths.put(row, 0);
+        if (freeRowCount == freeRows.length) {
+            int[] grown = new int[freeRows.length << 1];
+            System.arraycopy(freeRows, 0, grown, 0, freeRowCount);
+            freeRows = grown;
+        }
+        freeRows[freeRowCount++] = row;
+        size--;
+    }
+
+    private void linkSpecialty(int row, short specialty) {
+        if (specialty < 0) {
+            return;
+        }
+        int count = specialtyRowCounts[specialty];
+        if (count == specialtyRows[specialty].length) {
+            specialtyRows[specialty] = Arrays.copyOf(specialtyRows[specialty], Math.max(16, count << 1));
+        }
+        specialtyRows[specialty][count] = row;
+        specialtyPositions.put(row, count);
+        specialtyRowCounts[specialty] = count + 1;
+    }
+
+    /**
+     * Moves the last row of the specialty into the position of the removed one.
+     */
+    private void unlinkSpecialty(int row) {
+        short specialty = specialties.get(row);
+        if (specialty < 0) {
+            return;
+        }
+        int[] rows = specialtyRows[specialty];
+        int position = specialtyPositions.get(row);
+        int last = --specialtyRowCounts[specialty];
+        rows[position] = rows[last];
+        specialtyPositions.put(rows[position], position);
+        specialties.put(row, (short) -1);
+    }
+
+    private int allocateRow() {
+        if (freeRowCount > 0) {
+            return freeRows[--freeRowCount];
+        }
+        if (rowCount == rowCapacity) {
+            growRows();
+        }
+        return rowCount++;
+    }
+
+    private void growRows() {
+        int capacity = Math.multiplyExact(rowCapacity, 2);
+        ids = copy(ids, ByteBuffer.allocateDirect(columnBytes(capacity, Integer.BYTES)).asIntBuffer());
+        textOffsets = copy(textOffsets, ByteBuffer.allocateDirect(columnBytes(capacity, Integer.BYTES)).asIntBuffer());
+        textLengths = copy(textLengths, ByteBuffer.allocateDirect(columnBytes(capacity, Integer.BYTES)).asIntBuffer());
+        specialtyPositions = copy(specialtyPositions,
+                ByteBuffer.allocateDirect(columnBytes(capacity, Integer.BYTES)).asIntBuffer());
+        ShortBuffer grownSpecialties = ByteBuffer.allocateDirect(columnBytes(capacity, Short.BYTES)).asShortBuffer();
+        grownSpecialties.put(0, specialties, 0, rowCapacity);
+        specialties = grownSpecialties;
+        ByteBuffer grownStatuses = ByteBuffer.allocateDirect(capacity);
+        grownStatuses.put(0, statuses, 0, rowCapacity);
+        statuses = grownStatuses;
+        rowCapacity = capacity;
+    }
+
+    private static IntBuffer copy(IntBuffer from, IntBuffer to) {
+        to.put(0, from, 0, from.capacity());
+        return to;
+    }
+
+    /**
+     * Size of a column of {@code rows} values of {@code width} bytes, which a direct buffer must be able to hold.
+     */
+    private static int columnBytes(int rows, int width) {
+        long bytes = Math.multiplyExact((long) rows, width);
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Roster column of " + rows + " rows exceeds 2 GB");
+        }
+        return (int) bytes;
+    }
+
+    /**
+     * Power of two at least twice the row count, which keeps the index at most half full.
+     */
+    private static int indexCapacity(int rows) {
+        long capacity = Long.highestOneBit(Math.max(16, rows)) << 2;
+        if (Math.multiplyExact(capacity, Integer.BYTES) > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Roster index for " + rows + " rows exceeds 2 GB");
+        }
+        return (int) capacity;
+    }
+
+    private short specialtyCode(String specialty) {
+        if (Objects.isNull(specialty)) {
+            return -1;
+        }
+        Short code = specialtyCodes.get(specialty);
+        if (Objects.isNull(code)) {
+            if (specialtyDictionary.size() == Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct specialties for the roster dictionary");
+            }
+            code = (short) specialtyDictionary.size();
+            specialtyDictionary.add(specialty);
+            specialtyCodes.put(specialty, code);
+            specialtyRows = Arrays.copyOf(specialtyRows, code + 1);
+            specialtyRows[code] = new int[16];
+            specialtyRowCounts = Arrays.copyOf(specialtyRowCounts, code + 1);
+        }
+        return code;
+    }
+
+    // text column: first name, last name and email, each as an unsigned short length followed by UTF-8 bytes
+
+    private static byte[] encodeText(DeveloperEntity developer) {
+        byte[][] parts = {
+                encode(developer.getFirstName()), encode(developer.getLastName()), encode(developer.getEmail())
+        };
+        int length = 0;
+        for (byte[] part : parts) {
+            length += Short.BYTES + (Objects.isNull(part) ? 0 : part.length);
+        }
+        ByteBuffer encoded = ByteBuffer.allocate(length);
+        for (byte[] part : parts) {
+            if (Objects.isNull(part)) {
+                encoded.putShort((short) NULL_STRING);
+            } else {
+                encoded.putShort((short) part.length);
+                encoded.put(part);
+            }
+        }
+        return encoded.array();
+    }
+
+    private static byte[] encode(String value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("Developer attribute is too long for the roster");
+        }
+        return bytes;
+    }
+
+    private void writeText(int row, byte[] encoded) {
+        if (textEnd + encoded.length > text.capacity()) {
+            compactText(encoded.length);
+        }
+        text.put(textEnd, encoded);
+        textOffsets.put(row, textEnd);
+        textLengths.put(row, encoded.length);
+        textEnd += encoded.length;
+    }
+
+    /**
+     * Copies live rows into a fresh buffer, which also grows it when most of the text is still in use.
+     */
+    private void compactText(int required) {
+        long live = textEnd - textGarbage;
+        long capacity = text.capacity();
+        if (textGarbage < COMPACTION_THRESHOLD_BYTES || textGarbage * 2 < textEnd) {
+            capacity = Math.max(capacity << 1, live + required);
+        }
+        while (capacity < live + required) {
+            capacity <<= 1;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Roster text column exceeds 2 GB");
+        }
+        ByteBuffer compacted = ByteBuffer.allocateDirect((int) capacity);
+        int end = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (ids.get(row) == FREE) {
+                continue;
+            }
+            int length = textLengths.get(row);
+            compacted.put(end, text, textOffsets.get(row), length);
+            textOffsets.put(row, end);
+            end += length;
+        }
+        text = compacted;
+        textEnd = end;
+        textGarbage = 0;
+    }
+
+    private String readString(int offset) {
+        int length = Short.toUnsignedInt(text.getShort(offset));
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        text.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int encodedLength(int offset) {
+        int length = Short.toUnsignedInt(text.getShort(offset));
+        return Short.BYTES + (length == NULL_STRING ? 0 : length);
+    }
+
+    // open-addressing index with linear probing; ids are positive so 0 and -1 mark free and deleted slots
+
+    private void allocateIndex(int capacity) {
+        indexKeys = ByteBuffer.allocateDirect(columnBytes(capacity, Integer.BYTES)).asIntBuffer();
+        indexRows = ByteBuffer.allocateDirect(columnBytes(capacity, Integer.BYTES)).asIntBuffer();
+        indexUsed = 0;
+    }
+
+    private int findRow(int id) {
+        int slot = findSlot(id);
+        return indexKeys.get(slot) == id ? indexRows.get(slot) : -1;
+    }
+
+    /**
+     * @return the slot holding {@code id}, or the free slot ending its probe sequence
+     */
+    private int findSlot(int id) {
+        int mask = indexKeys.capacity() - 1;
+        int slot = mix(id) & mask;
+        while (true) {
+            int key = indexKeys.get(slot);
+            if (key == id || key == FREE) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void indexPut(int id, int row) {
+        if ((indexUsed + 1) * 2 > indexKeys.capacity()) {
+            rehash();
+        }
+        int mask = indexKeys.capacity() - 1;
+        int slot = mix(id) & mask;
+        while (indexKeys.get(slot) != FREE && indexKeys.get(slot) != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (indexKeys.get(slot) == FREE) {
+            indexUsed++;
+        }
+        indexKeys.put(slot, id);
+        indexRows.put(slot, row);
+    }
+
+    private void rehash() {
+        IntBuffer oldKeys = indexKeys;
+        IntBuffer oldRows = indexRows;
+        allocateIndex(indexCapacity(size));
+        for (int slot = 0; slot < oldKeys.capacity(); slot++) {
+            int key = oldKeys.get(slot);
+            if (key != FREE && key != TOMBSTONE) {
+                indexPut(key, oldRows.get(slot));
+            }
+        }
+    }
+
+    private static int mix(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,46 @@
+package com.dimacherkes.qafordevs.roster;
+
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.roster", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RosterProperties.class)
+public class RosterConfiguration {
+
+    @Bean
+    public OffHeapDeveloperRoster offHeapDeveloperRoster(RosterProperties properties) {
+        return new OffHeapDeveloperRoster(properties.getInitialCapacity());
+    }
+
+    @Bean
+    public DeveloperRosterMaintainer developerRosterMaintainer(OffHeapDeveloperRoster roster,
+                                                               DeveloperRepository developerRepository,
+                                                               RosterProperties properties) {
+        return new DeveloperRosterMaintainer(roster, developerRepository, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "qafordevs.roster.snapshot", name = "enabled", havingValue = "true")
+    public RosterSnapshotter rosterSnapshotter(OffHeapDeveloperRoster roster, RosterProperties properties) {
+        return new RosterSnapshotter(roster, properties.getSnapshot());
+    }
+
+    @Bean
+    public MeterBinder developerRosterMetrics(OffHeapDeveloperRoster roster) {
+        return (MeterRegistry registry) -> {
+            Gauge.builder("developer.roster.size", roster, OffHeapDeveloperRoster::size)
+                    .description("Developers held in the off-heap roster")
+                    .register(registry);
+            Gauge.builder("developer.roster.offheap", roster, OffHeapDeveloperRoster::offHeapBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
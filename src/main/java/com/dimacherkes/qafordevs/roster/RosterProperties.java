@@ -0,0 +1,32 @@
+package com.dimacherkes.qafordevs.roster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.roster")
+public class RosterProperties {
+
+    private boolean enabled = false;
+    /**
+     * Rows reserved up front; the store doubles its columns when it runs out.
+     */
+    private int initialCapacity = 1 << 16;
+    private int loadBatchSize = 1000;
+    private Snapshot snapshot = new Snapshot();
+
+    @Data
+    public static class Snapshot {
+        private boolean enabled = false;
+        private Path path = Path.of("data", "developer-roster.snapshot");
+        private Duration interval = Duration.ofMinutes(10);
+        /**
+         * Subtracted from the snapshot watermark before catching up, covering clock skew between
+         * nodes and transactions that committed after the timestamp they wrote.
+         */
+        private Duration catchUpOverlap = Duration.ofMinutes(5);
+    }
+}
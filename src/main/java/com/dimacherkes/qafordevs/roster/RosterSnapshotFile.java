@@ -0,0 +1,91 @@
+package com.dimacherkes.qafordevs.roster;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of the roster: a fixed header followed by the rows written by
+ * {@link OffHeapDeveloperRoster#writeRows}. The header carries a format version, the watermark the
+ * rows are known to be current at and a CRC32C of the payload; a file failing any check is ignored.
+ * <pre>
+ * int magic, int version, long watermark (epoch micros), int rows, long payload length, long crc32c
+ * </pre>
+ */
+public final class RosterSnapshotFile {
+
+    private static final int MAGIC = 0x51445253;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES * 3;
+
+    private RosterSnapshotFile() {
+    }
+
+    public static int write(OffHeapDeveloperRoster roster, Path path, Instant watermark) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_BYTES);
+            CRC32C checksum = new CRC32C();
+            int rows = roster.writeRows(channel, checksum);
+            long payloadLength = channel.position() - HEADER_BYTES;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(ChronoUnit.MICROS.between(Instant.EPOCH, watermark))
+                    .putInt(rows)
+                    .putLong(payloadLength)
+                    .putLong(checksum.getValue())
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the snapshot and loads it into the roster.
+     *
+     * @return the snapshot watermark, or empty when there is no valid snapshot
+     */
+    public static Optional<Instant> read(Path path, OffHeapDeveloperRoster roster) throws IOException {
+        // a single mapping is limited to 2 GB
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_BYTES || Files.size(path) > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+                return Optional.empty();
+            }
+            Instant watermark = Instant.EPOCH.plus(mapped.getLong(), ChronoUnit.MICROS);
+            int rows = mapped.getInt();
+            long payloadLength = mapped.getLong();
+            long expectedChecksum = mapped.getLong();
+            if (payloadLength != channel.size() - HEADER_BYTES) {
+                return Optional.empty();
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(mapped.slice(HEADER_BYTES, (int) payloadLength));
+            if (checksum.getValue() != expectedChecksum) {
+                return Optional.empty();
+            }
+            roster.readRows(mapped.position(HEADER_BYTES), rows);
+            return Optional.of(watermark);
+        }
+    }
+}
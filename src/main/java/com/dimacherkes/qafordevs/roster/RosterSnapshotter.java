@@ -0,0 +1,59 @@
+package com.dimacherkes.qafordevs.roster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the roster to its snapshot file and once more on shutdown, so the next start
+ * only has to catch up on what changed since. The roster's read lock is held while rows are copied,
+ * which delays roster updates but not reads.
+ */
+@Slf4j
+public class RosterSnapshotter implements DisposableBean {
+
+    private final OffHeapDeveloperRoster roster;
+    private final Path path;
+    private final ScheduledExecutorService scheduler;
+
+    public RosterSnapshotter(OffHeapDeveloperRoster roster, RosterProperties.Snapshot properties) {
+        this.roster = roster;
+        this.path = properties.getPath();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("developer-roster-snapshot")
+                .daemon()
+                .factory());
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void snapshot() {
+        if (!roster.isReady()) {
+            return;
+        }
+        long started = System.nanoTime();
+        // taken before copying, everything the roster holds is at least this recent
+        Instant watermark = Instant.now();
+        try {
+            int rows = RosterSnapshotFile.write(roster, path, watermark);
+            log.info("Wrote developer roster snapshot with {} rows to {} in {} ms", rows, path,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write developer roster snapshot to {}", path, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        scheduler.shutdown();
+        if (scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+            snapshot();
+        }
+    }
+}
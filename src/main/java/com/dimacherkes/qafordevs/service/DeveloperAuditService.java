@@ -0,0 +1,18 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.audit.AuditEntry;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface DeveloperAuditService {
+
+    /**
+     * Audit entries changed in {@code [from, to)}, oldest first, optionally for one developer.
+     * Entries are written shortly after their change commits, so the newest changes may be missing.
+     *
+     * @throws IllegalArgumentException when the range is empty or the limit is not positive
+     */
+    List<AuditEntry> getHistory(Instant from, Instant to, Integer developerId, int limit);
+
+}
@@ -0,0 +1,31 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.audit.AuditEntry;
+import com.dimacherkes.qafordevs.audit.DeveloperAuditStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "qafordevs.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeveloperAuditServiceImpl implements DeveloperAuditService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final DeveloperAuditStore developerAuditStore;
+
+    @Override
+    public List<AuditEntry> getHistory(Instant from, Instant to, Integer developerId, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Audit range start must be before its end");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Audit limit must be positive");
+        }
+        return developerAuditStore.findAll(from, to, developerId, Math.min(limit, MAX_LIMIT));
+    }
+}
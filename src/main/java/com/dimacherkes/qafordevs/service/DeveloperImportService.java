@@ -0,0 +1,30 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.DeveloperImportEntity;
+import com.dimacherkes.qafordevs.importer.ImportFormat;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface DeveloperImportService {
+
+    /**
+     * Streams the input into the developers table. Passing the id of an earlier, unfinished import
+     * skips every line that import already committed. A failure is reported through the returned
+     * {@link com.dimacherkes.qafordevs.entity.ImportStatus#FAILED} status rather than thrown.
+     *
+     * @throws com.dimacherkes.qafordevs.exception.InvalidImportFileException if the file cannot be read at
+     *                                                                         all, before any progress is recorded
+     */
+    DeveloperImportEntity importDevelopers(String importId, InputStream input, ImportFormat format);
+
+    /**
+     * Same as {@link #importDevelopers(String, InputStream, ImportFormat)}, calling the listener after every
+     * committed batch. An exception thrown by the listener stops the import as failed and resumable.
+     */
+    DeveloperImportEntity importDevelopers(String importId, InputStream input, ImportFormat format,
+                                           Consumer<DeveloperImportEntity> onBatchCommitted);
+
+    DeveloperImportEntity getImport(String importId);
+
+}
@@ -0,0 +1,238 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperImportEntity;
+import com.dimacherkes.qafordevs.entity.ImportStatus;
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.dimacherkes.qafordevs.event.DeveloperBatchChangedEvent;
+import com.dimacherkes.qafordevs.exception.DeveloperImportNotFoundException;
+import com.dimacherkes.qafordevs.importer.DeveloperImportProperties;
+import com.dimacherkes.qafordevs.importer.DeveloperRowParser;
+import com.dimacherkes.qafordevs.importer.EmailFingerprintSet;
+import com.dimacherkes.qafordevs.importer.ImportFormat;
+import com.dimacherkes.qafordevs.importer.ImportRow;
+import com.dimacherkes.qafordevs.importer.ImportRowValidator;
+import com.dimacherkes.qafordevs.repository.DeveloperImportRepository;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeveloperImportServiceImpl implements DeveloperImportService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ERROR_SAMPLE_LENGTH = 4000;
+
+    private final DeveloperRepository developerRepository;
+    private final DeveloperImportRepository importRepository;
+    private final DeveloperImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private ForkJoinPool validationPool;
+
+    @Override
+    public DeveloperImportEntity importDevelopers(String importId, InputStream input, ImportFormat format) {
+        return importDevelopers(importId, input, format, progress -> {
+        });
+    }
+
+    @Override
+    public DeveloperImportEntity importDevelopers(String importId, InputStream input, ImportFormat format,
+                                                  Consumer<DeveloperImportEntity> onBatchCommitted) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            String header = format == ImportFormat.CSV ? reader.readLine() : null;
+            // checked before any progress is recorded, a file without a usable header is rejected outright
+            DeveloperRowParser parser = DeveloperRowParser.forFormat(format, header, objectMapper);
+            DeveloperImportEntity progress = startOrResume(importId);
+            if (progress.getStatus() == ImportStatus.COMPLETED) {
+                return progress;
+            }
+            return importRows(progress, reader, parser, onBatchCommitted);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public DeveloperImportEntity getImport(String importId) {
+        return importRepository.findById(importId)
+                .orElseThrow(() -> new DeveloperImportNotFoundException("Import not found"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (Objects.nonNull(validationPool)) {
+            validationPool.shutdownNow();
+        }
+    }
+
+    private DeveloperImportEntity importRows(DeveloperImportEntity progress, BufferedReader reader,
+                                             DeveloperRowParser parser,
+                                             Consumer<DeveloperImportEntity> onBatchCommitted) {
+        List<String> errors = new ArrayList<>();
+        EmailFingerprintSet seenEmails = new EmailFingerprintSet(properties.getExpectedRows());
+        try {
+            List<String> lines = new ArrayList<>(properties.getBatchSize());
+            long lineNumber = 0;
+            long firstLineOfBatch = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= progress.getLastCommittedLine()) {
+                    continue;
+                }
+                if (lines.isEmpty()) {
+                    firstLineOfBatch = lineNumber;
+                }
+                lines.add(line);
+                if (lines.size() == properties.getBatchSize()) {
+                    processBatch(progress, parser, lines, firstLineOfBatch, seenEmails, errors);
+                    lines.clear();
+                    onBatchCommitted.accept(progress);
+                }
+            }
+            if (!lines.isEmpty()) {
+                processBatch(progress, parser, lines, firstLineOfBatch, seenEmails, errors);
+                onBatchCommitted.accept(progress);
+            }
+            progress.setStatus(ImportStatus.COMPLETED);
+            return saveProgress(progress, errors);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import {} failed after line {}", progress.getId(), progress.getLastCommittedLine(), e);
+            errors.add("import failed: " + e.getMessage());
+            progress.setStatus(ImportStatus.FAILED);
+            return saveProgress(progress, errors);
+        }
+    }
+
+    private DeveloperImportEntity startOrResume(String importId) {
+        if (Objects.nonNull(importId)) {
+            DeveloperImportEntity existing = getImport(importId);
+            if (existing.getStatus() != ImportStatus.COMPLETED) {
+                existing.setStatus(ImportStatus.RUNNING);
+                existing.setUpdatedAt(Instant.now());
+                return importRepository.save(existing);
+            }
+            return existing;
+        }
+        Instant now = Instant.now();
+        return importRepository.save(DeveloperImportEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .status(ImportStatus.RUNNING)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private void processBatch(DeveloperImportEntity progress, DeveloperRowParser parser, List<String> lines,
+                              long firstLineNumber, EmailFingerprintSet seenEmails, List<String> errors) {
+        // parsing and validation are the CPU heavy part, dedupe and writes stay on the calling thread
+        List<ImportRow> rows = validationPool().submit(() -> IntStream.range(0, lines.size())
+                        .parallel()
+                        .mapToObj(i -> parseAndValidate(parser, firstLineNumber + i, lines.get(i)))
+                        .toList())
+                .join();
+
+        List<ImportRow> candidates = new ArrayList<>(rows.size());
+        long invalid = 0;
+        long duplicates = 0;
+        for (ImportRow row : rows) {
+            if (Objects.isNull(row)) {
+                continue;
+            }
+            if (!row.isValid()) {
+                invalid++;
+                if (errors.size() < properties.getMaxErrorSamples()) {
+                    errors.add("line " + row.lineNumber() + ": " + row.error());
+                }
+            } else if (!seenEmails.add(row.email())) {
+                duplicates++;
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        Set<String> existingEmails = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            List<String> emailKeys = candidates.stream()
+                    .map(candidate -> DeveloperEntity.emailKey(candidate.email()))
+                    .toList();
+            developerRepository.findAllByEmailKeyIn(emailKeys)
+                    .forEach(existing -> existingEmails.add(DeveloperEntity.emailKey(existing.getEmail())));
+        }
+        List<DeveloperEntity> developers = new ArrayList<>(candidates.size());
+        for (ImportRow candidate : candidates) {
+            if (existingEmails.contains(DeveloperEntity.emailKey(candidate.email()))) {
+                duplicates++;
+            } else {
+                developers.add(candidate.toEntity());
+            }
+        }
+
+        // one transaction per batch: a crash before the checkpoint below replays the batch, and the
+        // rows it already wrote come back from findAllByEmailKeyIn as duplicates
+        List<DeveloperEntity> saved = developers.isEmpty() ? List.of() : developerRepository.saveAll(developers);
+
+        progress.setLastCommittedLine(firstLineNumber + lines.size() - 1);
+        progress.setImported(progress.getImported() + saved.size());
+        progress.setDuplicates(progress.getDuplicates() + duplicates);
+        progress.setInvalid(progress.getInvalid() + invalid);
+        saveProgress(progress, errors);
+
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new DeveloperBatchChangedEvent(ChangeType.CREATED,
+                    saved.stream().map(DeveloperEntity::getId).toList(),
+                    saved.stream().map(DeveloperEntity::getEmail).toList()));
+        }
+    }
+
+    private static ImportRow parseAndValidate(DeveloperRowParser parser, long lineNumber, String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        return ImportRowValidator.validate(parser.parse(lineNumber, line));
+    }
+
+    private DeveloperImportEntity saveProgress(DeveloperImportEntity progress, List<String> errors) {
+        if (!errors.isEmpty()) {
+            String sample = String.join("\n", errors);
+            progress.setErrorSample(sample.length() > MAX_ERROR_SAMPLE_LENGTH
+                    ? sample.substring(0, MAX_ERROR_SAMPLE_LENGTH)
+                    : sample);
+        }
+        progress.setUpdatedAt(Instant.now());
+        return importRepository.save(progress);
+    }
+
+    private synchronized ForkJoinPool validationPool() {
+        if (Objects.isNull(validationPool)) {
+            validationPool = new ForkJoinPool(properties.getValidationParallelism());
+        }
+        return validationPool;
+    }
+}
@@ -0,0 +1,26 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.importer.ImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+public interface DeveloperJobService {
+
+    /**
+     * Spools the upload to the job work directory and imports it in the background.
+     */
+    JobEntity submitImport(InputStream input, ImportFormat format) throws IOException;
+
+    JobEntity submitExport();
+
+    JobEntity submitSoftDeleteBySpecialty(String specialty);
+
+    /**
+     * @return NDJSON file written by a completed export job
+     */
+    Path getExportResult(String jobId);
+
+}
@@ -0,0 +1,128 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.entity.DeveloperImportEntity;
+import com.dimacherkes.qafordevs.entity.ImportStatus;
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.entity.JobStatus;
+import com.dimacherkes.qafordevs.entity.JobType;
+import com.dimacherkes.qafordevs.exception.JobNotFoundException;
+import com.dimacherkes.qafordevs.importer.DeveloperRowParser;
+import com.dimacherkes.qafordevs.importer.ImportFormat;
+import com.dimacherkes.qafordevs.jobs.JobProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class DeveloperJobServiceImpl implements DeveloperJobService {
+
+    private final JobService jobService;
+    private final DeveloperService developerService;
+    private final DeveloperImportService importService;
+    private final JobProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public JobEntity submitImport(InputStream input, ImportFormat format) throws IOException {
+        Files.createDirectories(properties.getWorkDir());
+        Path upload = properties.getWorkDir().resolve("import-" + UUID.randomUUID() + ".upload");
+        Files.copy(input, upload);
+        try {
+            validateHeader(upload, format);
+            return jobService.submit(JobType.DEVELOPER_IMPORT, context -> {
+                try (InputStream spooled = Files.newInputStream(upload)) {
+                    DeveloperImportEntity result = importService.importDevelopers(null, spooled, format, progress -> {
+                        context.setProcessed(progress.getLastCommittedLine());
+                        context.throwIfCancelled();
+                    });
+                    if (result.getStatus() == ImportStatus.FAILED) {
+                        context.throwIfCancelled();
+                        throw new IllegalStateException("Import " + result.getId() + " failed: " + result.getErrorSample());
+                    }
+                    return "importId=" + result.getId();
+                } finally {
+                    Files.deleteIfExists(upload);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+    }
+
+    @Override
+    public JobEntity submitExport() {
+        return jobService.submit(JobType.DEVELOPER_EXPORT, context -> {
+            Files.createDirectories(properties.getWorkDir());
+            Path export = exportFile(context.getJobId());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(export));
+                 SequenceWriter writer = objectMapper.writerFor(DeveloperDto.class)
+                         .withRootValueSeparator("\n")
+                         .writeValues(out)) {
+                developerService.forEachActiveDeveloper(properties.getBatchSize(), developer -> {
+                    context.throwIfCancelled();
+                    try {
+                        writer.write(DeveloperDto.fromEntity(developer));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    context.addProcessed(1);
+                });
+            } catch (RuntimeException e) {
+                Files.deleteIfExists(export);
+                throw e;
+            }
+            return export.getFileName().toString();
+        });
+    }
+
+    @Override
+    public JobEntity submitSoftDeleteBySpecialty(String specialty) {
+        return jobService.submit(JobType.DEVELOPER_SOFT_DELETE, context -> {
+            long deleted = developerService.softDeleteAllActiveBySpecialty(specialty, properties.getBatchSize(), total -> {
+                context.setProcessed(total);
+                context.throwIfCancelled();
+            });
+            return "softDeleted=" + deleted;
+        });
+    }
+
+    @Override
+    public Path getExportResult(String jobId) {
+        JobEntity job = jobService.getJob(jobId);
+        Path export = exportFile(jobId);
+        if (job.getType() != JobType.DEVELOPER_EXPORT || job.getStatus() != JobStatus.COMPLETED
+                || !Files.exists(export)) {
+            throw new JobNotFoundException("Export result not available");
+        }
+        return export;
+    }
+
+    /**
+     * Rejects an unusable file while the client is still waiting, instead of failing the job later.
+     */
+    private void validateHeader(Path upload, ImportFormat format) throws IOException {
+        if (format == ImportFormat.CSV) {
+            try (BufferedReader reader = Files.newBufferedReader(upload)) {
+                DeveloperRowParser.forFormat(format, reader.readLine(), objectMapper);
+            }
+        }
+    }
+
+    private Path exportFile(String jobId) {
+        return properties.getWorkDir().resolve("export-" + jobId + ".ndjson");
+    }
+}
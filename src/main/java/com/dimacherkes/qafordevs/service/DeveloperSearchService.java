@@ -0,0 +1,19 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.DeveloperField;
+import com.dimacherkes.qafordevs.filter.DeveloperFilter;
+import com.dimacherkes.qafordevs.filter.DeveloperPage;
+
+import java.util.Set;
+
+public interface DeveloperSearchService {
+
+    /**
+     * One page of developers matching the filter, in id order.
+     *
+     * @throws com.dimacherkes.qafordevs.exception.InvalidDeveloperFilterException when the filter is
+     *                                                                             malformed or no index can serve it
+     */
+    DeveloperPage findDevelopers(DeveloperFilter filter, Set<DeveloperField> fields);
+
+}
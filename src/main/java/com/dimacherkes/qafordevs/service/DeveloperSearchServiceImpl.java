@@ -0,0 +1,66 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperField;
+import com.dimacherkes.qafordevs.filter.DeveloperFilter;
+import com.dimacherkes.qafordevs.filter.DeveloperPage;
+import com.dimacherkes.qafordevs.filter.DeveloperQueryPlan;
+import com.dimacherkes.qafordevs.filter.DeveloperQueryPlanner;
+import com.dimacherkes.qafordevs.filter.FilterProperties;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "developer.service", histogram = true)
+public class DeveloperSearchServiceImpl implements DeveloperSearchService {
+
+    private final DeveloperRepository developerRepository;
+    private final DeveloperQueryPlanner queryPlanner;
+    private final FilterProperties filterProperties;
+
+    @Override
+    public DeveloperPage findDevelopers(DeveloperFilter filter, Set<DeveloperField> fields) {
+        DeveloperQueryPlan plan = queryPlanner.plan(filter);
+        int limit = plan.limit();
+        // one extra row tells whether another page follows
+        List<DeveloperEntity> batch = findPage(plan, fields, limit + 1);
+        List<DeveloperEntity> page = batch.size() > limit ? batch.subList(0, limit) : batch;
+        Integer nextAfterId = batch.size() > limit ? page.get(page.size() - 1).getId() : null;
+
+        Long total = null;
+        boolean totalCapped = false;
+        if (Objects.isNull(filter.afterId())) {
+            long cap = filterProperties.getCountCap();
+            long counted = developerRepository.countMatching(plan.count(), cap + 1);
+            totalCapped = counted > cap;
+            total = Math.min(counted, cap);
+        }
+        return new DeveloperPage(List.copyOf(page), nextAfterId, total, totalCapped, plan.accessPath());
+    }
+
+    /**
+     * Reads every index range of the plan up to {@code limit} rows and keeps the lowest ids.
+     */
+    private List<DeveloperEntity> findPage(DeveloperQueryPlan plan, Set<DeveloperField> fields, int limit) {
+        if (plan.pages().size() == 1) {
+            return developerRepository.findAllMatching(plan.pages().get(0), fields, Limit.of(limit));
+        }
+        List<DeveloperEntity> merged = new ArrayList<>();
+        for (Specification<DeveloperEntity> page : plan.pages()) {
+            merged.addAll(developerRepository.findAllMatching(page, fields, Limit.of(limit)));
+        }
+        merged.sort(Comparator.comparing(DeveloperEntity::getId));
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+}
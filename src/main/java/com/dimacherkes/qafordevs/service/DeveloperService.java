@@ -1,8 +1,12 @@
 package com.dimacherkes.qafordevs.service;
 
 import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperField;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 public interface DeveloperService {
 
@@ -12,14 +16,30 @@ public interface DeveloperService {
 
     DeveloperEntity getDeveloperById(Integer id);
 
+    /**
+     * Same as {@link #getDeveloperById(Integer)}, with only the given fields set on the result.
+     */
+    DeveloperEntity getDeveloperById(Integer id, Set<DeveloperField> fields);
+
     DeveloperEntity getDeveloperByEmail(String email);
 
     List<DeveloperEntity> getAllDevelopers();
 
+    List<DeveloperEntity> getAllDevelopers(Set<DeveloperField> fields);
+
     List<DeveloperEntity> getAllActiveBySpecialty(String specialty);
 
+    List<DeveloperEntity> getAllActiveBySpecialty(String specialty, Set<DeveloperField> fields);
+
+    void forEachActiveDeveloper(int batchSize, Consumer<DeveloperEntity> consumer);
+
     void softDeleteById(Integer id);
 
     void hardDeleteById(Integer id);
 
+    /**
+     * Soft-deletes active developers of the specialty batch by batch, reporting the running total after each batch.
+     */
+    long softDeleteAllActiveBySpecialty(String specialty, int batchSize, LongConsumer onBatchDeleted);
+
 }
@@ -1,32 +1,53 @@
 package com.dimacherkes.qafordevs.service;
 
 import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperField;
 import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.dimacherkes.qafordevs.event.DeveloperBatchChangedEvent;
+import com.dimacherkes.qafordevs.event.DeveloperChangedEvent;
 import com.dimacherkes.qafordevs.exception.DeveloperNotFoundException;
 import com.dimacherkes.qafordevs.exception.DeveloperWithDuplicateEmailException;
 import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.roster.OffHeapDeveloperRoster;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "developer.service", histogram = true)
 public class DeveloperServiceImpl implements DeveloperService {
 
     private final DeveloperRepository developerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<OffHeapDeveloperRoster> developerRoster;
 
     @Override
     public DeveloperEntity saveDeveloper(DeveloperEntity developer) {
+        normalizeEmail(developer);
         DeveloperEntity duplicateCandidate = developerRepository.findByEmail(developer.getEmail());
 
         if (Objects.nonNull(duplicateCandidate)) {
             throw new DeveloperWithDuplicateEmailException("Developer with defined email is already exists");
         }
         developer.setStatus(Status.ACTIVE);
-        return developerRepository.save(developer);
+        DeveloperEntity savedDeveloper = saveUnique(developer);
+        publishChange(ChangeType.CREATED, savedDeveloper);
+        return savedDeveloper;
     }
 
     @Override
@@ -36,15 +57,44 @@ public class DeveloperServiceImpl implements DeveloperService {
         if (!isExists) {
             throw new DeveloperNotFoundException("Developer not found");
         }
-        return developerRepository.save(developer);
+        normalizeEmail(developer);
+        DeveloperEntity updatedDeveloper = saveUnique(developer);
+        publishChange(ChangeType.UPDATED, updatedDeveloper);
+        return updatedDeveloper;
     }
 
     @Override
     public DeveloperEntity getDeveloperById(Integer id) {
+        OffHeapDeveloperRoster roster = developerRoster.getIfAvailable();
+        if (Objects.nonNull(roster) && roster.isReady()) {
+            DeveloperEntity developer = roster.findById(id);
+            if (Objects.nonNull(developer)) {
+                return developer;
+            }
+        }
         return developerRepository.findById(id)
                 .orElseThrow(() -> new DeveloperNotFoundException("Developer not found"));
     }
 
+    @Override
+    public DeveloperEntity getDeveloperById(Integer id, Set<DeveloperField> fields) {
+        if (DeveloperField.isAll(fields)) {
+            return getDeveloperById(id);
+        }
+        OffHeapDeveloperRoster roster = developerRoster.getIfAvailable();
+        if (Objects.nonNull(roster) && roster.isReady()) {
+            DeveloperEntity developer = roster.findById(id);
+            if (Objects.nonNull(developer)) {
+                return DeveloperField.project(developer, fields);
+            }
+        }
+        DeveloperEntity developer = developerRepository.findProjectedById(id, fields);
+        if (Objects.isNull(developer)) {
+            throw new DeveloperNotFoundException("Developer not found");
+        }
+        return developer;
+    }
+
     @Override
     public DeveloperEntity getDeveloperByEmail(String email) {
         DeveloperEntity obtainedDeveloper = developerRepository.findByEmail(email);
@@ -63,17 +113,58 @@ public class DeveloperServiceImpl implements DeveloperService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<DeveloperEntity> getAllDevelopers(Set<DeveloperField> fields) {
+        if (DeveloperField.isAll(fields)) {
+            return getAllDevelopers();
+        }
+        return developerRepository.findAllActiveProjected(fields);
+    }
+
     @Override
     public List<DeveloperEntity> getAllActiveBySpecialty(String specialty) {
+        OffHeapDeveloperRoster roster = developerRoster.getIfAvailable();
+        if (Objects.nonNull(roster) && roster.isReady()) {
+            return roster.findAllActiveBySpecialty(specialty);
+        }
         return developerRepository.findAllActiveBySpecialty(specialty);
     }
 
+    @Override
+    public List<DeveloperEntity> getAllActiveBySpecialty(String specialty, Set<DeveloperField> fields) {
+        if (DeveloperField.isAll(fields)) {
+            return getAllActiveBySpecialty(specialty);
+        }
+        OffHeapDeveloperRoster roster = developerRoster.getIfAvailable();
+        if (Objects.nonNull(roster) && roster.isReady()) {
+            return roster.findAllActiveBySpecialty(specialty)
+                    .stream()
+                    .map(developer -> DeveloperField.project(developer, fields))
+                    .toList();
+        }
+        return developerRepository.findAllActiveBySpecialtyProjected(specialty, fields);
+    }
+
+    @Override
+    public void forEachActiveDeveloper(int batchSize, Consumer<DeveloperEntity> consumer) {
+        int lastId = 0;
+        while (true) {
+            List<DeveloperEntity> batch = developerRepository.findAllActiveAfterId(lastId, Limit.of(batchSize));
+            batch.forEach(consumer);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
     @Override
     public void softDeleteById(Integer id) {
         DeveloperEntity obtainedDeveloper = developerRepository.findById(id)
                 .orElseThrow(() -> new DeveloperNotFoundException("Developer not found"));
         obtainedDeveloper.setStatus(Status.DELETED);
         developerRepository.save(obtainedDeveloper);
+        publishChange(ChangeType.SOFT_DELETED, obtainedDeveloper);
     }
 
     @Override
@@ -81,5 +172,62 @@ public class DeveloperServiceImpl implements DeveloperService {
         DeveloperEntity obtainedDeveloper = developerRepository.findById(id)
                 .orElseThrow(() -> new DeveloperNotFoundException("Developer not found"));
         developerRepository.deleteById(obtainedDeveloper.getId());
+        publishChange(ChangeType.HARD_DELETED, obtainedDeveloper);
+    }
+
+    @Override
+    public long softDeleteAllActiveBySpecialty(String specialty, int batchSize, LongConsumer onBatchDeleted) {
+        long deleted = 0;
+        while (true) {
+            // every batch leaves the active set, so the next query starts from the beginning again
+            List<DeveloperEntity> batch = developerRepository.findAllActiveBySpecialty(specialty, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return deleted;
+            }
+            batch.forEach(developer -> developer.setStatus(Status.DELETED));
+            developerRepository.saveAll(batch);
+            eventPublisher.publishEvent(new DeveloperBatchChangedEvent(ChangeType.SOFT_DELETED,
+                    batch.stream().map(DeveloperEntity::getId).toList(),
+                    batch.stream().map(DeveloperEntity::getEmail).toList()));
+            deleted += batch.size();
+            onBatchDeleted.accept(deleted);
+        }
+    }
+
+    private static void normalizeEmail(DeveloperEntity developer) {
+        if (Objects.nonNull(developer.getEmail())) {
+            developer.setEmail(developer.getEmail().trim());
+        }
+    }
+
+    /**
+     * The unique email key index is the final word on duplicates: it catches a concurrent insert
+     * that passed the lookup above and an update changing the email to one already taken. Other
+     * integrity violations are not about the email and are passed on.
+     */
+    private DeveloperEntity saveUnique(DeveloperEntity developer) {
+        try {
+            return developerRepository.save(developer);
+        } catch (DataIntegrityViolationException e) {
+            if (violatesEmailKey(e)) {
+                throw new DeveloperWithDuplicateEmailException("Developer with defined email is already exists");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean violatesEmailKey(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // some databases report the index qualified by schema and table, or upper-cased
+            if (cause instanceof ConstraintViolationException violation && Objects.nonNull(violation.getConstraintName())
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(DeveloperEntity.EMAIL_KEY_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publishChange(ChangeType type, DeveloperEntity developer) {
+        eventPublisher.publishEvent(new DeveloperChangedEvent(type, developer.getId(), developer.getEmail()));
     }
 }
@@ -0,0 +1,24 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.entity.JobType;
+import com.dimacherkes.qafordevs.jobs.JobTask;
+
+public interface JobService {
+
+    /**
+     * Persists a queued job and hands it to the job executor.
+     *
+     * @throws com.dimacherkes.qafordevs.exception.JobRejectedException when the job queue is full
+     */
+    JobEntity submit(JobType type, JobTask task);
+
+    JobEntity getJob(String id);
+
+    /**
+     * Removes a queued job or asks a running one to stop at its next cancellation check. A job owned by
+     * another instance is marked for cancellation and stopped by its owner with the next heartbeat.
+     */
+    JobEntity cancel(String id);
+
+}
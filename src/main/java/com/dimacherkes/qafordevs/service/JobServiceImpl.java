@@ -0,0 +1,237 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.entity.JobStatus;
+import com.dimacherkes.qafordevs.entity.JobType;
+import com.dimacherkes.qafordevs.exception.JobCancelledException;
+import com.dimacherkes.qafordevs.exception.JobNotFoundException;
+import com.dimacherkes.qafordevs.exception.JobRejectedException;
+import com.dimacherkes.qafordevs.jobs.JobContext;
+import com.dimacherkes.qafordevs.jobs.JobProperties;
+import com.dimacherkes.qafordevs.jobs.JobTask;
+import com.dimacherkes.qafordevs.repository.JobRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class JobServiceImpl implements JobService {
+
+    private static final int MAX_ERROR_LENGTH = 4000;
+    private static final Set<JobStatus> OPEN = EnumSet.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    private final JobRepository jobRepository;
+    private final JobProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService heartbeats;
+    private final Map<String, RunningJob> jobs = new ConcurrentHashMap<>();
+
+    public JobServiceImpl(JobRepository jobRepository, JobProperties properties, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // the pool size caps concurrent jobs, virtual threads keep blocking JDBC and file I/O cheap
+        this.executor = new ThreadPoolExecutor(properties.getMaxConcurrentJobs(), properties.getMaxConcurrentJobs(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofVirtual().name("job-", 0).factory());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("job-heartbeat")
+                .daemon()
+                .factory());
+        Gauge.builder("developer.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("developer.jobs.queued", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public JobEntity submit(JobType type, JobTask task) {
+        Instant now = Instant.now();
+        JobEntity job = jobRepository.save(JobEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .type(type)
+                .status(JobStatus.QUEUED)
+                .createdAt(now)
+                .updatedAt(now)
+                .owner(properties.getNodeId())
+                .heartbeatAt(now)
+                .build());
+        JobContext context = new JobContext(job.getId(), properties.getProgressFlushInterval(), this::flushProgress);
+        RunningJob runningJob = new RunningJob(context, () -> run(job.getId(), task, context));
+        jobs.put(job.getId(), runningJob);
+        try {
+            executor.execute(runningJob.runnable());
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            jobRepository.delete(job);
+            throw new JobRejectedException("Job queue is full, retry later");
+        }
+        return job;
+    }
+
+    @Override
+    public JobEntity getJob(String id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new JobNotFoundException("Job not found"));
+    }
+
+    @Override
+    public JobEntity cancel(String id) {
+        JobEntity job = getJob(id);
+        if (job.getStatus().isTerminal()) {
+            return job;
+        }
+        RunningJob runningJob = jobs.get(id);
+        if (Objects.isNull(runningJob)) {
+            // runs on another instance, which picks the request up with its next heartbeat
+            jobRepository.requestCancel(id, Instant.now(), OPEN);
+            return getJob(id);
+        }
+        return cancel(job, runningJob);
+    }
+
+    /**
+     * Starts the heartbeat once the application serves requests. Open jobs recorded under this node id
+     * were left by a previous run of this instance and have lost their worker; jobs of other instances
+     * are left to their owners until their heartbeat goes stale.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        jobRepository.findAllByOwnerAndStatusIn(properties.getNodeId(), OPEN).stream()
+                .filter(job -> !jobs.containsKey(job.getId()))
+                .forEach(job -> finish(job.getId(), JobStatus.FAILED, null, "Interrupted by application restart"));
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Refreshes the heartbeat of the jobs this instance owns, applies cancellations requested through
+     * other instances and fails open jobs of any instance that stopped sending heartbeats.
+     */
+    void heartbeat() {
+        try {
+            Instant now = Instant.now();
+            jobRepository.touchHeartbeats(properties.getNodeId(), now, OPEN);
+            jobRepository.findAllByOwnerAndCancelRequestedTrueAndStatusIn(properties.getNodeId(), OPEN)
+                    .forEach(job -> {
+                        RunningJob runningJob = jobs.get(job.getId());
+                        if (Objects.nonNull(runningJob)) {
+                            cancel(job, runningJob);
+                        }
+                    });
+            jobRepository.findAllByStatusInAndHeartbeatAtBefore(OPEN, now.minus(properties.getStaleAfter()))
+                    .forEach(job -> finish(job.getId(), JobStatus.FAILED, null,
+                            "Owner " + job.getOwner() + " stopped sending heartbeats"));
+        } catch (RuntimeException e) {
+            log.warn("Job heartbeat failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        heartbeats.shutdownNow();
+        jobs.values().forEach(runningJob -> runningJob.context().cancel());
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private JobEntity cancel(JobEntity job, RunningJob runningJob) {
+        runningJob.context().cancel();
+        if (executor.remove(runningJob.runnable())) {
+            jobs.remove(job.getId());
+            return finish(job.getId(), JobStatus.CANCELLED, null, null);
+        }
+        return getJob(job.getId());
+    }
+
+    private void run(String jobId, JobTask task, JobContext context) {
+        long startedNanos = System.nanoTime();
+        if (jobRepository.start(jobId, JobStatus.RUNNING, Instant.now(), JobStatus.QUEUED) == 0) {
+            // cancelled or failed by another instance before a worker picked it up
+            jobs.remove(jobId);
+            return;
+        }
+        JobEntity job = getJob(jobId);
+
+        JobStatus status;
+        String result = null;
+        String error = null;
+        try {
+            context.throwIfCancelled();
+            result = task.run(context);
+            status = context.isCancelled() ? JobStatus.CANCELLED : JobStatus.COMPLETED;
+        } catch (JobCancelledException e) {
+            status = JobStatus.CANCELLED;
+        } catch (Exception e) {
+            log.warn("Job {} of type {} failed", job.getId(), job.getType(), e);
+            status = context.isCancelled() ? JobStatus.CANCELLED : JobStatus.FAILED;
+            error = e.getMessage();
+        } finally {
+            jobs.remove(job.getId());
+        }
+
+        jobRepository.updateProgress(jobId, context.getProcessed(), context.getTotal(), Instant.now(), OPEN);
+        recordMetrics(finish(jobId, status, result, error), Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    private void flushProgress(JobContext context) {
+        jobRepository.updateProgress(context.getJobId(), context.getProcessed(), context.getTotal(), Instant.now(), OPEN);
+    }
+
+    /**
+     * Writes the terminal status only while the job is still open and returns the job as stored: when
+     * a cancellation, a stale sweep or a restart got there first, its outcome stays.
+     */
+    private JobEntity finish(String jobId, JobStatus status, String result, String error) {
+        String storedError = Objects.nonNull(error) && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        jobRepository.finish(jobId, status, result, storedError, Instant.now(), OPEN);
+        return getJob(jobId);
+    }
+
+    private void recordMetrics(JobEntity job, Duration duration) {
+        String type = job.getType().name().toLowerCase(Locale.ROOT);
+        Timer.builder("developer.jobs.duration")
+                .tag("type", type)
+                .tag("status", job.getStatus().name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(duration);
+        if (!duration.isZero()) {
+            DistributionSummary.builder("developer.jobs.throughput")
+                    .baseUnit("items/s")
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .record(job.getProcessed() * 1_000_000_000.0 / duration.toNanos());
+        }
+    }
+
+    private record RunningJob(JobContext context, Runnable runnable) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Lock on an email key shared by every application instance, taken around
+ * {@link ShardingStrategy#ID_RANGE} inserts which check all shards before writing to one of them.
+ * <p>
+ * It is a transaction-scoped Postgres advisory lock on the first shard, so it is released when the
+ * lease is closed or when the connection is lost, and never outlives the insert it guards.
+ */
+public class EmailKeyLock {
+
+    private final DataSource dataSource;
+
+    /**
+     * @param dataSource pool of the shard the locks are taken on, the same one for every instance
+     */
+    public EmailKeyLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Blocks until no other instance holds the lock on the key.
+     */
+    public Lease acquire(String emailKey) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_xact_lock(hashtext(?))")) {
+                statement.setString(1, Objects.requireNonNullElse(emailKey, ""));
+                statement.execute();
+            }
+            return new Lease(connection);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    public static final class Lease implements AutoCloseable {
+
+        private final Connection connection;
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Ends the lock transaction, which releases the lock.
+         */
+        @Override
+        public void close() throws SQLException {
+            try (connection) {
+                connection.rollback();
+            }
+        }
+    }
+}
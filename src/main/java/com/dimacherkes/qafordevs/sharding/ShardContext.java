@@ -0,0 +1,33 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread talks to. Read by {@link ShardRoutingDataSource}
+ * whenever a connection is acquired, so it has to be set before a transaction starts.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+}
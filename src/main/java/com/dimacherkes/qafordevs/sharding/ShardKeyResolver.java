@@ -0,0 +1,80 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+
+import java.util.Objects;
+
+/**
+ * Maps emails and ids to shard indexes.
+ * <p>
+ * In {@link ShardingStrategy#EMAIL_HASH} mode a developer lives on the shard of its email hash and
+ * shard {@code i} hands out ids {@code i + 1, i + 1 + n, i + 1 + 2n, ...}, so both kinds of point lookup
+ * hit a single shard. In {@link ShardingStrategy#ID_RANGE} mode shard {@code i} owns the id range
+ * {@code [i * rangeSize + 1, (i + 1) * rangeSize]} and email lookups have to visit every shard.
+ */
+public class ShardKeyResolver {
+
+    private final ShardingStrategy strategy;
+    private final int shardCount;
+    private final int idRangeSize;
+
+    public ShardKeyResolver(ShardingStrategy strategy, int shardCount, int idRangeSize) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard must be configured");
+        }
+        this.strategy = strategy;
+        this.shardCount = shardCount;
+        this.idRangeSize = idRangeSize > 0 ? idRangeSize : Integer.MAX_VALUE / shardCount;
+    }
+
+    public ShardingStrategy getStrategy() {
+        return strategy;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardForEmail(String email) {
+        String key = Objects.requireNonNullElse(DeveloperEntity.emailKey(email), "");
+        return Math.floorMod(mix(key.hashCode()), shardCount);
+    }
+
+    public int shardForId(int id) {
+        if (strategy == ShardingStrategy.EMAIL_HASH) {
+            return Math.floorMod(id - 1, shardCount);
+        }
+        return Math.min((id - 1) / idRangeSize, shardCount - 1);
+    }
+
+    /**
+     * Identity increment the shard must be configured with.
+     */
+    public int idIncrement() {
+        return strategy == ShardingStrategy.EMAIL_HASH ? shardCount : 1;
+    }
+
+    /**
+     * Next id the shard must allocate given the biggest id it already stores.
+     */
+    public long nextId(int shard, long currentMaxId) {
+        if (strategy == ShardingStrategy.EMAIL_HASH) {
+            long candidate = currentMaxId + 1;
+            return candidate + Math.floorMod(shard - (candidate - 1), (long) shardCount);
+        }
+        return Math.max(currentMaxId, firstIdOfRange(shard) - 1) + 1;
+    }
+
+    public long firstIdOfRange(int shard) {
+        return (long) shard * idRangeSize + 1;
+    }
+
+    public long lastIdOfRange(int shard) {
+        return shard == shardCount - 1 ? Integer.MAX_VALUE : (long) (shard + 1) * idRangeSize;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,314 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import com.dimacherkes.qafordevs.deadline.RequestDeadline;
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.exception.DeveloperEmailShardChangeException;
+import com.dimacherkes.qafordevs.exception.DeveloperWithDuplicateEmailException;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes every {@link DeveloperRepository} call to the shard owning the data: point operations go
+ * to exactly one shard, list and count queries are scattered to all shards in parallel and merged.
+ * Merged lists come back in the order the query asked for and cut to its {@link Limit}, so callers
+ * see the same rows an unsharded repository would return.
+ * <p>
+ * Routing happens per repository call. A transaction opened around such a call has already taken a
+ * connection of the default shard, so calls inside one are rejected unless the transaction itself
+ * runs within {@link ShardContext#callOn}.
+ */
+@Aspect
+public class ShardRoutingAspect {
+
+    private static final Comparator<Object> BY_ID = Comparator.comparing(result -> ((DeveloperEntity) result).getId());
+    private static final Comparator<Object> BY_UPDATED_AT = Comparator
+            .comparing((Object result) -> ((DeveloperEntity) result).getUpdatedAt(),
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(BY_ID);
+
+    private final ShardKeyResolver shardKeyResolver;
+    private final ExecutorService scatterExecutor;
+    private final ObjectProvider<DeveloperRepository> developerRepository;
+    private final ObjectProvider<EmailKeyLock> emailKeyLock;
+    private final AtomicInteger nextRangeShard = new AtomicInteger();
+
+    public ShardRoutingAspect(ShardKeyResolver shardKeyResolver,
+                              ExecutorService scatterExecutor,
+                              ObjectProvider<DeveloperRepository> developerRepository,
+                              ObjectProvider<EmailKeyLock> emailKeyLock) {
+        this.shardKeyResolver = shardKeyResolver;
+        this.scatterExecutor = scatterExecutor;
+        this.developerRepository = developerRepository;
+        this.emailKeyLock = emailKeyLock;
+    }
+
+    @Around("target(com.dimacherkes.qafordevs.repository.DeveloperRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (method.getDeclaringClass() == Object.class || ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("DeveloperRepository." + method.getName() + " can not be routed inside a"
+                    + " transaction that already holds a connection of the default shard");
+        }
+        Object[] args = joinPoint.getArgs();
+
+        return switch (method.getName()) {
+            case "findById", "findProjectedById", "existsById", "deleteById", "getReferenceById", "getById" ->
+                    onShard(shardKeyResolver.shardForId((Integer) args[0]), joinPoint, args);
+            case "findByEmail" -> findByEmail(joinPoint, args);
+            case "save", "saveAndFlush" -> save(joinPoint, args);
+            case "delete" -> onShard(shardKeyResolver.shardForId(((DeveloperEntity) args[0]).getId()), joinPoint, args);
+            case "saveAll", "deleteAll", "deleteAllInBatch", "deleteAllById", "deleteAllByIdInBatch" -> args.length == 0
+                    ? scatter(joinPoint, args)
+                    : perShard(joinPoint, (Iterable<?>) args[0]);
+            default -> scatter(joinPoint, args);
+        };
+    }
+
+    private Object findByEmail(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        if (shardKeyResolver.getStrategy() == ShardingStrategy.EMAIL_HASH) {
+            return onShard(shardKeyResolver.shardForEmail((String) args[0]), joinPoint, args);
+        }
+        for (Object candidate : gather(joinPoint, args)) {
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Object save(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        DeveloperEntity developer = (DeveloperEntity) args[0];
+        if (Objects.nonNull(developer.getId())) {
+            int shard = shardKeyResolver.shardForId(developer.getId());
+            if (shardKeyResolver.getStrategy() == ShardingStrategy.EMAIL_HASH
+                    && shard != shardKeyResolver.shardForEmail(developer.getEmail())) {
+                throw new DeveloperEmailShardChangeException("Developer email can not be changed to one owned by another shard");
+            }
+            return onShard(shard, joinPoint, args);
+        }
+        if (shardKeyResolver.getStrategy() == ShardingStrategy.EMAIL_HASH) {
+            return onShard(shardKeyResolver.shardForEmail(developer.getEmail()), joinPoint, args);
+        }
+
+        // ID_RANGE spreads new developers round-robin, so uniqueness has to be re-checked across shards
+        // under a lock every instance sees
+        try (EmailKeyLock.Lease ignored = emailKeyLock.getObject().acquire(DeveloperEntity.emailKey(developer.getEmail()))) {
+            if (Objects.nonNull(developerRepository.getObject().findByEmail(developer.getEmail()))) {
+                throw new DeveloperWithDuplicateEmailException("Developer with defined email is already exists");
+            }
+            int shard = Math.floorMod(nextRangeShard.getAndIncrement(), shardKeyResolver.getShardCount());
+            return onShard(shard, joinPoint, args);
+        }
+    }
+
+    private Object perShard(ProceedingJoinPoint joinPoint, Iterable<?> items) throws Throwable {
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        Map<Integer, List<Object>> byShard = new LinkedHashMap<>();
+        for (Object item : items) {
+            byShard.computeIfAbsent(shardOf(item), shard -> new ArrayList<>()).add(item);
+        }
+        List<Object> merged = new ArrayList<>();
+        for (Map.Entry<Integer, List<Object>> entry : byShard.entrySet()) {
+            Object result = onShard(entry.getKey(), joinPoint, new Object[]{entry.getValue()});
+            if (result instanceof Collection<?> saved) {
+                merged.addAll(saved);
+            }
+        }
+        return returnType == void.class ? null : merged;
+    }
+
+    private int shardOf(Object item) {
+        if (item instanceof Integer id) {
+            return shardKeyResolver.shardForId(id);
+        }
+        DeveloperEntity developer = (DeveloperEntity) item;
+        if (Objects.nonNull(developer.getId())) {
+            return shardKeyResolver.shardForId(developer.getId());
+        }
+        if (shardKeyResolver.getStrategy() == ShardingStrategy.EMAIL_HASH) {
+            return shardKeyResolver.shardForEmail(developer.getEmail());
+        }
+        return Math.floorMod(nextRangeShard.getAndIncrement(), shardKeyResolver.getShardCount());
+    }
+
+    private Object scatter(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> returnType = signature.getReturnType();
+        if (Page.class.isAssignableFrom(returnType)) {
+            return scatterPage(joinPoint, args);
+        }
+        if (!isMergeable(returnType)) {
+            throw new UnsupportedOperationException("Repository method " + signature.getName()
+                    + " returns " + returnType.getSimpleName() + " which can not be merged across shards");
+        }
+        List<Object> results = gather(joinPoint, args);
+
+        if (returnType == void.class) {
+            return null;
+        }
+        if (returnType == long.class || returnType == Long.class) {
+            return results.stream().mapToLong(result -> (Long) result).sum();
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (returnType == Optional.class) {
+            return results.stream()
+                    .map(result -> (Optional<?>) result)
+                    .filter(Optional::isPresent)
+                    .findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (Collection.class.isAssignableFrom(returnType)) {
+            List<Object> merged = new ArrayList<>();
+            results.forEach(result -> merged.addAll((Collection<?>) result));
+            sort(merged, signature.getMethod());
+            int limit = limitOf(args);
+            return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+        }
+        // a single row: the one shard that found it answers, the others return null
+        return results.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    /**
+     * Every shard returns the first {@code offset + size} rows, of which the merged slice is the page.
+     * Only id order can be merged without knowing the sort columns.
+     */
+    private Object scatterPage(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        int pageableIndex = -1;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Pageable) {
+                pageableIndex = i;
+            }
+        }
+        Pageable pageable = pageableIndex < 0 ? Pageable.unpaged() : (Pageable) args[pageableIndex];
+        if (pageable.getSort().stream().anyMatch(order -> !order.getProperty().equals("id") || order.isDescending())) {
+            throw new UnsupportedOperationException("Pages can only be merged across shards in ascending id order");
+        }
+        Object[] shardArgs = args.clone();
+        if (pageable.isPaged()) {
+            shardArgs[pageableIndex] = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()),
+                    Sort.by("id"));
+        }
+
+        List<Object> merged = new ArrayList<>();
+        long total = 0;
+        for (Object result : gather(joinPoint, shardArgs)) {
+            Page<?> page = (Page<?>) result;
+            merged.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+        merged.sort(BY_ID);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, total);
+    }
+
+    private static boolean isMergeable(Class<?> returnType) {
+        return returnType == void.class
+                || returnType == long.class || returnType == Long.class
+                || returnType == boolean.class || returnType == Boolean.class
+                || returnType == Optional.class
+                || List.class.isAssignableFrom(returnType)
+                || DeveloperEntity.class.isAssignableFrom(returnType);
+    }
+
+    /**
+     * Restores the order of the query across the per-shard results.
+     */
+    private static void sort(List<Object> merged, Method method) {
+        if (merged.stream().allMatch(DeveloperEntity.class::isInstance)) {
+            merged.sort(method.getName().equals("findAllUpdatedAfter") ? BY_UPDATED_AT : BY_ID);
+        } else if (merged.stream().allMatch(Integer.class::isInstance)) {
+            merged.sort(Comparator.comparing(result -> (Integer) result));
+        }
+    }
+
+    private static int limitOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Limit limit && limit.isLimited()) {
+                return limit.max();
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private List<Object> gather(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        List<Future<Object>> futures = new ArrayList<>();
+        // the shard queries run on scatter threads, which need the request's deadline for their timeouts
+        Long deadline = RequestDeadline.current();
+        for (int shard = 0; shard < shardKeyResolver.getShardCount(); shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> RequestDeadline.callWith(deadline, () -> {
+                try {
+                    return onShard(target, joinPoint, args);
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            })));
+        }
+
+        List<Object> results = new ArrayList<>(futures.size());
+        for (Future<Object> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        return results;
+    }
+
+    private Object onShard(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        try {
+            return ShardContext.callOn(shard, () -> {
+                try {
+                    return joinPoint.proceed(args);
+                } catch (Throwable t) {
+                    throw new ShardCallException(t);
+                }
+            });
+        } catch (ShardCallException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ShardCallException extends RuntimeException {
+        ShardCallException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import com.dimacherkes.qafordevs.migration.EmailKeyMigration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Prepares the developers table on every shard. Hibernate schema generation only ever sees the
+ * default shard through the routing datasource, so in sharded mode the schema is owned here and
+ * {@code spring.jpa.hibernate.ddl-auto} has to be {@code none}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardSchemaInitializer {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final ShardKeyResolver shardKeyResolver;
+
+    public void initialize(int shard, DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS developers (
+                    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    email VARCHAR(255),
+                    email_key VARCHAR(255),
+                    first_name VARCHAR(255),
+                    last_name VARCHAR(255),
+                    specialty VARCHAR(255),
+                    status VARCHAR(255),
+                    updated_at TIMESTAMP(6) WITH TIME ZONE
+                )""");
+        jdbcTemplate.execute("ALTER TABLE developers ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE");
+        jdbcTemplate.execute("ALTER TABLE developers ALTER COLUMN updated_at SET DEFAULT now()");
+        backfillUpdatedAt(shard, jdbcTemplate);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_developers_updated_at ON developers (updated_at, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_developers_status_specialty ON developers (status, specialty, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_developers_last_name ON developers (last_name)");
+        // with EMAIL_HASH every spelling of an email hashes to the same shard, so a local index is a global guarantee
+        new EmailKeyMigration(jdbcTemplate).migrate("Shard " + shard);
+        alignIdentity(shard, jdbcTemplate);
+    }
+
+    /**
+     * Rows written before the column existed never match {@code updated_at > ?}, so catch-ups would
+     * skip them forever. Stamping them now makes the next catch-up re-read them once.
+     */
+    private static void backfillUpdatedAt(int shard, JdbcTemplate jdbcTemplate) {
+        int backfilled = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update("""
+                    UPDATE developers SET updated_at = now()
+                    WHERE id IN (SELECT id FROM developers WHERE updated_at IS NULL LIMIT ?)""", BACKFILL_BATCH_SIZE);
+            backfilled += updated;
+        } while (updated == BACKFILL_BATCH_SIZE);
+        if (backfilled > 0) {
+            log.info("Shard {}: backfilled updated_at of {} developers", shard, backfilled);
+        }
+    }
+
+    private void alignIdentity(int shard, JdbcTemplate jdbcTemplate) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM developers", Long.class);
+        long nextId = shardKeyResolver.nextId(shard, maxId == null ? 0 : maxId);
+        long lastId = shardKeyResolver.getStrategy() == ShardingStrategy.ID_RANGE
+                ? shardKeyResolver.lastIdOfRange(shard)
+                : Integer.MAX_VALUE;
+        if (nextId > lastId) {
+            log.warn("Shard {} has exhausted its id range, inserts routed to it will fail", shard);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE developers ALTER COLUMN id"
+                + " SET INCREMENT BY " + shardKeyResolver.idIncrement()
+                + " SET MAXVALUE " + lastId
+                + " RESTART WITH " + nextId);
+        log.info("Shard {} allocates ids from {} with increment {}", shard, nextId, shardKeyResolver.idIncrement());
+    }
+}
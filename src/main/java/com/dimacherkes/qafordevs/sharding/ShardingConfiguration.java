@@ -0,0 +1,101 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardKeyResolver shardKeyResolver(ShardingProperties properties) {
+        return new ShardKeyResolver(properties.getStrategy(), properties.getShards().size(), properties.getIdRangeSize());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardingProperties properties, ShardKeyResolver shardKeyResolver,
+                                 Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        ShardSchemaInitializer schemaInitializer = new ShardSchemaInitializer(shardKeyResolver);
+        // shard pools share the tuning of spring.datasource.hikari, including the driver's statement cache
+        HikariConfig template = Binder.get(environment)
+                .bind("spring.datasource.hikari", HikariConfig.class)
+                .orElseGet(HikariConfig::new);
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            HikariDataSource shardDataSource = createShardDataSource(i, shards.get(i), properties, template,
+                    meterRegistry.getIfAvailable());
+            schemaInitializer.initialize(i, shardDataSource);
+            targets.put(i, shardDataSource);
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.get(0));
+        routingDataSource.setLenientFallback(false);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService shardScatterExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Locks live on the first shard, which every instance agrees on.
+     */
+    @Bean
+    public EmailKeyLock emailKeyLock(DataSource dataSource) throws SQLException {
+        return new EmailKeyLock(dataSource.unwrap(ShardRoutingDataSource.class).getResolvedDataSources().get(0));
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardKeyResolver shardKeyResolver,
+                                                 ExecutorService shardScatterExecutor,
+                                                 ObjectProvider<DeveloperRepository> developerRepository,
+                                                 ObjectProvider<EmailKeyLock> emailKeyLock) {
+        return new ShardRoutingAspect(shardKeyResolver, shardScatterExecutor, developerRepository, emailKeyLock);
+    }
+
+    private HikariDataSource createShardDataSource(int index, ShardingProperties.Shard shard, ShardingProperties properties,
+                                                   HikariConfig template, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        template.copyStateTo(config);
+        config.setJdbcUrl(shard.getUrl());
+        config.setUsername(shard.getUsername());
+        config.setPassword(shard.getPassword());
+        config.setDriverClassName(shard.getDriverClassName());
+        config.setPoolName("shard-" + index);
+        config.setMaximumPoolSize(shard.getMaximumPoolSize());
+        config.setMinimumIdle(Math.min(template.getMinimumIdle(), shard.getMaximumPoolSize()));
+        config.setLeakDetectionThreshold(properties.getLeakDetectionThreshold().toMillis());
+        // the shard pools are not beans, so the Hikari metrics auto-configuration never sees them
+        if (Objects.nonNull(meterRegistry)) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new HikariDataSource(config);
+    }
+}
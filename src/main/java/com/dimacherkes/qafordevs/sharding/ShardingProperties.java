@@ -0,0 +1,37 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+    private ShardingStrategy strategy = ShardingStrategy.EMAIL_HASH;
+    /**
+     * Amount of ids owned by each shard in {@link ShardingStrategy#ID_RANGE} mode.
+     * Zero splits the positive int space evenly between the configured shards.
+     */
+    private int idRangeSize = 0;
+    /**
+     * Leak detection of the shard pools. They copy {@code spring.datasource.hikari} but also serve the
+     * export and import jobs, which hold a connection for minutes, so they use the threshold of the
+     * {@code pool-batch} preset instead of the request-sized one.
+     */
+    private Duration leakDetectionThreshold = Duration.ofMinutes(10);
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName = "org.postgresql.Driver";
+        private int maximumPoolSize = 10;
+    }
+}
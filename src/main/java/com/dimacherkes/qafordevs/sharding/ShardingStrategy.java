@@ -0,0 +1,5 @@
+package com.dimacherkes.qafordevs.sharding;
+
+public enum ShardingStrategy {
+    EMAIL_HASH, ID_RANGE
+}
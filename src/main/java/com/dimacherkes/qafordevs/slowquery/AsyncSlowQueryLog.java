@@ -0,0 +1,68 @@
+package com.dimacherkes.qafordevs.slowquery;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes slow statements from a single background thread so the query thread never blocks on
+ * logging I/O. When the queue is full new entries are dropped rather than slowing the caller down.
+ */
+@Slf4j(topic = "qafordevs.slow-query")
+public class AsyncSlowQueryLog implements MeterBinder, DisposableBean {
+
+    private final BlockingQueue<SlowQuery> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncSlowQueryLog(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = Thread.ofPlatform()
+                .name("slow-query-log")
+                .daemon()
+                .start(this::drain);
+    }
+
+    public void submit(SlowQuery slowQuery) {
+        if (!queue.offer(slowQuery)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("developer.sql.slow.dropped", dropped, AtomicLong::get)
+                .description("Slow statements not logged because the log queue was full")
+                .register(registry);
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                SlowQuery slowQuery = queue.poll(1, TimeUnit.SECONDS);
+                if (slowQuery != null) {
+                    log.warn("Slow query took {} ms on {} from {} [{}]: {} params={}",
+                            slowQuery.elapsedMillis(), slowQuery.dataSource(), slowQuery.caller(),
+                            slowQuery.thread(), slowQuery.statements(), slowQuery.parameters());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
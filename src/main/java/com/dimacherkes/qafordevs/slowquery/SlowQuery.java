@@ -0,0 +1,7 @@
+package com.dimacherkes.qafordevs.slowquery;
+
+import java.util.List;
+
+public record SlowQuery(long elapsedMillis, String dataSource, List<String> statements,
+                        List<String> parameters, String caller, String thread) {
+}
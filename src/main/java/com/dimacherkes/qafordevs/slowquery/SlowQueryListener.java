@@ -0,0 +1,74 @@
+package com.dimacherkes.qafordevs.slowquery;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Picks statements slower than the threshold and hands them to a sink. Everything that costs more
+ * than a comparison (sampling, stack walking, copying bind parameters) only happens on the slow path.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final String APPLICATION_PACKAGE = "com.dimacherkes.qafordevs.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SlowQueryLogProperties properties;
+    private final Consumer<SlowQuery> sink;
+    private final long thresholdMillis;
+
+    public SlowQueryListener(SlowQueryLogProperties properties, Consumer<SlowQuery> sink) {
+        this.properties = properties;
+        this.sink = sink;
+        this.thresholdMillis = properties.getThreshold().toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        if (properties.getSampleRate() < 1.0 && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+        List<String> statements = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .toList();
+        List<String> parameters = properties.isIncludeParameters()
+                ? queryInfoList.stream()
+                        .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                        .map(SlowQueryListener::formatParameters)
+                        .toList()
+                : List.of();
+        sink.accept(new SlowQuery(execInfo.getElapsedTime(), execInfo.getDataSourceName(), statements,
+                parameters, findCaller(), Thread.currentThread().getName()));
+    }
+
+    private static String formatParameters(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .map(ParameterSetOperation::getArgs)
+                .filter(args -> args.length > 1)
+                .map(args -> String.valueOf(args[1]))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String findCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+                .filter(frame -> !frame.getClassName().startsWith(SlowQueryListener.class.getName()))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+}
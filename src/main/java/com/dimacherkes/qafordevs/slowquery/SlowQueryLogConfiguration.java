@@ -0,0 +1,22 @@
+package com.dimacherkes.qafordevs.slowquery;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "qafordevs.slow-query-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SlowQueryLogProperties.class)
+public class SlowQueryLogConfiguration {
+
+    @Bean
+    public AsyncSlowQueryLog asyncSlowQueryLog(SlowQueryLogProperties properties) {
+        return new AsyncSlowQueryLog(properties.getQueueCapacity());
+    }
+
+    @Bean
+    public SlowQueryListener slowQueryListener(SlowQueryLogProperties properties, AsyncSlowQueryLog asyncSlowQueryLog) {
+        return new SlowQueryListener(properties, asyncSlowQueryLog::submit);
+    }
+}
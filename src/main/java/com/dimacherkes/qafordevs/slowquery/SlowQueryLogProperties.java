@@ -0,0 +1,23 @@
+package com.dimacherkes.qafordevs.slowquery;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "qafordevs.slow-query-log")
+public class SlowQueryLogProperties {
+
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(200);
+    /**
+     * Share of slow statements that get logged, from 0.0 to 1.0.
+     */
+    private double sampleRate = 1.0;
+    private boolean includeParameters = true;
+    /**
+     * Slow statements waiting to be written; anything beyond is dropped and counted.
+     */
+    private int queueCapacity = 1024;
+}
@@ -0,0 +1,28 @@
+package com.dimacherkes.qafordevs.startup;
+
+import com.dimacherkes.qafordevs.audit.DeveloperAuditLog;
+import com.dimacherkes.qafordevs.invalidation.InvalidationListener;
+import com.dimacherkes.qafordevs.invalidation.InvalidationPublisher;
+import com.dimacherkes.qafordevs.pool.AdaptivePoolSizer;
+import com.dimacherkes.qafordevs.roster.DeveloperRosterMaintainer;
+import com.dimacherkes.qafordevs.roster.RosterSnapshotter;
+import com.dimacherkes.qafordevs.slowquery.AsyncSlowQueryLog;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfiguration {
+
+    /**
+     * Beans that do their work as a side effect of being created (starting LISTEN, writer, flusher
+     * and scheduler threads). Nothing injects most of them, so under
+     * {@code spring.main.lazy-initialization} they would silently never exist; they stay eager.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter sideEffectBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DeveloperAuditLog.class,
+                InvalidationListener.class, InvalidationPublisher.class, DeveloperRosterMaintainer.class,
+                RosterSnapshotter.class, AdaptivePoolSizer.class, AsyncSlowQueryLog.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.dimacherkes.qafordevs.audit;
+
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+
+public class DeveloperAuditLogTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path spoolDir;
+
+    @Test
+    @DisplayName("Test entries left at shutdown are spooled functionality")
+    public void givenUnreachableStore_whenShutdownTimesOut_thenEntriesAreSpooled() throws Exception {
+        // given
+        DeveloperAuditStore store = Mockito.mock(DeveloperAuditStore.class);
+        willThrow(new IllegalStateException("database is down")).given(store).insertAll(anyList());
+        AuditSpool spool = spool();
+        DeveloperAuditLog auditLog = new DeveloperAuditLog(store, spool, properties());
+        AuditEntry first = entry(1);
+        AuditEntry second = entry(2);
+        auditLog.submit(first);
+        auditLog.submit(second);
+        // when
+        auditLog.destroy();
+        // then
+        List<AuditEntry> spooled = new ArrayList<>();
+        spool.replay(10, spooled::addAll);
+        assertThat(spooled).extracting(AuditEntry::eventId).containsExactlyInAnyOrder(first.eventId(), second.eventId());
+    }
+
+    @Test
+    @DisplayName("Test spooled entries are written after the next start functionality")
+    public void givenSpooledEntries_whenAuditLogStarts_thenTheyAreWrittenAndRemoved() throws Exception {
+        // given
+        AuditSpool spool = spool();
+        AuditEntry spooled = entry(3);
+        spool.append(List.of(spooled));
+        DeveloperAuditStore store = Mockito.mock(DeveloperAuditStore.class);
+        List<AuditEntry> written = new CopyOnWriteArrayList<>();
+        willAnswer(invocation -> written.addAll(invocation.getArgument(0))).given(store).insertAll(anyList());
+        // when
+        DeveloperAuditLog auditLog = new DeveloperAuditLog(store, spool, properties());
+        // then
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (written.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(written).extracting(AuditEntry::eventId).containsExactly(spooled.eventId());
+            assertThat(spool.isEmpty()).isTrue();
+        } finally {
+            auditLog.destroy();
+        }
+    }
+
+    private AuditSpool spool() {
+        return new AuditSpool(spoolDir.resolve("spool.ndjson"), objectMapper);
+    }
+
+    private static AuditProperties properties() {
+        AuditProperties properties = new AuditProperties();
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setShutdownTimeout(Duration.ofMillis(200));
+        return properties;
+    }
+
+    private static AuditEntry entry(int developerId) {
+        return new AuditEntry(UUID.randomUUID(), Instant.now(), developerId, ChangeType.CREATED, null,
+                Map.of("firstName", "John"));
+    }
+}
@@ -0,0 +1,181 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.exception.CircuitOpenException;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+public class CircuitBreakerAspectTests {
+
+    private DeveloperRepository developers;
+    private DeveloperRepository repository;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        developers = Mockito.mock(DeveloperRepository.class);
+        circuitBreaker = new CircuitBreaker(properties());
+        AspectJProxyFactory factory = new AspectJProxyFactory(developers);
+        LastKnownValues lastKnownValues = new LastKnownValues(1024 * 1024, 1024 * 1024, Duration.ofHours(1),
+                Duration.ofMinutes(1));
+        factory.addAspect(new CircuitBreakerAspect(circuitBreaker, lastKnownValues, new SimpleMeterRegistry()));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Test fallback serves the developer as it was read, not as it was modified since functionality")
+    public void givenReadDeveloperModifiedButNotSaved_whenCircuitOpen_thenFallbackServesReadState() {
+        // given
+        given(developers.findById(anyInt())).willReturn(Optional.of(developer(1, "john@mail.com", "Java")));
+        repository.findById(1).orElseThrow().setStatus(Status.DELETED);
+        circuitBreaker.onFailure();
+        // when
+        Optional<DeveloperEntity> fallback = repository.findById(1);
+        // then
+        assertThat(fallback).map(DeveloperEntity::getStatus).contains(Status.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Test database failure falls back to the last known value functionality")
+    public void givenRememberedRead_whenDatabaseUnreachable_thenLastKnownValueIsReturned() {
+        // given
+        given(developers.findAllActiveBySpecialty(anyString()))
+                .willReturn(new ArrayList<>(List.of(developer(1, "john@mail.com", "Java"))))
+                .willThrow(new CannotCreateTransactionException("Connection refused"));
+        repository.findAllActiveBySpecialty("Java");
+        // when
+        List<DeveloperEntity> fallback = repository.findAllActiveBySpecialty("Java");
+        // then
+        assertThat(fallback).extracting(DeveloperEntity::getId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Test read within the refresh interval keeps the remembered value functionality")
+    public void givenFreshLastKnownValue_whenReadAgain_thenRememberedValueIsNotReplaced() {
+        // given
+        given(developers.findAllActiveBySpecialty(anyString()))
+                .willReturn(new ArrayList<>(List.of(developer(1, "john@mail.com", "Java"))))
+                .willReturn(new ArrayList<>(List.of(developer(1, "john@mail.com", "Java"),
+                        developer(2, "mike@mail.com", "Java"))));
+        repository.findAllActiveBySpecialty("Java");
+        repository.findAllActiveBySpecialty("Java");
+        circuitBreaker.onFailure();
+        // when
+        List<DeveloperEntity> fallback = repository.findAllActiveBySpecialty("Java");
+        // then
+        assertThat(fallback).extracting(DeveloperEntity::getId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Test email change drops the lookup by the old email functionality")
+    public void givenEmailChanged_whenCircuitOpen_thenOldEmailIsNotServed() {
+        // given
+        given(developers.findByEmail(anyString())).willReturn(developer(1, "john@mail.com", "Java"));
+        given(developers.save(any(DeveloperEntity.class))).willAnswer(invocation -> invocation.getArgument(0));
+        repository.findByEmail("john@mail.com");
+        repository.save(developer(1, "johnny@mail.com", "Java"));
+        circuitBreaker.onFailure();
+        // when
+        // then
+        assertThatThrownBy(() -> repository.findByEmail("john@mail.com")).isInstanceOf(CircuitOpenException.class);
+        assertThat(repository.findById(1)).map(DeveloperEntity::getEmail).contains("johnny@mail.com");
+    }
+
+    @Test
+    @DisplayName("Test saved developer drops the lookup by its new email functionality")
+    public void givenEmailTakenBySave_whenCircuitOpen_thenRememberedMissIsNotServed() {
+        // given
+        given(developers.findByEmail(anyString())).willReturn(null);
+        given(developers.save(any(DeveloperEntity.class))).willAnswer(invocation -> invocation.getArgument(0));
+        repository.findByEmail("johnny@mail.com");
+        repository.save(developer(1, "johnny@mail.com", "Java"));
+        circuitBreaker.onFailure();
+        // when
+        // then
+        assertThatThrownBy(() -> repository.findByEmail("johnny@mail.com")).isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    @DisplayName("Test delete drops every list holding the developer functionality")
+    public void givenDeletedDeveloper_whenCircuitOpen_thenListsHoldingItAreNotServed() {
+        // given
+        given(developers.findAllActiveBySpecialty(anyString()))
+                .willReturn(new ArrayList<>(List.of(developer(1, "john@mail.com", "Java"))));
+        repository.findAllActiveBySpecialty("Java");
+        repository.deleteById(1);
+        circuitBreaker.onFailure();
+        // when
+        // then
+        assertThatThrownBy(() -> repository.findAllActiveBySpecialty("Java")).isInstanceOf(CircuitOpenException.class);
+        assertThatThrownBy(() -> repository.findById(1)).isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    @DisplayName("Test specialty change drops the list of the new specialty functionality")
+    public void givenSpecialtyChanged_whenCircuitOpen_thenNewSpecialtyListIsNotServed() {
+        // given
+        given(developers.findAllActiveBySpecialty(anyString())).willReturn(new ArrayList<>());
+        given(developers.save(any(DeveloperEntity.class))).willAnswer(invocation -> invocation.getArgument(0));
+        repository.findAllActiveBySpecialty("Go");
+        repository.save(developer(1, "john@mail.com", "Go"));
+        circuitBreaker.onFailure();
+        // when
+        // then
+        assertThatThrownBy(() -> repository.findAllActiveBySpecialty("Go")).isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    @DisplayName("Test write is rejected while the circuit is open functionality")
+    public void givenOpenCircuit_whenSave_thenCircuitOpenExceptionWithRetryAfterIsThrown() {
+        // given
+        circuitBreaker.onFailure();
+        // when
+        // then
+        assertThatThrownBy(() -> repository.save(developer(1, "john@mail.com", "Java")))
+                .isInstanceOfSatisfying(CircuitOpenException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isPositive());
+        Mockito.verifyNoInteractions(developers);
+    }
+
+    private static DeveloperEntity developer(int id, String email, String specialty) {
+        return DeveloperEntity.builder()
+                .id(id)
+                .email(email)
+                .firstName("John")
+                .lastName("Doe")
+                .specialty(specialty)
+                .status(Status.ACTIVE)
+                .build();
+    }
+
+    /**
+     * A single failure opens the circuit.
+     */
+    private static CircuitBreakerProperties properties() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(1);
+        properties.setMinimumCalls(1);
+        properties.setFailureRateThreshold(0.5);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        return properties;
+    }
+}
@@ -0,0 +1,96 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(properties(), clock::get);
+
+    @Test
+    @DisplayName("Test circuit opens when failure rate is reached functionality")
+    public void givenFailuresAboveThreshold_whenOnFailure_thenCircuitOpensAndRejectsCalls() {
+        // given
+        recordOutcomes(2, 2);
+        // when
+        boolean allowed = circuitBreaker.allowRequest();
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(allowed).isFalse();
+        assertThat(circuitBreaker.retryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Test circuit stays closed below minimum calls functionality")
+    public void givenFewerCallsThanMinimum_whenOnFailure_thenCircuitStaysClosed() {
+        // given
+        recordOutcomes(0, 3);
+        // when
+        boolean allowed = circuitBreaker.allowRequest();
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(allowed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test failed probe opens the circuit again functionality")
+    public void givenHalfOpenCircuit_whenProbeFails_thenCircuitOpensAgain() {
+        // given
+        recordOutcomes(2, 2);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        // when
+        boolean probeAllowed = circuitBreaker.allowRequest();
+        circuitBreaker.onFailure();
+        // then
+        assertThat(probeAllowed).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Test circuit closes after every ramp step succeeded functionality")
+    public void givenSuccessfulProbes_whenRampCompletes_thenCircuitCloses() {
+        // given
+        recordOutcomes(2, 2);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        // when
+        circuitBreaker.allowRequest();
+        circuitBreaker.onSuccess();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        circuitBreaker.allowRequest();
+        CircuitBreaker.State afterFirstStep = circuitBreaker.getState();
+        circuitBreaker.onSuccess();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        circuitBreaker.allowRequest();
+        // then
+        assertThat(afterFirstStep).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void recordOutcomes(int successes, int failures) {
+        for (int i = 0; i < successes; i++) {
+            circuitBreaker.onSuccess();
+        }
+        for (int i = 0; i < failures; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private static CircuitBreakerProperties properties() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        // every probe goes through so the ramp is deterministic
+        properties.setRampShares(List.of(1.0, 1.0));
+        properties.setRampStepDuration(Duration.ofSeconds(5));
+        return properties;
+    }
+}
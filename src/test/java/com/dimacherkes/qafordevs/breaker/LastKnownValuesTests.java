@@ -0,0 +1,135 @@
+package com.dimacherkes.qafordevs.breaker;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LastKnownValuesTests {
+
+    private final Instant now = Instant.now();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Test stored developer is not changed through the returned copies functionality")
+    public void givenStoredDeveloper_whenCopiesAreModified_thenStoredValueIsUnchanged() {
+        // given
+        LastKnownValues values = new LastKnownValues(1024 * 1024, 1024 * 1024, Duration.ofHours(1), Duration.ZERO);
+        DeveloperEntity developer = developer(1, "Java");
+        values.put(List.of("findById", 1), Optional.of(developer), Set.of("id:1"), now);
+        developer.setStatus(Status.DELETED);
+        // when
+        ((Optional<DeveloperEntity>) values.get(List.of("findById", 1), now).result()).orElseThrow()
+                .setSpecialty("Go");
+        Object result = values.get(List.of("findById", 1), now).result();
+        // then
+        assertThat(result).isEqualTo(Optional.of(developer(1, "Java")));
+    }
+
+    @Test
+    @DisplayName("Test values are dropped by tag functionality")
+    public void givenValuesSharingTag_whenInvalidate_thenEveryTaggedValueIsDropped() {
+        // given
+        LastKnownValues values = new LastKnownValues(1024 * 1024, 1024 * 1024, Duration.ofHours(1), Duration.ZERO);
+        values.put(List.of("findById", 1), Optional.of(developer(1, "Java")), Set.of("id:1"), now);
+        values.put(List.of("findAllActiveBySpecialty", "Java"), List.of(developer(1, "Java"), developer(2, "Java")),
+                Set.of("specialty:Java", "id:1", "id:2"), now);
+        values.put(List.of("findById", 2), Optional.of(developer(2, "Java")), Set.of("id:2"), now);
+        // when
+        values.invalidate("id:1");
+        // then
+        assertThat(values.get(List.of("findById", 1), now)).isNull();
+        assertThat(values.get(List.of("findAllActiveBySpecialty", "Java"), now)).isNull();
+        assertThat(values.get(List.of("findById", 2), now)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Test value larger than the value budget is not kept functionality")
+    public void givenLargeList_whenPut_thenItIsNotKept() {
+        // given
+        LastKnownValues values = new LastKnownValues(1024 * 1024, 4 * 1024, Duration.ofHours(1), Duration.ZERO);
+        List<DeveloperEntity> table = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            table.add(developer(id, "Java"));
+        }
+        // when
+        values.put(List.of("findAllActiveBySpecialty", "Java"), table, Set.of("specialty:Java"), now);
+        // then
+        assertThat(values.get(List.of("findAllActiveBySpecialty", "Java"), now)).isNull();
+        assertThat(values.bytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test list too long for the value budget is not copied functionality")
+    public void givenListLongerThanTheValueBudgetAllows_whenPut_thenDevelopersAreNotRead() {
+        // given
+        LastKnownValues values = new LastKnownValues(1024 * 1024, 4 * 1024, Duration.ofHours(1), Duration.ZERO);
+        List<DeveloperEntity> table = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            table.add(Mockito.mock(DeveloperEntity.class));
+        }
+        // when
+        values.put(List.of("findAllActiveBySpecialty", "Java"), table, Set.of("specialty:Java"), now);
+        // then
+        assertThat(values.get(List.of("findAllActiveBySpecialty", "Java"), now)).isNull();
+        Mockito.verifyNoInteractions(table.toArray());
+    }
+
+    @Test
+    @DisplayName("Test value is refreshed only once the refresh interval passed functionality")
+    public void givenStoredValue_whenNeedsRefresh_thenTrueOnlyAfterRefreshInterval() {
+        // given
+        LastKnownValues values = new LastKnownValues(1024 * 1024, 1024 * 1024, Duration.ofHours(1),
+                Duration.ofSeconds(30));
+        List<Object> key = List.of("findById", 1);
+        // when
+        boolean missing = values.needsRefresh(key, now);
+        values.put(key, Optional.of(developer(1, "Java")), Set.of("id:1"), now);
+        boolean fresh = values.needsRefresh(key, now.plusSeconds(29));
+        boolean due = values.needsRefresh(key, now.plusSeconds(30));
+        // then
+        assertThat(missing).isTrue();
+        assertThat(fresh).isFalse();
+        assertThat(due).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test least recently used values are evicted beyond the byte budget functionality")
+    public void givenFullBudget_whenPut_thenLeastRecentlyUsedValueIsEvicted() {
+        // given
+        // three developers fit, a fourth does not
+        LastKnownValues values = new LastKnownValues(600, 600, Duration.ofHours(1), Duration.ZERO);
+        for (int id = 1; id <= 3; id++) {
+            values.put(List.of("findById", id), Optional.of(developer(id, "Java")), Set.of("id:" + id), now);
+        }
+        values.get(List.of("findById", 1), now);
+        // when
+        values.put(List.of("findById", 4), Optional.of(developer(4, "Java")), Set.of("id:4"), now);
+        // then
+        assertThat(values.bytes()).isLessThanOrEqualTo(600);
+        assertThat(values.get(List.of("findById", 1), now)).isNotNull();
+        assertThat(values.get(List.of("findById", 2), now)).isNull();
+        assertThat(values.get(List.of("findById", 4), now)).isNotNull();
+    }
+
+    private static DeveloperEntity developer(int id, String specialty) {
+        return DeveloperEntity.builder()
+                .id(id)
+                .email("developer" + id + "@mail.com")
+                .firstName("John")
+                .lastName("Doe")
+                .specialty(specialty)
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
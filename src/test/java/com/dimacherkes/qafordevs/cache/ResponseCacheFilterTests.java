@@ -0,0 +1,138 @@
+package com.dimacherkes.qafordevs.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheFilterTests {
+
+    private final DeveloperDataGeneration dataGeneration = new DeveloperDataGeneration();
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    @DisplayName("Test hit replays the stored headers and varies on Accept functionality")
+    public void givenCachedResponse_whenReadAgain_thenHeadersAreReplayed() throws Exception {
+        // given
+        ResponseCacheFilter filter = filter(new ResponseCacheProperties());
+        filter.doFilter(get("/api/v1/developers/specialty/Java"), new MockHttpServletResponse(), handler("[]"));
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/developers/specialty/Java"), response, handler("[]"));
+        // then
+        assertThat(handled).hasValue(1);
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=5");
+        assertThat(response.getHeader(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    @DisplayName("Test unknown query parameter bypasses the cache functionality")
+    public void givenUnknownParameter_whenReadTwice_thenHandlerRunsTwice() throws Exception {
+        // given
+        ResponseCacheFilter filter = filter(new ResponseCacheProperties());
+        MockHttpServletRequest request = get("/api/v1/developers");
+        request.setParameter("cacheBuster", "1");
+        filter.doFilter(request, new MockHttpServletResponse(), handler("[]"));
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), handler("[]"));
+        // then
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Test parameter order does not create separate entries functionality")
+    public void givenSameParametersInOtherOrder_whenRead_thenServedFromCache() throws Exception {
+        // given
+        ResponseCacheFilter filter = filter(new ResponseCacheProperties());
+        MockHttpServletRequest first = get("/api/v1/developers");
+        first.setParameter("specialty", "Java");
+        first.setParameter("limit", "10");
+        filter.doFilter(first, new MockHttpServletResponse(), handler("[]"));
+        // when
+        MockHttpServletRequest second = get("/api/v1/developers");
+        second.setParameter("limit", "10");
+        second.setParameter("specialty", "Java");
+        filter.doFilter(second, new MockHttpServletResponse(), handler("[]"));
+        // then
+        assertThat(handled).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Test entry over the total byte budget is not stored functionality")
+    public void givenBudgetUsedUp_whenAnotherListIsRead_thenItIsNotStored() throws Exception {
+        // given
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxTotalBytes(16);
+        ResponseCacheFilter filter = filter(properties);
+        filter.doFilter(get("/api/v1/developers/specialty/Java"), new MockHttpServletResponse(), handler("[1,2,3,4,5]"));
+        // when
+        filter.doFilter(get("/api/v1/developers/specialty/Go"), new MockHttpServletResponse(), handler("[6,7,8,9,10]"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/developers/specialty/Go"), response, handler("[6,7,8,9,10]"));
+        // then
+        assertThat(handled).hasValue(3);
+        assertThat(response.getContentAsString()).isEqualTo("[6,7,8,9,10]");
+    }
+
+    @Test
+    @DisplayName("Test full list of several megabytes is served precompressed from the cache functionality")
+    public void givenLargeFullList_whenReadAgainWithGzip_thenServedFromCache() throws Exception {
+        // given
+        ResponseCacheFilter filter = filter(new ResponseCacheProperties());
+        String body = largeList(2 * 1024 * 1024);
+        filter.doFilter(get("/api/v1/developers"), new MockHttpServletResponse(), handler(body));
+        // when
+        MockHttpServletRequest request = get("/api/v1/developers");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, handler(body));
+        // then
+        assertThat(handled).hasValue(1);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream gunzipped = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gunzipped.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    private ResponseCacheFilter filter(ResponseCacheProperties properties) {
+        return new ResponseCacheFilter(dataGeneration, properties, new SimpleMeterRegistry());
+    }
+
+    private FilterChain handler(String body) {
+        return (request, response) -> {
+            handled.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpServletResponse.SC_OK);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=5");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static String largeList(int minLength) {
+        StringBuilder list = new StringBuilder("[");
+        for (int id = 1; list.length() < minLength; id++) {
+            list.append("{\"id\":").append(id).append(",\"email\":\"developer").append(id)
+                    .append("@mail.com\",\"specialty\":\"Java\",\"status\":\"ACTIVE\"},");
+        }
+        list.setCharAt(list.length() - 1, ']');
+        return list.toString();
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
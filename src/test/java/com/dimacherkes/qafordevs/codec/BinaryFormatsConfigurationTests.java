@@ -0,0 +1,58 @@
+package com.dimacherkes.qafordevs.codec;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryFormatsConfigurationTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+            .withUserConfiguration(BinaryFormatsConfiguration.class)
+            .withPropertyValues("spring.jackson.property-naming-strategy=SNAKE_CASE");
+
+    @Test
+    @DisplayName("Test binary mappers follow the Boot Jackson configuration functionality")
+    public void givenBootJacksonSettings_whenDeveloperSerialized_thenEveryFormatHasTheSameFields() {
+        contextRunner.run(context -> {
+            // given
+            DeveloperObjectMappers mappers = context.getBean(DeveloperObjectMappers.class);
+            DeveloperDto developer = DeveloperDto.builder().id(1).firstName("John").build();
+            // when
+            Map<?, ?> json = mappers.json().readValue(mappers.json().writeValueAsBytes(developer), Map.class);
+            Map<?, ?> smile = new SmileMapper().readValue(mappers.smile().writeValueAsBytes(developer), Map.class);
+            Map<?, ?> cbor = new CBORMapper().readValue(mappers.cbor().writeValueAsBytes(developer), Map.class);
+            // then
+            assertThat(json).containsOnlyKeys("id", "first_name");
+            assertThat(smile).isEqualTo(json);
+            assertThat(cbor).isEqualTo(json);
+        });
+    }
+
+    @Test
+    @DisplayName("Test message converters share the format mappers functionality")
+    public void givenConfiguration_whenConvertersCreated_thenTheyUseTheSameMappers() {
+        contextRunner.run(context -> {
+            // given
+            DeveloperObjectMappers mappers = context.getBean(DeveloperObjectMappers.class);
+            // when
+            // then
+            assertThat(context.getBean(MappingJackson2SmileHttpMessageConverter.class)
+                    .getObjectMapper()).isSameAs(mappers.smile());
+            assertThat(context.getBean(MappingJackson2CborHttpMessageConverter.class)
+                    .getObjectMapper()).isSameAs(mappers.cbor());
+            assertThat(mappers.forMediaType(DeveloperMediaTypes.APPLICATION_SMILE)).isSameAs(mappers.smile());
+        });
+    }
+}
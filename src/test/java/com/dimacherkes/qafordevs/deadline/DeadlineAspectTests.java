@@ -0,0 +1,104 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class DeadlineAspectTests {
+
+    private DeveloperRepository developers;
+    private DeveloperRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        developers = Mockito.mock(DeveloperRepository.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(developers);
+        factory.addAspect(new DeadlineAspect(TimeUnit.MILLISECONDS.toNanos(5)));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Test repository call is refused below the minimum query budget functionality")
+    public void givenLessThanMinQueryBudgetLeft_whenRepositoryCalled_thenDeadlineExceededExceptionIsThrown() {
+        // given
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1);
+        // when
+        // then
+        assertThatThrownBy(() -> RequestDeadline.callWith(deadline, () -> repository.findById(1)))
+                .isInstanceOf(DeadlineExceededException.class);
+        verify(developers, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test statement cancelled at the deadline is reported as deadline exceeded functionality")
+    public void givenStatementCancelledAfterDeadline_whenRepositoryCalled_thenDeadlineExceededExceptionIsThrown() {
+        // given
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+        given(developers.findById(anyInt())).willAnswer(invocation -> cancelledAt(deadline));
+        // when
+        // then
+        assertThatThrownBy(() -> RequestDeadline.callWith(deadline, () -> repository.findById(1)))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasRootCauseInstanceOf(SQLException.class);
+    }
+
+    @Test
+    @DisplayName("Test cancellation with time left is passed on unchanged functionality")
+    public void givenStatementCancelledBeforeDeadline_whenRepositoryCalled_thenOriginalExceptionIsThrown() {
+        // given
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        given(developers.findById(anyInt())).willThrow(new DataAccessResourceFailureException("could not execute query",
+                new SQLException("ERROR: canceling statement due to user request", "57014")));
+        // when
+        // then
+        assertThatThrownBy(() -> RequestDeadline.callWith(deadline, () -> repository.findById(1)))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Test statement cancelled at the deadline is answered with 503 functionality")
+    public void givenStatementCancelledAfterDeadline_whenRequestFiltered_thenServiceUnavailableIsReturned() throws Exception {
+        // given
+        DeadlineFilter filter = new DeadlineFilter(new DeadlineProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/developers/1");
+        request.addHeader("X-Request-Timeout", "20");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        given(developers.findById(anyInt())).willAnswer(invocation -> cancelledAt(RequestDeadline.current()));
+        // when
+        filter.doFilter(request, response, (req, res) -> repository.findById(1));
+        // then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getContentAsString()).contains("Request deadline exceeded");
+    }
+
+    /**
+     * Behaves like Postgres cancelling the statement once its query timeout, the time left, ran out.
+     */
+    private static Object cancelledAt(long deadline) throws InterruptedException {
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos + TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        throw new DataAccessResourceFailureException("could not execute query",
+                new SQLException("ERROR: canceling statement due to user request", "57014"));
+    }
+}
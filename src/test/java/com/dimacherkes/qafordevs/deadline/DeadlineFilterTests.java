@@ -0,0 +1,100 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlineFilter filter = new DeadlineFilter(new DeadlineProperties(), new ObjectMapper(), meterRegistry);
+
+    @Test
+    @DisplayName("Test header budget becomes request deadline functionality")
+    public void givenTimeoutHeader_whenFilter_thenChainRunsWithinThatBudget() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/developers/1");
+        request.addHeader("X-Request-Timeout", "300");
+        AtomicLong remaining = new AtomicLong();
+        FilterChain chain = (req, res) -> remaining.set(RequestDeadline.remainingNanos());
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        // then
+        assertThat(remaining.get()).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(RequestDeadline.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test zero budget is rejected as a bad request functionality")
+    public void givenZeroTimeoutHeader_whenFilter_thenBadRequestIsReturned() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/developers/1");
+        request.addHeader("X-Request-Timeout", "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> invoked = new AtomicReference<>(false);
+        // when
+        filter.doFilter(request, response, (req, res) -> invoked.set(true));
+        // then
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(invoked.get()).isFalse();
+        assertThat(meterRegistry.get("developer.requests.deadline_exceeded").tag("endpoint", "point_read").counter()
+                .count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test negative budget is rejected as a bad request functionality")
+    public void givenNegativeTimeoutHeader_whenFilter_thenBadRequestIsReturned() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/developers/1");
+        request.addHeader("X-Request-Timeout", "-100");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> invoked = new AtomicReference<>(false);
+        // when
+        filter.doFilter(request, response, (req, res) -> invoked.set(true));
+        // then
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("positive");
+        assertThat(invoked.get()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test deadline exceeded downstream maps to 503 functionality")
+    public void givenChainExceedsDeadline_whenFilter_thenServiceUnavailableIsReturned() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/developers");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            throw new DeadlineExceededException("Request deadline exceeded");
+        };
+        // when
+        filter.doFilter(request, response, chain);
+        // then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getContentAsString()).contains("Request deadline exceeded");
+    }
+
+    @Test
+    @DisplayName("Test malformed timeout header functionality")
+    public void givenNonNumericTimeoutHeader_whenFilter_thenBadRequestIsReturned() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/developers/1");
+        request.addHeader("X-Request-Timeout", "soon");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // when
+        filter.doFilter(request, response, (req, res) -> {
+        });
+        // then
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+}
@@ -0,0 +1,92 @@
+package com.dimacherkes.qafordevs.deadline;
+
+import com.dimacherkes.qafordevs.exception.DeadlineExceededException;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.postgresql.jdbc.PgStatement;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class DeadlineQueryListenerTests {
+
+    private final DeadlineQueryListener listener = new DeadlineQueryListener();
+
+    @Test
+    @DisplayName("Test statement runs with the remaining time as query timeout functionality")
+    public void givenDeadline_whenBeforeQuery_thenRemainingMillisBecomeQueryTimeout() throws Exception {
+        // given
+        PgStatement pgStatement = Mockito.mock(PgStatement.class);
+        Statement statement = Mockito.mock(Statement.class);
+        given(statement.isWrapperFor(PgStatement.class)).willReturn(true);
+        given(statement.unwrap(PgStatement.class)).willReturn(pgStatement);
+        // when
+        RequestDeadline.callWith(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300), () -> {
+            listener.beforeQuery(execution(statement), List.of());
+            return null;
+        });
+        // then
+        verify(pgStatement).setQueryTimeoutMs(longThat(millis -> millis > 0 && millis <= 300));
+    }
+
+    @Test
+    @DisplayName("Test other drivers get the remaining time rounded up to seconds functionality")
+    public void givenNonPostgresStatement_whenBeforeQuery_thenTimeoutIsRoundedUpToSeconds() throws Exception {
+        // given
+        Statement statement = Mockito.mock(Statement.class);
+        given(statement.isWrapperFor(PgStatement.class)).willReturn(false);
+        // when
+        RequestDeadline.callWith(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500), () -> {
+            listener.beforeQuery(execution(statement), List.of());
+            return null;
+        });
+        // then
+        verify(statement).setQueryTimeout(2);
+    }
+
+    @Test
+    @DisplayName("Test statement outside a request keeps its timeout functionality")
+    public void givenNoDeadline_whenBeforeQuery_thenTimeoutIsNotTouched() throws Exception {
+        // given
+        Statement statement = Mockito.mock(Statement.class);
+        // when
+        listener.beforeQuery(execution(statement), List.of());
+        // then
+        verify(statement, never()).setQueryTimeout(anyInt());
+        verify(statement, never()).unwrap(PgStatement.class);
+    }
+
+    @Test
+    @DisplayName("Test statement is not sent once the deadline passed functionality")
+    public void givenPassedDeadline_whenBeforeQuery_thenDeadlineExceededExceptionIsThrown() throws Exception {
+        // given
+        PgStatement pgStatement = Mockito.mock(PgStatement.class);
+        Statement statement = Mockito.mock(Statement.class);
+        given(statement.isWrapperFor(PgStatement.class)).willReturn(true);
+        given(statement.unwrap(PgStatement.class)).willReturn(pgStatement);
+        // when
+        // then
+        assertThatThrownBy(() -> RequestDeadline.callWith(System.nanoTime() - 1, () -> {
+            listener.beforeQuery(execution(statement), List.of());
+            return null;
+        })).isInstanceOf(DeadlineExceededException.class);
+        verify(pgStatement, never()).setQueryTimeoutMs(anyLong());
+    }
+
+    private static ExecutionInfo execution(Statement statement) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setStatement(statement);
+        return execution;
+    }
+}
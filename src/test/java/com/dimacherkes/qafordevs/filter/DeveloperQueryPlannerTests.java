@@ -0,0 +1,77 @@
+package com.dimacherkes.qafordevs.filter;
+
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.exception.InvalidDeveloperFilterException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeveloperQueryPlannerTests {
+
+    private final DeveloperQueryPlanner planner = new DeveloperQueryPlanner(new FilterProperties());
+
+    @Test
+    @DisplayName("Test filter access path selection functionality")
+    public void givenFilters_whenPlan_thenMostSelectiveIndexIsChosen() {
+        // when
+        DeveloperQueryPlan bySpecialty = planner.plan(
+                new DeveloperFilter(null, Set.of("Java", "Go"), "Do", null, null, null, null));
+        DeveloperQueryPlan byPrefix = planner.plan(
+                new DeveloperFilter(Set.of(Status.ACTIVE), null, "Do", 1, null, null, 10));
+        DeveloperQueryPlan byIdRange = planner.plan(
+                new DeveloperFilter(Set.of(Status.ACTIVE), null, null, 1, 100, 50, null));
+        DeveloperQueryPlan byStatus = planner.plan(
+                new DeveloperFilter(Set.of(Status.DELETED), null, null, null, null, null, null));
+        // then
+        assertThat(bySpecialty.accessPath()).isEqualTo(AccessPath.SPECIALTY);
+        assertThat(bySpecialty.limit()).isEqualTo(100);
+        assertThat(byPrefix.accessPath()).isEqualTo(AccessPath.LAST_NAME_PREFIX);
+        assertThat(byPrefix.limit()).isEqualTo(10);
+        assertThat(byIdRange.accessPath()).isEqualTo(AccessPath.ID_RANGE);
+        assertThat(byIdRange.pages()).doesNotContain(byIdRange.count());
+        assertThat(byStatus.accessPath()).isEqualTo(AccessPath.STATUS_SCAN);
+    }
+
+    @Test
+    @DisplayName("Test specialty filter reads one index range per status and specialty functionality")
+    public void givenSpecialtiesWithoutStatus_whenPlan_thenOneActiveRangePerSpecialtyIsPlanned() {
+        // when
+        DeveloperQueryPlan plan = planner.plan(
+                new DeveloperFilter(null, Set.of("Java", "Go"), null, null, null, null, null));
+        DeveloperQueryPlan withStatuses = planner.plan(
+                new DeveloperFilter(Set.of(Status.ACTIVE, Status.DELETED), Set.of("Java", "Go"), null, null, null, null, null));
+        // then
+        assertThat(plan.pages()).hasSize(2);
+        assertThat(withStatuses.pages()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Test cursor or limit without criteria functionality")
+    public void givenOnlyLimitOrCursor_whenPlan_thenDefaultListingIsPaged() {
+        // when
+        DeveloperQueryPlan limitOnly = planner.plan(new DeveloperFilter(null, null, null, null, null, null, 10));
+        DeveloperQueryPlan cursorOnly = planner.plan(new DeveloperFilter(null, null, null, null, null, 10, null));
+        // then
+        assertThat(limitOnly.accessPath()).isEqualTo(AccessPath.STATUS_SCAN);
+        assertThat(limitOnly.limit()).isEqualTo(10);
+        assertThat(limitOnly.pages()).hasSize(1);
+        assertThat(cursorOnly.accessPath()).isEqualTo(AccessPath.STATUS_SCAN);
+        assertThat(cursorOnly.limit()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Test filter rejection functionality")
+    public void givenFiltersNoIndexCanServe_whenPlan_thenExceptionIsThrown() {
+        // then
+        assertThrows(InvalidDeveloperFilterException.class, () -> planner.plan(
+                new DeveloperFilter(null, null, "D", null, null, null, null)));
+        assertThrows(InvalidDeveloperFilterException.class, () -> planner.plan(
+                new DeveloperFilter(Set.of(Status.ACTIVE), null, null, 10, 1, null, null)));
+        assertThrows(InvalidDeveloperFilterException.class, () -> planner.plan(
+                new DeveloperFilter(Set.of(Status.ACTIVE), null, null, null, null, null, 10_000)));
+    }
+}
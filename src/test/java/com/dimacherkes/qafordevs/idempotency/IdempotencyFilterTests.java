@@ -0,0 +1,142 @@
+package com.dimacherkes.qafordevs.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyFilterTests {
+
+    private static final String BODY = "{\"email\":\"john@example.com\"}";
+
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    @DisplayName("Test retry is replayed without reaching the controller functionality")
+    public void givenCompletedRequest_whenRetried_thenStoredResponseIsReplayed() throws Exception {
+        // given
+        IdempotencyFilter filter = filter(new IdempotencyProperties());
+        filter.doFilter(post("key", BODY), new MockHttpServletResponse(), handler(HttpServletResponse.SC_CREATED));
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("key", BODY), response, handler(HttpServletResponse.SC_CREATED));
+        // then
+        assertThat(handled).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/v1/developers/1");
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Test key reused with a different body is rejected functionality")
+    public void givenCompletedRequest_whenKeyReusedWithOtherBody_thenUnprocessableEntityIsReturned() throws Exception {
+        // given
+        IdempotencyFilter filter = filter(new IdempotencyProperties());
+        filter.doFilter(post("key", BODY), new MockHttpServletResponse(), handler(HttpServletResponse.SC_CREATED));
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("key", "{\"email\":\"jane@example.com\"}"), response,
+                handler(HttpServletResponse.SC_CREATED));
+        // then
+        assertThat(handled).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Test duplicate of a running request is answered with conflict functionality")
+    public void givenRunningRequest_whenDuplicateOutwaitsIt_thenConflictIsReturned() throws Exception {
+        // given
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setInFlightWait(Duration.ofMillis(50));
+        IdempotencyFilter filter = filter(properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                finish.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handler(HttpServletResponse.SC_CREATED).doFilter(request, response);
+        };
+        CompletableFuture<Void> original = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(post("key", BODY), new MockHttpServletResponse(), slow);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(post("key", BODY), response, handler(HttpServletResponse.SC_CREATED));
+        } finally {
+            finish.countDown();
+            original.get(5, TimeUnit.SECONDS);
+        }
+        // then
+        assertThat(handled).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CONFLICT);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Test key is released after a server error functionality")
+    public void givenServerError_whenRetried_thenRequestRunsAgain() throws Exception {
+        // given
+        IdempotencyFilter filter = filter(new IdempotencyProperties());
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        filter.doFilter(post("key", BODY), failed, handler(HttpServletResponse.SC_SERVICE_UNAVAILABLE));
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("key", BODY), response, handler(HttpServletResponse.SC_CREATED));
+        // then
+        assertThat(handled).hasValue(2);
+        assertThat(failed.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    private IdempotencyFilter filter(IdempotencyProperties properties) {
+        return new IdempotencyFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private FilterChain handler(int status) {
+        return (request, response) -> {
+            handled.incrementAndGet();
+            // the controller reads the body the filter already consumed for the fingerprint
+            byte[] body = request.getInputStream().readAllBytes();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.setHeader(HttpHeaders.LOCATION, "/api/v1/developers/1");
+            httpResponse.getOutputStream().write(body);
+        };
+    }
+
+    private static MockHttpServletRequest post(String idempotencyKey, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/developers");
+        request.addHeader("Idempotency-Key", idempotencyKey);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,123 @@
+package com.dimacherkes.qafordevs.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyStoreTests {
+
+    private static final long TTL = TimeUnit.MINUTES.toNanos(1);
+    private static final byte[] FINGERPRINT = "POST /api/v1/developers".getBytes(StandardCharsets.UTF_8);
+    private static final String CLIENT = "ip:127.0.0.1";
+    private static final StoredResponse RESPONSE = new StoredResponse(200, "application/json", Map.of(),
+            "{}".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    @DisplayName("Test idempotency key replay functionality")
+    public void givenCompletedKey_whenReservedAgain_thenStoredResponseIsShared() {
+        // given
+        IdempotencyStore store = store();
+        IdempotencyStore.Reservation original = store.reserve(CLIENT, "key", FINGERPRINT, 0);
+        IdempotencyStore.Reservation concurrent = store.reserve(CLIENT, "key", FINGERPRINT, 1);
+        // when
+        store.complete(original, RESPONSE, 2);
+        IdempotencyStore.Reservation retry = store.reserve(CLIENT, "key", FINGERPRINT, 3);
+        // then
+        assertThat(original.state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+        assertThat(concurrent.state()).isEqualTo(IdempotencyStore.State.DUPLICATE);
+        assertThat(concurrent.response()).isCompletedWithValue(RESPONSE);
+        assertThat(retry.state()).isEqualTo(IdempotencyStore.State.DUPLICATE);
+        assertThat(retry.response()).isCompletedWithValue(RESPONSE);
+    }
+
+    @Test
+    @DisplayName("Test idempotency key reuse functionality")
+    public void givenCompletedKey_whenReservedForDifferentRequest_thenMismatchIsReported() {
+        // given
+        IdempotencyStore store = store();
+        store.complete(store.reserve(CLIENT, "key", FINGERPRINT, 0), RESPONSE, 0);
+        // when
+        IdempotencyStore.Reservation reservation = store.reserve(CLIENT, "key",
+                "PUT /api/v1/developers".getBytes(StandardCharsets.UTF_8), 1);
+        // then
+        assertThat(reservation.state()).isEqualTo(IdempotencyStore.State.MISMATCH);
+    }
+
+    @Test
+    @DisplayName("Test idempotency key release and expiry functionality")
+    public void givenReleasedOrExpiredKey_whenReservedAgain_thenKeyIsAcquired() {
+        // given
+        IdempotencyStore store = store();
+        IdempotencyStore.Reservation failed = store.reserve(CLIENT, "failed", FINGERPRINT, 0);
+        IdempotencyStore.Reservation waiting = store.reserve(CLIENT, "failed", FINGERPRINT, 0);
+        store.complete(store.reserve(CLIENT, "expiring", FINGERPRINT, 0), RESPONSE, 0);
+        // when
+        store.release(failed);
+        IdempotencyStore.Reservation afterRelease = store.reserve(CLIENT, "failed", FINGERPRINT, 1);
+        IdempotencyStore.Reservation afterExpiry = store.reserve(CLIENT, "expiring", FINGERPRINT, TTL + 1);
+        // then
+        assertThat(waiting.response()).isCompletedWithValue(null);
+        assertThat(afterRelease.state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+        assertThat(afterExpiry.state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+    }
+
+    @Test
+    @DisplayName("Test client over its key budget only loses its own keys functionality")
+    public void givenClientAtEntryLimit_whenReservingMore_thenOwnOldestKeyIsDropped() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(TTL, 16, 1024, 2, 1024);
+        store.complete(store.reserve("other", "key", FINGERPRINT, 0), RESPONSE, 0);
+        store.complete(store.reserve(CLIENT, "first", FINGERPRINT, 0), RESPONSE, 0);
+        store.complete(store.reserve(CLIENT, "second", FINGERPRINT, 0), RESPONSE, 0);
+        // when
+        IdempotencyStore.Reservation third = store.reserve(CLIENT, "third", FINGERPRINT, 1);
+        // then
+        assertThat(third.state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+        assertThat(store.reserve("other", "key", FINGERPRINT, 2).state()).isEqualTo(IdempotencyStore.State.DUPLICATE);
+        assertThat(store.reserve(CLIENT, "second", FINGERPRINT, 2).state()).isEqualTo(IdempotencyStore.State.DUPLICATE);
+        assertThat(store.reserve(CLIENT, "first", FINGERPRINT, 2).state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+    }
+
+    @Test
+    @DisplayName("Test client with every key in flight is limited functionality")
+    public void givenAllClientKeysInFlight_whenReservingMore_thenLimitedIsReported() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(TTL, 16, 1024, 2, 1024);
+        store.reserve(CLIENT, "first", FINGERPRINT, 0);
+        store.reserve(CLIENT, "second", FINGERPRINT, 0);
+        // when
+        IdempotencyStore.Reservation third = store.reserve(CLIENT, "third", FINGERPRINT, 1);
+        // then
+        assertThat(third.state()).isEqualTo(IdempotencyStore.State.LIMITED);
+        assertThat(store.reserve("other", "third", FINGERPRINT, 1).state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+    }
+
+    @Test
+    @DisplayName("Test stored bytes stay within the client budget functionality")
+    public void givenClientByteBudget_whenResponsesExceedIt_thenOldestAreDroppedAndOversizedNotStored() {
+        // given
+        long budget = 2L * (FINGERPRINT.length + RESPONSE.body().length);
+        IdempotencyStore store = new IdempotencyStore(TTL, 16, 1024, 16, budget);
+        store.complete(store.reserve(CLIENT, "first", FINGERPRINT, 0), RESPONSE, 0);
+        store.complete(store.reserve(CLIENT, "second", FINGERPRINT, 0), RESPONSE, 0);
+        // when
+        store.complete(store.reserve(CLIENT, "third", FINGERPRINT, 0), RESPONSE, 0);
+        IdempotencyStore.Reservation oversized = store.reserve(CLIENT, "oversized", FINGERPRINT, 0);
+        store.complete(oversized, new StoredResponse(200, "application/json", Map.of(), new byte[(int) budget]), 0);
+        // then
+        assertThat(store.bytes()).isEqualTo(budget);
+        assertThat(oversized.response()).isDone();
+        assertThat(store.reserve(CLIENT, "first", FINGERPRINT, 1).state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+        assertThat(store.reserve(CLIENT, "third", FINGERPRINT, 1).state()).isEqualTo(IdempotencyStore.State.DUPLICATE);
+        assertThat(store.reserve(CLIENT, "oversized", FINGERPRINT, 1).state()).isEqualTo(IdempotencyStore.State.ACQUIRED);
+    }
+
+    private static IdempotencyStore store() {
+        return new IdempotencyStore(TTL, 16, 1024 * 1024, 16, 1024 * 1024);
+    }
+}
@@ -0,0 +1,123 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.cache.DeveloperDataGeneration;
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.invalidation.InvalidationMessage;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ItCacheInvalidationTests extends AbstractRestControllerBaseTest {
+
+    private static final String CHANNEL = "developer_invalidation";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DeveloperDataGeneration dataGeneration;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test remote invalidation evicts local caches functionality")
+    public void givenCachedDeveloper_whenOtherNodeNotifiesChange_thenEntityIsEvicted() throws Exception {
+        //given
+        DeveloperEntity developer = developerRepository.save(DataUtils.getJohnDoeTransient());
+        developerRepository.findById(developer.getId());
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertThat(cache.containsEntity(DeveloperEntity.class, developer.getId())).isTrue();
+        long generation = dataGeneration.current();
+        //when
+        InvalidationMessage message = new InvalidationMessage("other-node", List.of(developer.getId()),
+                List.of(developer.getEmail()), false);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, objectMapper.writeValueAsString(message));
+        //then
+        awaitTrue(() -> !cache.containsEntity(DeveloperEntity.class, developer.getId()));
+        assertThat(dataGeneration.current()).isGreaterThan(generation);
+    }
+
+    @Test
+    @DisplayName("Test local write is published to other nodes functionality")
+    public void givenListeningNode_whenDeveloperIsCreated_thenInvalidationIsNotified() throws Exception {
+        //given
+        try (Connection connection = DriverManager.getConnection(POSTGRE_SQL_CONTAINER.getJdbcUrl(),
+                POSTGRE_SQL_CONTAINER.getUsername(), POSTGRE_SQL_CONTAINER.getPassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            //when
+            mockMvc.perform(post("/api/v1/developers")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(DataUtils.getJohnDoeDtoTransient())))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+            //then
+            List<InvalidationMessage> messages = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (messages.isEmpty() && System.nanoTime() < deadline) {
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(500);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        messages.add(objectMapper.readValue(notification.getParameter(), InvalidationMessage.class));
+                    }
+                }
+            }
+            assertThat(messages).isNotEmpty();
+            assertThat(messages.get(0).emails()).contains(DataUtils.getJohnDoeDtoTransient().getEmail());
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.dto.DeveloperAuditDto;
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ItDeveloperAuditTests extends AbstractRestControllerBaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test developer change history functionality")
+    public void givenCreatedUpdatedAndDeletedDeveloper_whenGetHistory_thenEveryChangeIsRecordedInOrder() throws Exception {
+        //given
+        Instant from = Instant.now().minus(1, ChronoUnit.MINUTES);
+        DeveloperDto created = create(DataUtils.getJohnDoeDtoTransient());
+        created.setFirstName("Johnny");
+        mockMvc.perform(put("/api/v1/developers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(created)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(delete("/api/v1/developers/" + created.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        //when
+        List<DeveloperAuditDto> history = awaitHistory(from, created.getId(), 3);
+        //then
+        assertThat(history).extracting(DeveloperAuditDto::getChangeType)
+                .containsExactly(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.SOFT_DELETED);
+        assertThat(history.get(0).getBefore()).isNull();
+        assertThat(history.get(0).getAfter()).containsEntry("email", created.getEmail());
+        assertThat(history.get(1).getBefore()).containsEntry("firstName", "John").doesNotContainKey("email");
+        assertThat(history.get(1).getAfter()).containsEntry("firstName", "Johnny");
+        assertThat(history.get(2).getBefore()).containsEntry("status", "ACTIVE");
+        assertThat(history.get(2).getAfter()).containsEntry("status", "DELETED");
+    }
+
+    @Test
+    @DisplayName("Test developer change history range functionality")
+    public void givenRangeBeforeChanges_whenGetHistory_thenNothingIsReturned() throws Exception {
+        //given
+        Instant to = Instant.now();
+        DeveloperDto created = create(DataUtils.getMikeSmithDtoTransient());
+        awaitHistory(to, created.getId(), 1);
+        //when
+        List<DeveloperAuditDto> history = getHistory(to.minus(1, ChronoUnit.HOURS), to, created.getId());
+        //then
+        assertThat(history).isEmpty();
+    }
+
+    private DeveloperDto create(DeveloperDto dto) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/developers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, DeveloperDto.class);
+    }
+
+    private List<DeveloperAuditDto> awaitHistory(Instant from, Integer developerId, int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<DeveloperAuditDto> history = getHistory(from, Instant.now().plus(1, ChronoUnit.MINUTES), developerId);
+        while (history.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            history = getHistory(from, Instant.now().plus(1, ChronoUnit.MINUTES), developerId);
+        }
+        assertThat(history).hasSize(expected);
+        return history;
+    }
+
+    private List<DeveloperAuditDto> getHistory(Instant from, Instant to, Integer developerId) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/developers/audit")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("developerId", String.valueOf(developerId)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<>() {
+        });
+    }
+}
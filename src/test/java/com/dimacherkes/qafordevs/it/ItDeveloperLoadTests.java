@@ -0,0 +1,103 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.load.DeveloperWorkload;
+import com.dimacherkes.qafordevs.load.LoadBaseline;
+import com.dimacherkes.qafordevs.load.LoadDriver;
+import com.dimacherkes.qafordevs.load.LoadReport;
+import com.dimacherkes.qafordevs.load.LoadSettings;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mixed read/write workloads over real HTTP, run by {@code ./gradlew loadTest}. The rate limiter is
+ * opened up so the numbers describe the service and its connection pool, while the per-class
+ * concurrency limits stay in place and show up as rejected requests when they bite.
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "qafordevs.rate-limit.burst=1000000",
+        "qafordevs.rate-limit.requests-per-second=1000000"
+})
+public class ItDeveloperLoadTests extends AbstractRestControllerBaseTest {
+
+    private static final Duration CONNECTIONS_RELEASED_TIMEOUT = Duration.ofSeconds(10);
+
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<DeveloperEntity> seeded;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+        seeded = developerRepository.saveAll(DeveloperWorkload.developers(settings.seedSize()));
+    }
+
+    @Test
+    @DisplayName("Test mixed read/write workload meets the load baseline functionality")
+    public void givenSeededDevelopers_whenMixedWorkloadIsApplied_thenBaselineIsMet() throws Exception {
+        //given
+        LoadDriver driver = new LoadDriver(mixedWorkload(), meterRegistry);
+        //when
+        LoadReport report = driver.run("mixed", settings.concurrency(), settings.warmup(), settings.duration());
+        //then
+        assertThat(LoadBaseline.check(report, settings)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test sustained mixed workload does not degrade functionality")
+    public void givenSeededDevelopers_whenWorkloadIsSustained_thenThroughputDoesNotDrift() throws Exception {
+        //given
+        LoadDriver driver = new LoadDriver(mixedWorkload(), meterRegistry);
+        //when
+        LoadReport report = driver.run("soak", settings.concurrency(), settings.warmup(), settings.soakDuration());
+        //then
+        assertThat(LoadBaseline.check(report, settings)).isEmpty();
+        // audit entries of the last writes are still being flushed on their own connection
+        Gauge active = meterRegistry.get("hikaricp.connections.active").gauge();
+        long deadline = System.nanoTime() + CONNECTIONS_RELEASED_TIMEOUT.toNanos();
+        while (active.value() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(active.value())
+                .as("connections still checked out after the run")
+                .isZero();
+    }
+
+    private List<LoadDriver.Operation> mixedWorkload() {
+        return new DeveloperWorkload(URI.create("http://localhost:" + port), objectMapper, seeded,
+                settings.writeRatio(), false).operations();
+    }
+}
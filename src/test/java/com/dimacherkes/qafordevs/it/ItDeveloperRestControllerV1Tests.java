@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -21,6 +22,8 @@ import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.Locale;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -39,6 +42,9 @@ public class ItDeveloperRestControllerV1Tests extends AbstractRestControllerBase
     @Autowired
     private DeveloperRepository developerRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     public void setUp() {
         developerRepository.deleteAll();
@@ -110,6 +116,56 @@ public class ItDeveloperRestControllerV1Tests extends AbstractRestControllerBase
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("ACTIVE")));
     }
 
+    @Test
+    @DisplayName("Test update developer to a taken email functionality")
+    public void givenEmailTakenInOtherCase_whenUpdateDeveloper_thenErrorResponse() throws Exception {
+        //given
+        DeveloperEntity john = developerRepository.save(DataUtils.getJohnDoeTransient());
+        DeveloperEntity mike = developerRepository.save(DataUtils.getMikeSmithTransient());
+        DeveloperDto dto = DataUtils.getJohnDoeDtoPersisted();
+        dto.setId(john.getId());
+        dto.setEmail(mike.getEmail().toUpperCase(Locale.ROOT));
+        //when
+        ResultActions result = mockMvc.perform(put("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)));
+        //then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", CoreMatchers.is("Developer with defined email is already exists")));
+        assertThat(developerRepository.findById(john.getId())).map(DeveloperEntity::getEmail).contains(john.getEmail());
+    }
+
+    @Test
+    @DisplayName("Test update developer left without email key functionality")
+    public void givenDeveloperSharingEmailKey_whenUpdateDeveloperKeepingEmail_thenSuccessResponse() throws Exception {
+        //given
+        DeveloperEntity john = developerRepository.save(DataUtils.getJohnDoeTransient());
+        String sameKeyEmail = john.getEmail().toUpperCase(Locale.ROOT);
+        // what the email key migration leaves behind for the second spelling of a key
+        jdbcTemplate.update("""
+                INSERT INTO developers (email, email_key, first_name, last_name, specialty, status, updated_at)
+                VALUES (?, NULL, 'Johnny', 'Doe', 'Java', 'ACTIVE', now())""", sameKeyEmail);
+        Integer johnnyId = jdbcTemplate.queryForObject("SELECT id FROM developers WHERE email = ?", Integer.class,
+                sameKeyEmail);
+        DeveloperDto dto = DataUtils.getJohnDoeDtoPersisted();
+        dto.setId(johnnyId);
+        dto.setEmail(sameKeyEmail);
+        dto.setFirstName("Jonathan");
+        //when
+        ResultActions result = mockMvc.perform(put("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)));
+        //then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is("Jonathan")));
+        assertThat(jdbcTemplate.queryForObject("SELECT email_key FROM developers WHERE id = ?", String.class, johnnyId))
+                .isNull();
+    }
+
     @Test
     @DisplayName("Test update developer by incorrect id functionality")
     public void givenDeveloperDtoWithIncorrectId_whenUpdateDeveloper_thenErrorResponse() throws Exception {
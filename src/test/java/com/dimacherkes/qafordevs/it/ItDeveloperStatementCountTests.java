@@ -0,0 +1,140 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.dimacherkes.qafordevs.util.SqlStatementCounter.assertStatementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Statement budgets of the REST scenarios. Every cache in front of the database (second-level and
+ * query cache, response cache, roster) is off, so the budgets measure the queries a cold request
+ * runs and an N+1 regression fails them.
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "qafordevs.response-cache.enabled=false",
+        "qafordevs.roster.enabled=false"
+})
+public class ItDeveloperStatementCountTests extends AbstractRestControllerBaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test create developer statement budget functionality")
+    public void givenDeveloperDto_whenCreateDeveloper_thenAtMostTwoStatementsAreExecuted() throws Throwable {
+        //given
+        DeveloperDto dto = DataUtils.getJohnDoeDtoTransient();
+        //when
+        //then
+        assertStatementsAtMost(2, () -> mockMvc.perform(post("/api/v1/developers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test update developer statement budget functionality")
+    public void givenDeveloperDto_whenUpdateDeveloper_thenAtMostThreeStatementsAreExecuted() throws Throwable {
+        //given
+        DeveloperEntity entity = developerRepository.save(DataUtils.getJohnDoeTransient());
+        DeveloperDto dto = DataUtils.getJohnDoeDtoPersisted();
+        dto.setId(entity.getId());
+        dto.setEmail("updated@gmail.com");
+        //when
+        //then
+        assertStatementsAtMost(3, () -> mockMvc.perform(put("/api/v1/developers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test get developer by id statement budget functionality")
+    public void givenId_whenGetDeveloperById_thenAtMostOneStatementIsExecuted() throws Throwable {
+        //given
+        DeveloperEntity entity = developerRepository.save(DataUtils.getJohnDoeTransient());
+        //when
+        //then
+        assertStatementsAtMost(1, () -> mockMvc.perform(get("/api/v1/developers/" + entity.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test get all developers statement budget functionality")
+    public void givenThreeDevelopers_whenGetAllDevelopers_thenAtMostOneStatementIsExecuted() throws Throwable {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient());
+        developerRepository.save(DataUtils.getMikeSmithTransient());
+        developerRepository.save(DataUtils.getFrankJonesTransient());
+        //when
+        //then
+        assertStatementsAtMost(1, () -> mockMvc.perform(get("/api/v1/developers"))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test get all developers by specialty statement budget functionality")
+    public void givenThreeDevelopers_whenGetAllBySpecialty_thenAtMostOneStatementIsExecuted() throws Throwable {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient());
+        developerRepository.save(DataUtils.getMikeSmithTransient());
+        developerRepository.save(DataUtils.getFrankJonesTransient());
+        //when
+        //then
+        assertStatementsAtMost(1, () -> mockMvc.perform(get("/api/v1/developers/specialty/Java"))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test soft delete statement budget functionality")
+    public void givenId_whenSoftDelete_thenAtMostThreeStatementsAreExecuted() throws Throwable {
+        //given
+        DeveloperEntity entity = developerRepository.save(DataUtils.getJohnDoeTransient());
+        //when
+        //then
+        assertStatementsAtMost(3, () -> mockMvc.perform(delete("/api/v1/developers/" + entity.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test hard delete statement budget functionality")
+    public void givenId_whenHardDelete_thenAtMostThreeStatementsAreExecuted() throws Throwable {
+        //given
+        DeveloperEntity entity = developerRepository.save(DataUtils.getJohnDoeTransient());
+        //when
+        //then
+        assertStatementsAtMost(3, () -> mockMvc.perform(delete("/api/v1/developers/" + entity.getId() + "?isHard=true"))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.load.DeveloperWorkload;
+import com.dimacherkes.qafordevs.load.LoadBaseline;
+import com.dimacherkes.qafordevs.load.LoadDriver;
+import com.dimacherkes.qafordevs.load.LoadReport;
+import com.dimacherkes.qafordevs.load.LoadSettings;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The mixed workload with every read reaching the database: the roster and the Hibernate caches
+ * are off and the reads carry a query parameter that makes the response cache step aside. Its
+ * baseline is what the service and the pool manage on their own, the cached runs only show what
+ * the caches add on top.
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "qafordevs.roster.enabled=false",
+        "qafordevs.rate-limit.burst=1000000",
+        "qafordevs.rate-limit.requests-per-second=1000000"
+})
+public class ItDeveloperUncachedLoadTests extends AbstractRestControllerBaseTest {
+
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<DeveloperEntity> seeded;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+        seeded = developerRepository.saveAll(DeveloperWorkload.developers(settings.seedSize()));
+    }
+
+    @Test
+    @DisplayName("Test mixed workload without caches meets the load baseline functionality")
+    public void givenSeededDevelopersAndNoCaches_whenMixedWorkloadIsApplied_thenBaselineIsMet() throws Exception {
+        //given
+        LoadDriver driver = new LoadDriver(new DeveloperWorkload(URI.create("http://localhost:" + port), objectMapper,
+                seeded, settings.writeRatio(), true).operations(), meterRegistry);
+        //when
+        LoadReport report = driver.run("uncached", settings.concurrency(), settings.warmup(), settings.duration());
+        //then
+        assertThat(LoadBaseline.check(report, settings)).isEmpty();
+    }
+}
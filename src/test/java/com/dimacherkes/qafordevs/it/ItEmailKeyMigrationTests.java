@@ -0,0 +1,120 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.migration.EmailKeyMigration;
+import com.dimacherkes.qafordevs.migration.EmailKeyMigrationConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migration on a developers table as it looked before emails were normalized, in a
+ * database of its own so the tables Hibernate creates for the other tests are left alone.
+ */
+@Testcontainers
+public class ItEmailKeyMigrationTests extends AbstractRestControllerBaseTest {
+
+    private static final String DATABASE = "qafordevs_email_key_migration";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        JdbcTemplate container = new JdbcTemplate(new DriverManagerDataSource(POSTGRE_SQL_CONTAINER.getJdbcUrl(),
+                POSTGRE_SQL_CONTAINER.getUsername(), POSTGRE_SQL_CONTAINER.getPassword()));
+        container.execute("DROP DATABASE IF EXISTS " + DATABASE);
+        container.execute("CREATE DATABASE " + DATABASE);
+        dataSource = new DriverManagerDataSource(
+                POSTGRE_SQL_CONTAINER.getJdbcUrl().replace(POSTGRE_SQL_CONTAINER.getDatabaseName(), DATABASE),
+                POSTGRE_SQL_CONTAINER.getUsername(), POSTGRE_SQL_CONTAINER.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("Test migration finds and reports existing collisions functionality")
+    public void givenEmailsDifferingOnlyByCase_whenMigrate_thenCollisionIsReportedAndLowestIdKeepsTheKey() {
+        //given
+        createLegacyTable();
+        insert("John.Doe@gmail.com");
+        insert(" john.doe@gmail.com");
+        insert("mike.smith@gmail.com");
+        //when
+        EmailKeyMigration.Report report = new EmailKeyMigration(jdbcTemplate).migrate("Shard 0");
+        //then
+        assertThat(report.backfilled()).isEqualTo(2);
+        assertThat(report.collisions()).containsExactly(
+                new EmailKeyMigration.Collision("john.doe@gmail.com", List.of(1, 2)));
+        assertThat(jdbcTemplate.queryForList("SELECT email_key FROM developers ORDER BY id", String.class))
+                .containsExactly("john.doe@gmail.com", null, "mike.smith@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Test migration run again keeps reporting unresolved collisions functionality")
+    public void givenMigratedTable_whenMigrateAgain_thenNothingIsBackfilledAndCollisionIsStillReported() {
+        //given
+        createLegacyTable();
+        insert("John.Doe@gmail.com");
+        insert("JOHN.DOE@gmail.com");
+        EmailKeyMigration migration = new EmailKeyMigration(jdbcTemplate);
+        migration.migrate("Shard 0");
+        //when
+        EmailKeyMigration.Report report = migration.migrate("Shard 0");
+        //then
+        assertThat(report.backfilled()).isZero();
+        assertThat(report.collisions()).extracting(EmailKeyMigration.Collision::ids).containsExactly(List.of(1, 2));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE indexname = 'ux_developers_email'", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Test primary database is migrated on startup functionality")
+    public void givenUnshardedLegacyTable_whenEmailKeyMigrationBeanIsCreated_thenEmailKeysAreBackfilled() {
+        //given
+        createLegacyTable();
+        insert("John.Doe@gmail.com");
+        insert("mike.smith@gmail.com");
+        //when
+        new EmailKeyMigrationConfiguration().emailKeyMigration(dataSource);
+        //then
+        assertThat(jdbcTemplate.queryForList("SELECT email_key FROM developers ORDER BY id", String.class))
+                .containsExactly("john.doe@gmail.com", "mike.smith@gmail.com");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE indexname = 'ux_developers_email_key'", Integer.class)).isOne();
+    }
+
+    @Test
+    @DisplayName("Test empty primary database is left to Hibernate functionality")
+    public void givenNoDevelopersTable_whenEmailKeyMigrationBeanIsCreated_thenNothingIsCreated() {
+        //given
+        //when
+        new EmailKeyMigrationConfiguration().emailKeyMigration(dataSource);
+        //then
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('developers') IS NULL", Boolean.class)).isTrue();
+    }
+
+    private void createLegacyTable() {
+        jdbcTemplate.execute("""
+                CREATE TABLE developers (
+                    id SERIAL PRIMARY KEY,
+                    email VARCHAR(255),
+                    first_name VARCHAR(255),
+                    last_name VARCHAR(255),
+                    specialty VARCHAR(255),
+                    status VARCHAR(255),
+                    updated_at TIMESTAMP WITH TIME ZONE)""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX ux_developers_email ON developers (email)");
+    }
+
+    private void insert(String email) {
+        jdbcTemplate.update("""
+                INSERT INTO developers (email, first_name, last_name, specialty, status, updated_at)
+                VALUES (?, 'John', 'Doe', 'Java', 'ACTIVE', now())""", email);
+    }
+}
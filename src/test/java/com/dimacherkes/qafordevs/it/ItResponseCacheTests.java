@@ -0,0 +1,103 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.dimacherkes.qafordevs.util.SqlStatementCounter.countStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ItResponseCacheTests extends AbstractRestControllerBaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test repeated list read is served from cache functionality")
+    public void givenListWasRead_whenReadAgain_thenNoStatementIsExecuted() throws Throwable {
+        //given
+        createDeveloper(DataUtils.getJohnDoeDtoTransient());
+        mockMvc.perform(get("/api/v1/developers"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        //when
+        int statements = countStatements(() -> mockMvc.perform(get("/api/v1/developers"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].firstName", CoreMatchers.is("John"))));
+        //then
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    @DisplayName("Test write invalidates cached list functionality")
+    public void givenSpecialtyListWasRead_whenDeveloperIsCreated_thenFreshListIsReturned() throws Exception {
+        //given
+        createDeveloper(DataUtils.getJohnDoeDtoTransient());
+        mockMvc.perform(get("/api/v1/developers/specialty/Java"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)));
+        //when
+        createDeveloper(DataUtils.getMikeSmithDtoTransient());
+        //then
+        mockMvc.perform(get("/api/v1/developers/specialty/Java"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("Test cached list is gzip encoded functionality")
+    public void givenClientAcceptsGzip_whenGetAllDevelopers_thenGzipBodyIsReturned() throws Exception {
+        //given
+        for (int i = 0; i < 30; i++) {
+            DeveloperDto dto = DataUtils.getJohnDoeDtoTransient();
+            dto.setEmail("john" + i + "@gmail.com");
+            createDeveloper(dto);
+        }
+        //when
+        //then
+        mockMvc.perform(get("/api/v1/developers")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    private void createDeveloper(DeveloperDto dto) throws Exception {
+        mockMvc.perform(post("/api/v1/developers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+}
@@ -0,0 +1,114 @@
+package com.dimacherkes.qafordevs.it;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.sharding.ShardKeyResolver;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two shards, the test database and a second database in the same container.
+ * Hibernate creates the non-sharded tables on the default shard; the developers table already
+ * exists there, created by the shard schema initializer, and is left alone by {@code update}.
+ */
+@ActiveProfiles({"test", "sharded"})
+@Testcontainers
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=update",
+        "qafordevs.response-cache.enabled=false",
+        "qafordevs.roster.enabled=false"
+})
+public class ItShardedDeveloperRepositoryTests extends AbstractRestControllerBaseTest {
+
+    private static final String SECOND_SHARD_DATABASE = "qafordevs_shard1";
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ShardKeyResolver shardKeyResolver;
+
+    @DynamicPropertySource
+    public static void shardProperties(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(POSTGRE_SQL_CONTAINER.getJdbcUrl(),
+                POSTGRE_SQL_CONTAINER.getUsername(), POSTGRE_SQL_CONTAINER.getPassword());
+             Statement statement = connection.createStatement()) {
+            if (!statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = '" + SECOND_SHARD_DATABASE + "'").next()) {
+                statement.execute("CREATE DATABASE " + SECOND_SHARD_DATABASE);
+            }
+        }
+        String secondShardUrl = POSTGRE_SQL_CONTAINER.getJdbcUrl()
+                .replace(POSTGRE_SQL_CONTAINER.getDatabaseName(), SECOND_SHARD_DATABASE);
+        registry.add("qafordevs.sharding.shards[0].url", POSTGRE_SQL_CONTAINER::getJdbcUrl);
+        registry.add("qafordevs.sharding.shards[0].username", POSTGRE_SQL_CONTAINER::getUsername);
+        registry.add("qafordevs.sharding.shards[0].password", POSTGRE_SQL_CONTAINER::getPassword);
+        registry.add("qafordevs.sharding.shards[1].url", () -> secondShardUrl);
+        registry.add("qafordevs.sharding.shards[1].username", POSTGRE_SQL_CONTAINER::getUsername);
+        registry.add("qafordevs.sharding.shards[1].password", POSTGRE_SQL_CONTAINER::getPassword);
+        registry.add("qafordevs.cache-invalidation.datasource.url", POSTGRE_SQL_CONTAINER::getJdbcUrl);
+        registry.add("qafordevs.cache-invalidation.datasource.username", POSTGRE_SQL_CONTAINER::getUsername);
+        registry.add("qafordevs.cache-invalidation.datasource.password", POSTGRE_SQL_CONTAINER::getPassword);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test specialty read merges rows of every shard functionality")
+    public void givenSameSpecialtyOnTwoShards_whenFindAllActiveBySpecialty_thenRowsOfBothShardsAreReturned() {
+        //given
+        DeveloperEntity first = developerRepository.save(javaDeveloperOnShard(0));
+        DeveloperEntity second = developerRepository.save(javaDeveloperOnShard(1));
+        //when
+        List<DeveloperEntity> firstRead = developerRepository.findAllActiveBySpecialty("Java");
+        List<DeveloperEntity> secondRead = developerRepository.findAllActiveBySpecialty("Java");
+        //then
+        assertThat(firstRead).extracting(DeveloperEntity::getEmail)
+                .containsExactlyInAnyOrder(first.getEmail(), second.getEmail());
+        assertThat(secondRead).extracting(DeveloperEntity::getEmail)
+                .containsExactlyInAnyOrder(first.getEmail(), second.getEmail());
+    }
+
+    @Test
+    @DisplayName("Test email read finds the developer on its own shard functionality")
+    public void givenDevelopersOnTwoShards_whenFindByEmail_thenEachIsFoundOnItsShard() {
+        //given
+        DeveloperEntity first = developerRepository.save(javaDeveloperOnShard(0));
+        DeveloperEntity second = developerRepository.save(javaDeveloperOnShard(1));
+        //when
+        DeveloperEntity foundFirst = developerRepository.findByEmail(first.getEmail());
+        DeveloperEntity foundSecond = developerRepository.findByEmail(second.getEmail());
+        //then
+        assertThat(foundFirst.getId()).isEqualTo(first.getId());
+        assertThat(foundSecond.getId()).isEqualTo(second.getId());
+    }
+
+    private DeveloperEntity javaDeveloperOnShard(int shard) {
+        for (int i = 0; ; i++) {
+            String email = "developer" + i + "@gmail.com";
+            if (shardKeyResolver.shardForEmail(email) == shard) {
+                DeveloperEntity developer = DataUtils.getJohnDoeTransient();
+                developer.setEmail(email);
+                return developer;
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.dimacherkes.qafordevs.load;
+
+import com.dimacherkes.qafordevs.dto.DeveloperDto;
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seed data and the mixed read/write request mix shared by the load scenarios. With
+ * {@code bustCaches} every read carries a query parameter the response cache does not know, so
+ * it is never answered from there.
+ */
+public class DeveloperWorkload {
+
+    private static final List<String> SPECIALTIES = List.of("Java", "Go", "Python", "Kotlin", "Rust");
+    private static final List<String> LAST_NAMES = List.of("Anderson", "Baker", "Carter", "Davis", "Evans", "Foster");
+    private static final String CACHE_BUSTER = "cacheBuster";
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final List<DeveloperEntity> seeded;
+    private final double writeRatio;
+    private final boolean bustCaches;
+
+    public DeveloperWorkload(URI baseUri, ObjectMapper objectMapper, List<DeveloperEntity> seeded, double writeRatio,
+                             boolean bustCaches) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.seeded = List.copyOf(seeded);
+        this.writeRatio = writeRatio;
+        this.bustCaches = bustCaches;
+    }
+
+    public static List<DeveloperEntity> developers(int count) {
+        List<DeveloperEntity> developers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            developers.add(DeveloperEntity.builder()
+                    .firstName("Load")
+                    .lastName(LAST_NAMES.get(i % LAST_NAMES.size()) + i)
+                    .email("load-" + i + "@mail.com")
+                    .specialty(SPECIALTIES.get(i % SPECIALTIES.size()))
+                    .status(Status.ACTIVE)
+                    .build());
+        }
+        return developers;
+    }
+
+    public List<LoadDriver.Operation> operations() {
+        int writes = (int) Math.round(writeRatio * 100);
+        int reads = 100 - writes;
+        return List.of(
+                new LoadDriver.Operation("get-by-id", reads * 70 / 100, random ->
+                        get(random, "/api/v1/developers/" + randomSeeded(random).getId())),
+                new LoadDriver.Operation("by-specialty", reads * 15 / 100, random ->
+                        get(random, "/api/v1/developers/specialty/" + SPECIALTIES.get(random.nextInt(SPECIALTIES.size())))),
+                new LoadDriver.Operation("filter", reads * 15 / 100, random ->
+                        get(random, "/api/v1/developers?specialty=" + SPECIALTIES.get(random.nextInt(SPECIALTIES.size()))
+                                + "&lastNamePrefix=" + LAST_NAMES.get(random.nextInt(LAST_NAMES.size())).substring(0, 2)
+                                + "&limit=50")),
+                // created developers get a specialty nobody reads, so the list reads keep a constant size
+                new LoadDriver.Operation("create", writes / 2, random -> send("POST", DeveloperDto.builder()
+                        .firstName("Load")
+                        .lastName("Created")
+                        .email("load-" + UUID.randomUUID() + "@mail.com")
+                        .specialty("Created")
+                        .build())),
+                new LoadDriver.Operation("update", writes - writes / 2, random -> {
+                    DeveloperDto dto = DeveloperDto.fromEntity(randomSeeded(random));
+                    dto.setSpecialty(SPECIALTIES.get(random.nextInt(SPECIALTIES.size())));
+                    return send("PUT", dto);
+                }));
+    }
+
+    private DeveloperEntity randomSeeded(ThreadLocalRandom random) {
+        return seeded.get(random.nextInt(seeded.size()));
+    }
+
+    private HttpRequest get(ThreadLocalRandom random, String path) {
+        if (bustCaches) {
+            path += (path.contains("?") ? "&" : "?") + CACHE_BUSTER + "=" + random.nextLong();
+        }
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest send(String method, DeveloperDto dto) {
+        try {
+            return HttpRequest.newBuilder(baseUri.resolve("/api/v1/developers"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(dto)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dimacherkes.qafordevs.load;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Growable array of latencies in nanoseconds. Each worker owns its own instances, so recording is
+ * lock-free and the samples are only merged once the run is over.
+ */
+public class LatencySamples {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    public void add(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return every sample of {@code parts}, sorted ascending
+     */
+    public static long[] mergeSorted(Collection<LatencySamples> parts) {
+        long[] merged = new long[parts.stream().mapToInt(LatencySamples::size).sum()];
+        int offset = 0;
+        for (LatencySamples part : parts) {
+            System.arraycopy(part.values, 0, merged, offset, part.size);
+            offset += part.size;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    public static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
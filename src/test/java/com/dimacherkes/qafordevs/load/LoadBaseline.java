@@ -0,0 +1,112 @@
+package com.dimacherkes.qafordevs.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Minimum acceptable results per scenario, kept in {@code load-baseline.properties}:
+ * <pre>
+ * mixed.throughput.min=1500
+ * mixed.p99-ms.max=150
+ * mixed.error-rate.max=0.001
+ * mixed.rejected-rate.max=0.01
+ * mixed.pool-timeouts.max=0
+ * soak.throughput-drift.max=0.2
+ * </pre>
+ * A missing key is not checked. When a baseline is recorded the limits are set with headroom
+ * (throughput 80%, p99 150% of the measured value) so ordinary run-to-run noise does not fail the build.
+ */
+public class LoadBaseline {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadBaseline.class);
+    private static final double THROUGHPUT_HEADROOM = 0.8;
+    private static final double LATENCY_HEADROOM = 1.5;
+    private static final double MIN_ERROR_RATE = 0.001;
+    private static final double MIN_REJECTED_RATE = 0.01;
+    private static final double MAX_DRIFT = 0.2;
+
+    private final Properties limits;
+
+    private LoadBaseline(Properties limits) {
+        this.limits = limits;
+    }
+
+    public static LoadBaseline load(Path file) throws IOException {
+        Properties limits = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                limits.load(reader);
+            }
+        }
+        return new LoadBaseline(limits);
+    }
+
+    /**
+     * Logs and writes the report, then either records it as the new baseline or returns the limits
+     * it misses.
+     */
+    public static List<String> check(LoadReport report, LoadSettings settings) throws IOException {
+        log.info("Load report\n{}", report.format());
+        report.write(settings.reportDir());
+        LoadBaseline baseline = load(settings.baseline());
+        if (settings.updateBaseline()) {
+            baseline.record(settings.baseline(), report);
+            return List.of();
+        }
+        return baseline.violations(report);
+    }
+
+    public List<String> violations(LoadReport report) {
+        List<String> violations = new ArrayList<>();
+        String scenario = report.scenario();
+        atLeast(violations, scenario + ".throughput.min", report.throughput());
+        atMost(violations, scenario + ".p99-ms.max", report.overall().p99Millis());
+        atMost(violations, scenario + ".error-rate.max", report.errorRate());
+        // 429 and 503 answers are not errors, but a run that mostly sheds load is no faster for it
+        atMost(violations, scenario + ".rejected-rate.max", report.rejectedRate());
+        atMost(violations, scenario + ".pool-timeouts.max", report.pool().timeouts());
+        atMost(violations, scenario + ".throughput-drift.max", report.throughputDrift());
+        return violations;
+    }
+
+    public void record(Path file, LoadReport report) throws IOException {
+        String scenario = report.scenario();
+        limits.setProperty(scenario + ".throughput.min", format(report.throughput() * THROUGHPUT_HEADROOM));
+        limits.setProperty(scenario + ".p99-ms.max", format(report.overall().p99Millis() * LATENCY_HEADROOM));
+        limits.setProperty(scenario + ".error-rate.max", format(Math.max(MIN_ERROR_RATE, report.errorRate() * 2)));
+        limits.setProperty(scenario + ".rejected-rate.max", format(Math.max(MIN_REJECTED_RATE, report.rejectedRate() * 2)));
+        limits.setProperty(scenario + ".pool-timeouts.max", "0");
+        limits.setProperty(scenario + ".throughput-drift.max", format(MAX_DRIFT));
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            limits.store(writer, "Recorded by ./gradlew loadTest -PupdateLoadBaseline");
+        }
+    }
+
+    private void atLeast(List<String> violations, String key, double actual) {
+        String limit = limits.getProperty(key);
+        if (limit != null && actual < Double.parseDouble(limit)) {
+            violations.add(String.format(Locale.ROOT, "%s: %.3f is below %s", key, actual, limit));
+        }
+    }
+
+    private void atMost(List<String> violations, String key, double actual) {
+        String limit = limits.getProperty(key);
+        if (limit != null && actual > Double.parseDouble(limit)) {
+            violations.add(String.format(Locale.ROOT, "%s: %.3f is above %s", key, actual, limit));
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
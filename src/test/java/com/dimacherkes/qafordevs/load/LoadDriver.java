@@ -0,0 +1,217 @@
+package com.dimacherkes.qafordevs.load;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load generator: every worker sends its next request as soon as the previous one is
+ * answered, picking the operation by weight. Latencies are measured on the client, so they include
+ * Tomcat queueing and rate limiter admission on top of the service time.
+ * <p>
+ * While the run is measured the Hikari pool is sampled every 100 ms to show how close it came to
+ * exhaustion; the load has to be sized so the pool, not the client, is the contended resource.
+ */
+public class LoadDriver {
+
+    private static final long POOL_SAMPLE_INTERVAL_MILLIS = 100;
+
+    public record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Operation> operations;
+    private final int totalWeight;
+    private final MeterRegistry meterRegistry;
+
+    public LoadDriver(List<Operation> operations, MeterRegistry meterRegistry) {
+        this.operations = List.copyOf(operations);
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public LoadReport run(String scenario, int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        if (!warmup.isZero()) {
+            runPhase(concurrency, warmup, null);
+        }
+        PoolSampler poolSampler = new PoolSampler();
+        List<Worker> workers = runPhase(concurrency, duration, poolSampler);
+
+        Map<String, List<LatencySamples>> samplesByOperation = new HashMap<>();
+        Map<String, long[]> outcomesByOperation = new HashMap<>();
+        AtomicLongArray completionsPerSecond = workers.getFirst().completionsPerSecond;
+        for (Worker worker : workers) {
+            worker.samples.forEach((name, samples) ->
+                    samplesByOperation.computeIfAbsent(name, key -> new ArrayList<>()).add(samples));
+            worker.outcomes.forEach((name, outcomes) -> {
+                long[] merged = outcomesByOperation.computeIfAbsent(name, key -> new long[3]);
+                for (int i = 0; i < merged.length; i++) {
+                    merged[i] += outcomes[i];
+                }
+            });
+        }
+
+        List<LoadReport.OperationStats> stats = new ArrayList<>();
+        for (Operation operation : operations) {
+            List<LatencySamples> samples = samplesByOperation.getOrDefault(operation.name(), List.of());
+            long[] outcomes = outcomesByOperation.getOrDefault(operation.name(), new long[3]);
+            stats.add(LoadReport.OperationStats.of(operation.name(), outcomes, LatencySamples.mergeSorted(samples)));
+        }
+        long[] overallOutcomes = new long[3];
+        outcomesByOperation.values().forEach(outcomes -> {
+            for (int i = 0; i < overallOutcomes.length; i++) {
+                overallOutcomes[i] += outcomes[i];
+            }
+        });
+        List<LatencySamples> allSamples = samplesByOperation.values().stream().flatMap(List::stream).toList();
+        LoadReport.OperationStats overall = LoadReport.OperationStats.of("all", overallOutcomes,
+                LatencySamples.mergeSorted(allSamples));
+
+        long[] perSecond = new long[completionsPerSecond.length()];
+        for (int i = 0; i < perSecond.length; i++) {
+            perSecond[i] = completionsPerSecond.get(i);
+        }
+        return new LoadReport(scenario, duration, concurrency, stats, overall, poolSampler.stats(), perSecond);
+    }
+
+    private List<Worker> runPhase(int concurrency, Duration duration, PoolSampler poolSampler) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + duration.toNanos();
+        AtomicLongArray completionsPerSecond = new AtomicLongArray((int) duration.toSeconds() + 1);
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(startedAt, deadline, completionsPerSecond);
+            workers.add(worker);
+            threads.add(Thread.ofPlatform().name("load-worker-" + i).daemon().start(worker));
+        }
+        ScheduledExecutorService sampler = null;
+        if (Objects.nonNull(poolSampler)) {
+            sampler = Executors.newSingleThreadScheduledExecutor(runnable ->
+                    Thread.ofPlatform().name("load-pool-sampler").daemon().unstarted(runnable));
+            sampler.scheduleAtFixedRate(poolSampler::sample, 0, POOL_SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            if (Objects.nonNull(sampler)) {
+                sampler.shutdownNow();
+            }
+        }
+        return workers;
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.getLast();
+    }
+
+    private class Worker implements Runnable {
+
+        private final long startedAt;
+        private final long deadline;
+        private final AtomicLongArray completionsPerSecond;
+        private final Map<String, LatencySamples> samples = new HashMap<>();
+        // ok, rejected (429/503), failed
+        private final Map<String, long[]> outcomes = new HashMap<>();
+
+        private Worker(long startedAt, long deadline, AtomicLongArray completionsPerSecond) {
+            this.startedAt = startedAt;
+            this.deadline = deadline;
+            this.completionsPerSecond = completionsPerSecond;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                Operation operation = pick(random);
+                HttpRequest request = operation.request().apply(random);
+                long sentAt = System.nanoTime();
+                int outcome;
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    outcome = status < 400 ? 0 : status == 429 || status == 503 ? 1 : 2;
+                } catch (IOException e) {
+                    outcome = 2;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long finishedAt = System.nanoTime();
+                samples.computeIfAbsent(operation.name(), name -> new LatencySamples()).add(finishedAt - sentAt);
+                outcomes.computeIfAbsent(operation.name(), name -> new long[3])[outcome]++;
+                int second = (int) ((finishedAt - startedAt) / 1_000_000_000L);
+                if (second < completionsPerSecond.length()) {
+                    completionsPerSecond.incrementAndGet(second);
+                }
+            }
+        }
+    }
+
+    private class PoolSampler {
+
+        private final double timeoutsAtStart = timeouts();
+        private int samples;
+        private int saturatedSamples;
+        private double peakActive;
+        private double peakPending;
+        private double maxConnections;
+
+        private synchronized void sample() {
+            double active = gauge("hikaricp.connections.active");
+            double pending = gauge("hikaricp.connections.pending");
+            maxConnections = Math.max(maxConnections, gauge("hikaricp.connections.max"));
+            peakActive = Math.max(peakActive, active);
+            peakPending = Math.max(peakPending, pending);
+            samples++;
+            if (maxConnections > 0 && active >= maxConnections) {
+                saturatedSamples++;
+            }
+        }
+
+        private synchronized LoadReport.PoolStats stats() {
+            return new LoadReport.PoolStats((int) maxConnections, (int) peakActive, (int) peakPending,
+                    samples == 0 ? 0 : (double) saturatedSamples / samples,
+                    (long) (timeouts() - timeoutsAtStart));
+        }
+
+        private double gauge(String name) {
+            Gauge gauge = meterRegistry.find(name).gauge();
+            return Objects.isNull(gauge) || Double.isNaN(gauge.value()) ? 0 : gauge.value();
+        }
+
+        private double timeouts() {
+            Counter counter = meterRegistry.find("hikaricp.connections.timeout").counter();
+            return Objects.isNull(counter) ? 0 : counter.count();
+        }
+    }
+}
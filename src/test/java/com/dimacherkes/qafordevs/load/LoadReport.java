@@ -0,0 +1,94 @@
+package com.dimacherkes.qafordevs.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+public record LoadReport(String scenario,
+                         Duration duration,
+                         int concurrency,
+                         List<OperationStats> operations,
+                         OperationStats overall,
+                         PoolStats pool,
+                         long[] completionsPerSecond) {
+
+    public record OperationStats(String name, long ok, long rejected, long failed,
+                                 double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        static OperationStats of(String name, long[] outcomes, long[] sortedLatencies) {
+            return new OperationStats(name, outcomes[0], outcomes[1], outcomes[2],
+                    LatencySamples.percentileMillis(sortedLatencies, 50),
+                    LatencySamples.percentileMillis(sortedLatencies, 95),
+                    LatencySamples.percentileMillis(sortedLatencies, 99),
+                    LatencySamples.percentileMillis(sortedLatencies, 100));
+        }
+
+        public long total() {
+            return ok + rejected + failed;
+        }
+    }
+
+    /**
+     * @param saturatedShare share of samples in which every pooled connection was in use
+     * @param timeouts       connection acquisitions that gave up during the run
+     */
+    public record PoolStats(int maxConnections, int peakActive, int peakPending, double saturatedShare, long timeouts) {
+    }
+
+    public double throughput() {
+        return overall.ok() / (duration.toMillis() / 1000.0);
+    }
+
+    public double errorRate() {
+        return overall.total() == 0 ? 0 : (double) overall.failed() / overall.total();
+    }
+
+    public double rejectedRate() {
+        return overall.total() == 0 ? 0 : (double) overall.rejected() / overall.total();
+    }
+
+    /**
+     * Relative throughput loss of the last tenth of the run against the first tenth. A soak run that
+     * leaks connections, memory or cache entries shows up here long before it starts failing.
+     */
+    public double throughputDrift() {
+        // the last bucket only covers the tail of a second
+        long[] complete = Arrays.copyOf(completionsPerSecond, Math.max(0, completionsPerSecond.length - 1));
+        int window = Math.max(1, complete.length / 10);
+        if (complete.length < 2 * window) {
+            return 0;
+        }
+        double first = Arrays.stream(complete, 0, window).average().orElse(0);
+        double last = Arrays.stream(complete, complete.length - window, complete.length).average().orElse(0);
+        return first == 0 ? 0 : Math.max(0, (first - last) / first);
+    }
+
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%s: %d workers for %ds, %.0f req/s, errors %.3f%%, rejected %.3f%%, drift %.1f%%%n",
+                scenario, concurrency, duration.toSeconds(), throughput(), errorRate() * 100, rejectedRate() * 100,
+                throughputDrift() * 100));
+        report.append(String.format("%-16s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "rejected", "failed", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (OperationStats stats : operations) {
+            appendRow(report, stats);
+        }
+        appendRow(report, overall);
+        report.append(String.format("pool: %d max, peak %d active, peak %d pending, saturated %.1f%% of samples, %d timeouts%n",
+                pool.maxConnections(), pool.peakActive(), pool.peakPending(), pool.saturatedShare() * 100, pool.timeouts()));
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, OperationStats stats) {
+        report.append(String.format("%-16s %10d %9d %9d %9.1f %9.1f %9.1f %9.1f%n", stats.name(), stats.total(),
+                stats.rejected(), stats.failed(), stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis()));
+    }
+
+    public void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(scenario + ".txt"), format());
+    }
+}
@@ -0,0 +1,35 @@
+package com.dimacherkes.qafordevs.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Knobs of a load run, forwarded by the {@code loadTest} Gradle task as {@code qafordevs.*} system properties.
+ */
+public record LoadSettings(Duration duration,
+                           Duration warmup,
+                           Duration soakDuration,
+                           int concurrency,
+                           double writeRatio,
+                           int seedSize,
+                           Path reportDir,
+                           Path baseline,
+                           boolean updateBaseline) {
+
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Duration.parse(property("loadDuration", "PT1M")),
+                Duration.parse(property("loadWarmup", "PT15S")),
+                Duration.parse(property("soakDuration", "PT5M")),
+                Integer.parseInt(property("loadConcurrency", "16")),
+                Double.parseDouble(property("loadWriteRatio", "0.2")),
+                Integer.parseInt(property("loadSeedSize", "2000")),
+                Path.of(property("loadReportDir", "build/load")),
+                Path.of(property("loadBaseline", "src/test/resources/load-baseline.properties")),
+                Boolean.parseBoolean(property("updateLoadBaseline", "false")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("qafordevs." + name, defaultValue);
+    }
+}
@@ -0,0 +1,73 @@
+package com.dimacherkes.qafordevs.metrics;
+
+import com.dimacherkes.qafordevs.exception.DeveloperNotFoundException;
+import com.dimacherkes.qafordevs.exception.DeveloperWithDuplicateEmailException;
+import com.dimacherkes.qafordevs.service.DeveloperService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+
+public class DeveloperOutcomeMetricsAspectTests {
+
+    private SimpleMeterRegistry registry;
+    private DeveloperService target;
+    private DeveloperService service;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = Mockito.mock(DeveloperService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new DeveloperOutcomeMetricsAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Test not found outcome is counted functionality")
+    public void givenMissingDeveloper_whenServiceThrows_thenNotFoundOutcomeIsCounted() {
+        // given
+        given(target.getDeveloperById(anyInt())).willThrow(new DeveloperNotFoundException("Developer not found"));
+        // when
+        assertThatThrownBy(() -> service.getDeveloperById(1)).isInstanceOf(DeveloperNotFoundException.class);
+        // then
+        assertThat(outcome("not_found")).isEqualTo(1);
+        assertThat(outcome("duplicate_email")).isZero();
+    }
+
+    @Test
+    @DisplayName("Test duplicate email outcome is counted functionality")
+    public void givenDuplicateEmail_whenServiceThrows_thenDuplicateEmailOutcomeIsCounted() {
+        // given
+        given(target.saveDeveloper(any())).willThrow(new DeveloperWithDuplicateEmailException("duplicate"));
+        // when
+        assertThatThrownBy(() -> service.saveDeveloper(null)).isInstanceOf(DeveloperWithDuplicateEmailException.class);
+        // then
+        assertThat(outcome("duplicate_email")).isEqualTo(1);
+        assertThat(outcome("not_found")).isZero();
+    }
+
+    @Test
+    @DisplayName("Test other failures are not counted as outcomes functionality")
+    public void givenUnexpectedFailure_whenServiceThrows_thenNoOutcomeIsCounted() {
+        // given
+        given(target.getAllDevelopers()).willThrow(new IllegalStateException("boom"));
+        // when
+        assertThatThrownBy(() -> service.getAllDevelopers()).isInstanceOf(IllegalStateException.class);
+        // then
+        assertThat(outcome("not_found")).isZero();
+        assertThat(outcome("duplicate_email")).isZero();
+    }
+
+    private double outcome(String outcome) {
+        return registry.get("developer.service.outcomes").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,58 @@
+package com.dimacherkes.qafordevs.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatementMetricsFilterTests {
+
+    private final StatementCountingInspector inspector = new StatementCountingInspector();
+
+    @Test
+    @DisplayName("Test statements per request are recorded functionality")
+    public void givenRequestExecutingStatements_whenFiltered_thenCountIsRecordedUnderRouteTags() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementMetricsFilter filter = new StatementMetricsFilter(registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/developers/1");
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/developers/{id}");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+        });
+        // then
+        DistributionSummary summary = registry.get("http.server.requests.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/developers/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test statement count starts from zero on every request functionality")
+    public void givenStatementsBeforeRequest_whenFiltered_thenOnlyRequestStatementsAreRecorded() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementMetricsFilter filter = new StatementMetricsFilter(registry);
+        inspector.inspect("select outside of a request");
+        // when
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/developers"), new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> inspector.inspect("select 1"));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/developers"), new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> {
+                });
+        // then
+        DistributionSummary summary = registry.get("http.server.requests.statements").tag("uri", "UNKNOWN").summary();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(1);
+        assertThat(summary.max()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.dimacherkes.qafordevs.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptivePoolSizerTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Test pool is sized from the last interval only functionality")
+    public void givenWaitsInEarlierInterval_whenCalmIntervalFollows_thenPoolIsNotGrownAgain() {
+        // given
+        HikariDataSource pool = pool(10, 5);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(List.of(pool), properties(4), meterRegistry);
+        record(100, Duration.ofMillis(10), Duration.ofMillis(10));
+        sizer.resize();
+        // when
+        record(100, Duration.ofNanos(1_000), Duration.ofMillis(10));
+        sizer.resize();
+        // then
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Test resize is applied to the pool functionality")
+    public void givenCallersWaiting_whenResize_thenMaximumPoolSizeIsRaised() {
+        // given
+        HikariDataSource pool = pool(10, 5);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(List.of(pool), properties(4), meterRegistry);
+        record(100, Duration.ofMillis(10), Duration.ofMillis(10));
+        // when
+        sizer.resize();
+        // then
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(12);
+        assertThat(pool.getMinimumIdle()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Test minimum idle comes back when the pool grows again functionality")
+    public void givenShrunkPool_whenPoolGrows_thenConfiguredMinimumIdleIsRestored() {
+        // given
+        HikariDataSource pool = pool(10, 10);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(List.of(pool), properties(1), meterRegistry);
+        record(0, Duration.ZERO, Duration.ZERO);
+        sizer.resize();
+        int shrunkMinimumIdle = pool.getMinimumIdle();
+        // when
+        record(100, Duration.ofMillis(10), Duration.ofMillis(10));
+        sizer.resize();
+        // then
+        assertThat(shrunkMinimumIdle).isEqualTo(9);
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(11);
+        assertThat(pool.getMinimumIdle()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Test resizing runs only between start and stop functionality")
+    public void givenSizer_whenStartedAndStopped_thenRunningFollowsLifecycle() {
+        // given
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(List.of(pool(10, 5)), properties(4), meterRegistry);
+        try {
+            boolean runningAfterConstruction = sizer.isRunning();
+            // when
+            sizer.start();
+            boolean runningAfterStart = sizer.isRunning();
+            sizer.stop();
+            // then
+            assertThat(runningAfterConstruction).isFalse();
+            assertThat(runningAfterStart).isTrue();
+            assertThat(sizer.isRunning()).isFalse();
+        } finally {
+            sizer.destroy();
+        }
+    }
+
+    private void record(int acquisitions, Duration wait, Duration usage) {
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", "primary").register(meterRegistry);
+        Timer held = Timer.builder("hikaricp.connections.usage").tag("pool", "primary").register(meterRegistry);
+        for (int i = 0; i < acquisitions; i++) {
+            acquire.record(wait);
+            held.record(usage);
+        }
+    }
+
+    /**
+     * A pool that is configured but never started, so nothing connects to a database.
+     */
+    private static HikariDataSource pool(int maximumPoolSize, int minimumIdle) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("primary");
+        pool.setMaximumPoolSize(maximumPoolSize);
+        pool.setMinimumIdle(minimumIdle);
+        return pool;
+    }
+
+    private static PoolProperties.Adaptive properties(int shrinkAfterIntervals) {
+        PoolProperties.Adaptive properties = new PoolProperties.Adaptive();
+        properties.setMinSize(4);
+        properties.setMaxSize(20);
+        properties.setInterval(Duration.ofSeconds(15));
+        properties.setGrowStep(2);
+        properties.setShrinkAfterIntervals(shrinkAfterIntervals);
+        return properties;
+    }
+}
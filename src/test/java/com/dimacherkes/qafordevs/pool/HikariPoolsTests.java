@@ -0,0 +1,56 @@
+package com.dimacherkes.qafordevs.pool;
+
+import com.dimacherkes.qafordevs.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HikariPoolsTests {
+
+    @Test
+    @DisplayName("Test single pool is found behind the query proxy functionality")
+    public void givenProxiedPool_whenBehind_thenPoolIsReturned() throws Exception {
+        // given
+        HikariDataSource pool = pool("primary", 20);
+        DataSource dataSource = ProxyDataSourceBuilder.create(pool).build();
+        // when
+        List<HikariDataSource> pools = HikariPools.behind(dataSource);
+        // then
+        assertThat(pools).containsExactly(pool);
+    }
+
+    @Test
+    @DisplayName("Test shard pools are found behind the query proxy and the router functionality")
+    public void givenProxiedShardRouter_whenBehind_thenEveryShardPoolIsReturned() throws Exception {
+        // given
+        HikariDataSource shard0 = pool("shard-0", 10);
+        HikariDataSource shard1 = pool("shard-1", 6);
+        ShardRoutingDataSource router = new ShardRoutingDataSource();
+        router.setTargetDataSources(Map.of(0, shard0, 1, shard1));
+        router.setDefaultTargetDataSource(shard0);
+        router.afterPropertiesSet();
+        DataSource dataSource = ProxyDataSourceBuilder.create(router).build();
+        // when
+        List<HikariDataSource> pools = HikariPools.behind(dataSource);
+        // then
+        assertThat(pools).containsExactlyInAnyOrder(shard0, shard1);
+        assertThat(HikariPools.smallestMaximumPoolSize(pools)).isEqualTo(6);
+    }
+
+    /**
+     * A pool that is configured but never started, so nothing connects to a database.
+     */
+    private static HikariDataSource pool(String name, int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+}
@@ -0,0 +1,75 @@
+package com.dimacherkes.qafordevs.pool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PoolSizeControllerTests {
+
+    @Test
+    @DisplayName("Test pool grows when callers wait functionality")
+    public void givenWaitAboveRatio_whenNext_thenPoolGrowsByStep() {
+        // given
+        PoolSizeController controller = new PoolSizeController(properties());
+        // when
+        int next = controller.next(10, new PoolSizeController.Window(1000, 5, 10, 9.8));
+        // then
+        assertThat(next).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Test pool does not grow beyond max size functionality")
+    public void givenPoolAtMaxSize_whenNext_thenSizeIsKept() {
+        // given
+        PoolSizeController controller = new PoolSizeController(properties());
+        // when
+        int next = controller.next(20, new PoolSizeController.Window(1000, 50, 10, 20));
+        // then
+        assertThat(next).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Test pool shrinks only after consecutive calm intervals functionality")
+    public void givenCalmIntervals_whenNext_thenPoolShrinksAfterThreshold() {
+        // given
+        PoolSizeController controller = new PoolSizeController(properties());
+        PoolSizeController.Window calm = new PoolSizeController.Window(1000, 0.01, 10, 2);
+        // when
+        int first = controller.next(10, calm);
+        int second = controller.next(10, calm);
+        int third = controller.next(10, calm);
+        // then
+        assertThat(first).isEqualTo(10);
+        assertThat(second).isEqualTo(10);
+        assertThat(third).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Test busy interval resets shrink countdown functionality")
+    public void givenBusyIntervalBetweenCalmOnes_whenNext_thenPoolIsNotShrunk() {
+        // given
+        PoolSizeController controller = new PoolSizeController(properties());
+        PoolSizeController.Window calm = new PoolSizeController.Window(1000, 0.01, 10, 2);
+        PoolSizeController.Window busy = new PoolSizeController.Window(1000, 0.01, 10, 8);
+        // when
+        controller.next(10, calm);
+        controller.next(10, calm);
+        controller.next(10, busy);
+        int next = controller.next(10, calm);
+        // then
+        assertThat(next).isEqualTo(10);
+    }
+
+    private static PoolProperties.Adaptive properties() {
+        PoolProperties.Adaptive properties = new PoolProperties.Adaptive();
+        properties.setMinSize(4);
+        properties.setMaxSize(20);
+        properties.setGrowStep(2);
+        properties.setGrowWaitRatio(0.25);
+        properties.setShrinkWaitRatio(0.02);
+        properties.setShrinkUtilization(0.5);
+        properties.setShrinkAfterIntervals(3);
+        return properties;
+    }
+}
@@ -0,0 +1,178 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimitFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Test exhausted token bucket answers 429 functionality")
+    public void givenBurstUsedUp_whenNextRequest_thenTooManyRequestsWithRetryAfter() throws Exception {
+        // given
+        RateLimitProperties properties = properties();
+        properties.setBurst(1);
+        properties.setRequestsPerSecond(1);
+        RateLimitFilter filter = filter(properties, 10);
+        filter.doFilter(get("/api/v1/developers/1"), new MockHttpServletResponse(), (request, response) -> {
+        });
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/developers/1"), response, (request, servletResponse) -> {
+            throw new AssertionError("rate limited request reached the controller");
+        });
+        // then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected("point_read", "rate_limited")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test clients beyond the bucket limit share the overflow bucket functionality")
+    public void givenMaxClientsReached_whenNewClients_thenTheyShareOneBucketUntilIdleOnesAreEvicted() throws Exception {
+        // given
+        RateLimitProperties properties = properties();
+        properties.setBurst(1);
+        properties.setRequestsPerSecond(1);
+        properties.setMaxClients(1);
+        RateLimitFilter filter = filter(properties, 10);
+        filter.doFilter(client("first"), new MockHttpServletResponse(), (request, response) -> {
+        });
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        // when
+        filter.doFilter(client("second"), second, (request, response) -> {
+        });
+        filter.doFilter(client("third"), third, (request, response) -> {
+        });
+        filter.evictIdle(System.nanoTime() + TimeUnit.SECONDS.toNanos(2));
+        MockHttpServletResponse afterSweep = new MockHttpServletResponse();
+        filter.doFilter(client("fourth"), afterSweep, (request, response) -> {
+        });
+        // then
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(afterSweep.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("developer.requests.rate_limit.clients").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test endpoint class over its pool share answers 503 functionality")
+    public void givenListScanShareInUse_whenAnotherListScan_thenServiceUnavailable() throws Exception {
+        // given
+        RateLimitFilter filter = filter(properties(), 5);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        MockHttpServletResponse pointRead = new MockHttpServletResponse();
+        // when
+        filter.doFilter(get("/api/v1/developers"), new MockHttpServletResponse(), (request, response) -> {
+            filter.doFilter(get("/api/v1/developers/specialty/Java"), nested, (inner, innerResponse) -> {
+                throw new AssertionError("shed request reached the controller");
+            });
+            filter.doFilter(get("/api/v1/developers/1"), pointRead, (inner, innerResponse) -> {
+            });
+        });
+        // then
+        assertThat(nested.getStatus()).isEqualTo(503);
+        assertThat(nested.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(pointRead.getStatus()).isEqualTo(200);
+        assertThat(rejected("list_scan", "shed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test permit is released after the request functionality")
+    public void givenCompletedAndFailedRequests_whenNextRequest_thenPermitIsAvailable() throws Exception {
+        // given
+        RateLimitFilter filter = filter(properties(), 5);
+        filter.doFilter(get("/api/v1/developers"), new MockHttpServletResponse(), (request, response) -> {
+        });
+        assertThatThrownBy(() -> filter.doFilter(get("/api/v1/developers"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new IllegalStateException("handler failed");
+                })).isInstanceOf(IllegalStateException.class);
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/developers"), response, (request, servletResponse) -> {
+        });
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Test async request keeps its permit until it completes functionality")
+    public void givenAsyncStream_whenFilterReturns_thenPermitIsHeldUntilAsyncCompletes() throws Exception {
+        // given
+        RateLimitFilter filter = filter(properties(), 5);
+        MockHttpServletRequest stream = get("/api/v1/developers/stream");
+        stream.setAsyncSupported(true);
+        AtomicReference<AsyncContext> asyncContext = new AtomicReference<>();
+        filter.doFilter(stream, new MockHttpServletResponse(),
+                (request, response) -> asyncContext.set(request.startAsync()));
+        // when
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/developers"), whileStreaming, (request, response) -> {
+        });
+        asyncContext.get().complete();
+        MockHttpServletResponse afterStreaming = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/developers"), afterStreaming, (request, response) -> {
+        });
+        // then
+        assertThat(whileStreaming.getStatus()).isEqualTo(503);
+        assertThat(afterStreaming.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Test pool shares above the pool are rejected functionality")
+    public void givenSharesAboveOne_whenFilterCreated_thenIllegalArgumentExceptionIsThrown() {
+        // given
+        RateLimitProperties properties = properties();
+        properties.setWritePoolShare(0.9);
+        // when
+        // then
+        assertThatThrownBy(() -> filter(properties, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RateLimitFilter filter(RateLimitProperties properties, int poolSize) {
+        return new RateLimitFilter(properties, new ObjectMapper(), meterRegistry, () -> poolSize);
+    }
+
+    /**
+     * With a pool of 5 connections a list scan share of 0.2 leaves exactly one list scan slot.
+     */
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setBurst(100);
+        properties.setRequestsPerSecond(100);
+        return properties;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static MockHttpServletRequest client(String apiKey) {
+        MockHttpServletRequest request = get("/api/v1/developers/1");
+        request.addHeader("X-API-Key", apiKey);
+        return request;
+    }
+
+    private double rejected(String endpoint, String reason) {
+        return meterRegistry.get("developer.requests.rejected")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,46 @@
+package com.dimacherkes.qafordevs.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTests {
+
+    @Test
+    @DisplayName("Test burst is accepted functionality")
+    public void givenFullBucket_whenBurstIsSent_thenOnlyBurstSizeIsAccepted() {
+        // given
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+        // when
+        boolean first = bucket.tryAcquire(0);
+        boolean second = bucket.tryAcquire(0);
+        boolean third = bucket.tryAcquire(0);
+        boolean fourth = bucket.tryAcquire(0);
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isTrue();
+        assertThat(fourth).isFalse();
+        assertThat(bucket.nanosUntilAvailable(0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("Test bucket refill functionality")
+    public void givenDrainedBucket_whenIntervalPasses_thenOneRequestIsAccepted() {
+        // given
+        TokenBucket bucket = new TokenBucket(1, 10, 0);
+        bucket.tryAcquire(0);
+        long afterOneInterval = TimeUnit.MILLISECONDS.toNanos(100);
+        // when
+        boolean tooEarly = bucket.tryAcquire(afterOneInterval - 1);
+        boolean onTime = bucket.tryAcquire(afterOneInterval);
+        // then
+        assertThat(tooEarly).isFalse();
+        assertThat(onTime).isTrue();
+        assertThat(bucket.isIdle(afterOneInterval)).isFalse();
+        assertThat(bucket.isIdle(2 * afterOneInterval)).isTrue();
+    }
+}
@@ -1,13 +1,21 @@
 package com.dimacherkes.qafordevs.repository;
 
 import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperField;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.filter.DeveloperFilter;
+import com.dimacherkes.qafordevs.filter.DeveloperQueryPlan;
+import com.dimacherkes.qafordevs.filter.DeveloperQueryPlanner;
+import com.dimacherkes.qafordevs.filter.FilterProperties;
 import com.dimacherkes.qafordevs.util.DataUtils;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -113,6 +121,22 @@ public class DeveloperRepositoryTests {
         assertThat(obtainedDeveloper.getEmail()).isEqualTo(developer.getEmail());
     }
 
+    @Test
+    @DisplayName("Test get developer by email ignoring case functionality")
+    public void givenDeveloperSaved_whenGetByEmailInOtherCase_thenDeveloperIsReturned() {
+        // given
+        DeveloperEntity developer = DataUtils.getJohnDoeTransient();
+        developerRepository.save(developer);
+
+        // when
+        DeveloperEntity obtainedDeveloper = developerRepository.findByEmail(" " + developer.getEmail().toUpperCase() + " ");
+
+        // then
+        assertThat(obtainedDeveloper).isNotNull();
+        assertThat(obtainedDeveloper.getId()).isEqualTo(developer.getId());
+        assertThat(obtainedDeveloper.getEmailKey()).isEqualTo(developer.getEmail().toLowerCase());
+    }
+
     @Test
     @DisplayName("Test get all active developers by specialty functionality")
     public void givenThreeDevelopersAndTwoAreActive_whenFindAllActiveBySpecialty_thenReturnOnlyTwoDevelopers() {
@@ -143,4 +167,96 @@ public class DeveloperRepositoryTests {
         assertThat(obtainedDeveloper).isNull();
     }
 
+    @Test
+    @DisplayName("Test get active developers by specialty with selected fields functionality")
+    public void givenThreeDevelopersAndTwoAreActive_whenFindProjected_thenOnlyRequestedFieldsAreSet() {
+        // given
+        DeveloperEntity developer1 = DataUtils.getJohnDoeTransient();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithTransient();
+        DeveloperEntity developer3 = DataUtils.getFrankJonesTransient();
+        developerRepository.saveAll(List.of(developer1, developer2, developer3));
+        // when
+        List<DeveloperEntity> obtainedDevelopers = developerRepository.findAllActiveBySpecialtyProjected("Java",
+                DeveloperField.parse("email"));
+        // then
+        assertThat(obtainedDevelopers).hasSize(2);
+        assertThat(obtainedDevelopers).allSatisfy(developer -> {
+            assertThat(developer.getId()).isNotNull();
+            assertThat(developer.getEmail()).isNotNull();
+            assertThat(developer.getFirstName()).isNull();
+            assertThat(developer.getStatus()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Test find developers matching filter functionality")
+    public void givenThreeDevelopers_whenFindAllMatchingPlannedFilter_thenMatchingDevelopersArePagedById() {
+        // given
+        DeveloperEntity developer1 = DataUtils.getJohnDoeTransient();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithTransient();
+        DeveloperEntity developer3 = DataUtils.getFrankJonesTransient();
+        developerRepository.saveAll(List.of(developer1, developer2, developer3));
+        DeveloperQueryPlan plan = new DeveloperQueryPlanner(new FilterProperties()).plan(
+                new DeveloperFilter(Set.of(Status.ACTIVE), Set.of("Java"), null, null, null, null, 1));
+        // when
+        List<DeveloperEntity> firstPage = developerRepository.findAllMatching(plan.pages().get(0),
+                DeveloperField.parse(null), Limit.of(plan.limit()));
+        long count = developerRepository.countMatching(plan.count(), 10);
+        // then
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getStatus()).isEqualTo(Status.ACTIVE);
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test filters without status leave deleted developers out functionality")
+    public void givenDeletedDeveloper_whenFindAllMatchingFilterWithoutStatus_thenItIsNotReturned() {
+        // given
+        DeveloperEntity developer1 = DataUtils.getJohnDoeTransient();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithTransient();
+        DeveloperEntity developer3 = DataUtils.getFrankJonesTransient();
+        developerRepository.saveAll(List.of(developer1, developer2, developer3));
+        DeveloperQueryPlanner planner = new DeveloperQueryPlanner(new FilterProperties());
+        DeveloperQueryPlan bySpecialty = planner.plan(
+                new DeveloperFilter(null, Set.of("Java"), null, null, null, null, null));
+        DeveloperQueryPlan byPrefix = planner.plan(
+                new DeveloperFilter(null, null, "Jo", null, null, null, null));
+        DeveloperQueryPlan byIdRange = planner.plan(
+                new DeveloperFilter(null, null, null, developer1.getId(), developer3.getId(), null, null));
+        // when
+        List<DeveloperEntity> specialtyPage = developerRepository.findAllMatching(bySpecialty.pages().get(0),
+                DeveloperField.parse(null), Limit.of(bySpecialty.limit()));
+        List<DeveloperEntity> prefixPage = developerRepository.findAllMatching(byPrefix.pages().get(0),
+                DeveloperField.parse(null), Limit.of(byPrefix.limit()));
+        List<DeveloperEntity> idRangePage = developerRepository.findAllMatching(byIdRange.pages().get(0),
+                DeveloperField.parse(null), Limit.of(byIdRange.limit()));
+        // then
+        assertThat(specialtyPage).extracting(DeveloperEntity::getStatus).containsOnly(Status.ACTIVE).hasSize(2);
+        assertThat(prefixPage).isEmpty();
+        assertThat(idRangePage).extracting(DeveloperEntity::getStatus).containsOnly(Status.ACTIVE).hasSize(2);
+        assertThat(developerRepository.countMatching(bySpecialty.count(), 10)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test limit without criteria pages active developers functionality")
+    public void givenThreeDevelopers_whenFindAllMatchingLimitOnlyFilter_thenActiveDevelopersArePaged() {
+        // given
+        DeveloperEntity developer1 = DataUtils.getJohnDoeTransient();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithTransient();
+        DeveloperEntity developer3 = DataUtils.getFrankJonesTransient();
+        developerRepository.saveAll(List.of(developer1, developer2, developer3));
+        DeveloperQueryPlanner planner = new DeveloperQueryPlanner(new FilterProperties());
+        DeveloperQueryPlan firstPlan = planner.plan(new DeveloperFilter(null, null, null, null, null, null, 1));
+        // when
+        List<DeveloperEntity> firstPage = developerRepository.findAllMatching(firstPlan.pages().get(0),
+                DeveloperField.parse(null), Limit.of(firstPlan.limit()));
+        DeveloperQueryPlan secondPlan = planner.plan(
+                new DeveloperFilter(null, null, null, null, null, firstPage.get(0).getId(), 1));
+        List<DeveloperEntity> secondPage = developerRepository.findAllMatching(secondPlan.pages().get(0),
+                DeveloperField.parse(null), Limit.of(secondPlan.limit()));
+        // then
+        assertThat(firstPage).extracting(DeveloperEntity::getId).containsExactly(developer1.getId());
+        assertThat(secondPage).extracting(DeveloperEntity::getId).containsExactly(developer2.getId());
+        assertThat(developerRepository.countMatching(firstPlan.count(), 10)).isEqualTo(2);
+    }
 }
@@ -0,0 +1,132 @@
+package com.dimacherkes.qafordevs.repository;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache entries are only written when a transaction commits, so these tests run
+ * every repository call in its own transaction instead of the usual rolled back test transaction.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "qafordevs.metrics.hibernate-statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DeveloperSecondLevelCacheTests {
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Test specialty query cache functionality")
+    public void givenSpecialtyQueryExecuted_whenExecutedAgain_thenResultComesFromQueryCache() {
+        // given
+        developerRepository.save(DataUtils.getJohnDoeTransient());
+        developerRepository.findAllActiveBySpecialty("Java");
+        // when
+        List<DeveloperEntity> developers = developerRepository.findAllActiveBySpecialty("Java");
+        // then
+        assertThat(developers).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test hard delete cache eviction functionality")
+    public void givenCachedDeveloper_whenHardDelete_thenEntityAndQueryResultsAreEvicted() {
+        // given
+        DeveloperEntity developer = developerRepository.save(DataUtils.getJohnDoeTransient());
+        developerRepository.findById(developer.getId());
+        developerRepository.findByEmail(developer.getEmail());
+        assertThat(cache().containsEntity(DeveloperEntity.class, developer.getId())).isTrue();
+        // when
+        developerRepository.deleteById(developer.getId());
+        // then
+        assertThat(cache().containsEntity(DeveloperEntity.class, developer.getId())).isFalse();
+        assertThat(developerRepository.findByEmail(developer.getEmail())).isNull();
+        assertThat(developerRepository.findById(developer.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test bulk update cache eviction functionality")
+    public void givenCachedDevelopers_whenBulkUpdate_thenEntityRegionAndQueryResultsAreEvicted() {
+        // given
+        DeveloperEntity john = developerRepository.save(DataUtils.getJohnDoeTransient());
+        developerRepository.save(DataUtils.getMikeSmithTransient());
+        developerRepository.findById(john.getId());
+        assertThat(developerRepository.findAllActiveBySpecialty("Java")).hasSize(2);
+        // when
+        Instant updatedAt = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE DeveloperEntity d SET d.status = :status, d.updatedAt = :updatedAt"
+                        + " WHERE d.specialty = :specialty")
+                .setParameter("status", Status.DELETED)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("specialty", "Java")
+                .executeUpdate());
+        // then
+        assertThat(cache().containsEntity(DeveloperEntity.class, john.getId())).isFalse();
+        assertThat(developerRepository.findAllActiveBySpecialty("Java")).isEmpty();
+        assertThat(developerRepository.findById(john.getId()))
+                .get()
+                .extracting(DeveloperEntity::getStatus)
+                .isEqualTo(Status.DELETED);
+        assertThat(developerRepository.findAllUpdatedAfter(updatedAt.minusMillis(1), 0, Limit.of(10)))
+                .extracting(DeveloperEntity::getId)
+                .contains(john.getId());
+    }
+
+    @Test
+    @DisplayName("Test batched soft delete cache functionality")
+    public void givenCachedSpecialtyResult_whenSaveAllSoftDeleted_thenQueryResultIsInvalidated() {
+        // given
+        DeveloperEntity john = developerRepository.save(DataUtils.getJohnDoeTransient());
+        assertThat(developerRepository.findAllActiveBySpecialty("Java")).hasSize(1);
+        // when
+        john.setStatus(Status.DELETED);
+        developerRepository.saveAll(List.of(john));
+        // then
+        assertThat(developerRepository.findAllActiveBySpecialty("Java")).isEmpty();
+    }
+
+    private org.hibernate.Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,156 @@
+package com.dimacherkes.qafordevs.rest;
+
+import com.dimacherkes.qafordevs.breaker.CircuitBreaker;
+import com.dimacherkes.qafordevs.breaker.CircuitBreakerAdvice;
+import com.dimacherkes.qafordevs.breaker.CircuitBreakerAspect;
+import com.dimacherkes.qafordevs.breaker.CircuitBreakerProperties;
+import com.dimacherkes.qafordevs.breaker.LastKnownValues;
+import com.dimacherkes.qafordevs.cache.DeveloperDataGeneration;
+import com.dimacherkes.qafordevs.cache.ResponseCacheFilter;
+import com.dimacherkes.qafordevs.cache.ResponseCacheProperties;
+import com.dimacherkes.qafordevs.codec.BinaryFormatsConfiguration;
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.service.DeveloperSearchService;
+import com.dimacherkes.qafordevs.service.DeveloperService;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The service answers through a repository guarded by the circuit breaker aspect, so the stale
+ * marking, the advice and the response cache in front of the controller all take part.
+ */
+@WebMvcTest(DeveloperRestControllerV1.class)
+@Import({BinaryFormatsConfiguration.class, DeveloperRestControllerV1CircuitBreakerTest.ResponseCacheTestConfiguration.class})
+public class DeveloperRestControllerV1CircuitBreakerTest {
+
+    @TestConfiguration
+    static class ResponseCacheTestConfiguration {
+
+        @Bean
+        public ResponseCacheFilter responseCacheFilter() {
+            return new ResponseCacheFilter(new DeveloperDataGeneration(), new ResponseCacheProperties(),
+                    new SimpleMeterRegistry());
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private DeveloperService developerService;
+
+    @MockBean
+    private DeveloperSearchService developerSearchService;
+
+    private DeveloperRepository developers;
+    private DeveloperRepository repository;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        developers = Mockito.mock(DeveloperRepository.class);
+        circuitBreaker = new CircuitBreaker(properties());
+        AspectJProxyFactory factory = new AspectJProxyFactory(developers);
+        factory.addAspect(new CircuitBreakerAspect(circuitBreaker,
+                new LastKnownValues(1024 * 1024, 1024 * 1024, Duration.ofHours(1), Duration.ZERO),
+                new SimpleMeterRegistry()));
+        repository = factory.getProxy();
+        BDDMockito.given(developerService.getAllActiveBySpecialty(anyString()))
+                .willAnswer(invocation -> repository.findAllActiveBySpecialty(invocation.getArgument(0)));
+        BDDMockito.given(developerService.saveDeveloper(any(DeveloperEntity.class)))
+                .willAnswer(invocation -> repository.save(invocation.<DeveloperEntity>getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Test unreachable database is answered with a stale list functionality")
+    public void givenRememberedList_whenDatabaseUnreachable_thenStaleResponseIsNotStored() throws Exception {
+        //given
+        BDDMockito.given(developers.findAllActiveBySpecialty(anyString()))
+                .willReturn(new ArrayList<>(List.of(DataUtils.getJohnDoePersisted())))
+                .willThrow(new CannotCreateTransactionException("Connection refused"))
+                .willReturn(new ArrayList<>(List.of(DataUtils.getJohnDoePersisted(), DataUtils.getMikeSmithPersisted())));
+        // an unknown parameter keeps the first read out of the response cache
+        mockMvc.perform(get("/api/v1/developers/specialty/Java").param("cacheBuster", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        //when
+        ResultActions stale = mockMvc.perform(get("/api/v1/developers/specialty/Java"));
+        ResultActions recovered = mockMvc.perform(get("/api/v1/developers/specialty/Java"));
+        //then
+        stale
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(CircuitBreakerAdvice.STALE_HEADER))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL,
+                        CoreMatchers.containsString("no-store")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)));
+        recovered
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(CircuitBreakerAdvice.STALE_HEADER))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(2)));
+    }
+
+    @Test
+    @DisplayName("Test write while the circuit is open is answered with 503 functionality")
+    public void givenOpenCircuit_whenCreateDeveloper_thenServiceUnavailableWithRetryAfterIsReturned() throws Exception {
+        //given
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        //when
+        ResultActions result = mockMvc.perform(post("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(DataUtils.getJohnDoeDtoTransient())));
+        //then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(503)));
+        Mockito.verifyNoInteractions(developers);
+    }
+
+    /**
+     * One failure in two calls keeps the circuit closed, two open it.
+     */
+    private static CircuitBreakerProperties properties() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(2);
+        properties.setMinimumCalls(2);
+        properties.setFailureRateThreshold(0.75);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        return properties;
+    }
+}
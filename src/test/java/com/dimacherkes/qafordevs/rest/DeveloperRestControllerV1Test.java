@@ -1,10 +1,16 @@
 package com.dimacherkes.qafordevs.rest;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.dimacherkes.qafordevs.codec.BinaryFormatsConfiguration;
+import com.dimacherkes.qafordevs.codec.DeveloperMediaTypes;
 import com.dimacherkes.qafordevs.dto.DeveloperDto;
 import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.exception.DeveloperEmailShardChangeException;
 import com.dimacherkes.qafordevs.exception.DeveloperNotFoundException;
 import com.dimacherkes.qafordevs.exception.DeveloperWithDuplicateEmailException;
+import com.dimacherkes.qafordevs.service.DeveloperSearchService;
 import com.dimacherkes.qafordevs.service.DeveloperService;
 import com.dimacherkes.qafordevs.util.DataUtils;
 import org.hamcrest.CoreMatchers;
@@ -14,18 +20,26 @@ import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
-@WebMvcTest
+@WebMvcTest(DeveloperRestControllerV1.class)
+@Import(BinaryFormatsConfiguration.class)
 public class DeveloperRestControllerV1Test {
 
     // для генерации запросов
@@ -39,6 +53,9 @@ public class DeveloperRestControllerV1Test {
     @MockBean
     private DeveloperService developerService;
 
+    @MockBean
+    private DeveloperSearchService developerSearchService;
+
     @Test
     @DisplayName("Test create developer functionality")
     public void givenDeveloperDto_whenCreateDeveloper_thenSuccessResponse() throws Exception {
@@ -121,6 +138,27 @@ public class DeveloperRestControllerV1Test {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message", CoreMatchers.is("Developer not found")));
     }
 
+    @Test
+    @DisplayName("Test update developer email to one owned by another shard functionality")
+    public void givenEmailOwnedByAnotherShard_whenUpdateDeveloper_thenConflictResponse() throws Exception {
+        //given
+        DeveloperDto dto = DataUtils.getJohnDoeDtoTransient();
+        BDDMockito.given(developerService.updateDeveloper(any(DeveloperEntity.class)))
+                .willThrow(new DeveloperEmailShardChangeException(
+                        "Developer email can not be changed to one owned by another shard"));
+        //when
+        ResultActions result = mockMvc.perform(put("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)));
+        //then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(409)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message",
+                        CoreMatchers.is("Developer email can not be changed to one owned by another shard")));
+    }
+
     @Test
     @DisplayName("Test get developer by id functionality")
     public void givenId_whenGetDeveloperById_thenSuccessResponse() throws Exception{
@@ -141,6 +179,73 @@ public class DeveloperRestControllerV1Test {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is("ACTIVE")));
     }
 
+    @Test
+    @DisplayName("Test get developer by id with selected fields functionality")
+    public void givenIdAndFields_whenGetDeveloperById_thenOnlyRequestedFieldsAreReturned() throws Exception {
+        // given
+        DeveloperEntity entity = DeveloperEntity.builder()
+                .id(1)
+                .email("jonh.doe@gmail.com")
+                .build();
+        BDDMockito.given(developerService.getDeveloperById(anyInt(), any()))
+                .willReturn(entity);
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/developers/1")
+                .param("fields", "email")
+                .contentType(MediaType.APPLICATION_JSON));
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is("jonh.doe@gmail.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").doesNotExist());
+        verify(developerService, never()).getDeveloperById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test get developer by id with unknown field functionality")
+    public void givenUnknownField_whenGetDeveloperById_thenErrorResponse() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/developers/1")
+                .param("fields", "salary")
+                .contentType(MediaType.APPLICATION_JSON));
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400)));
+    }
+
+    @Test
+    @DisplayName("Test failure behind a valid field list is not a client error functionality")
+    public void givenServiceFailure_whenGetDeveloperByIdWithFields_thenItIsNotAnsweredWithBadRequest() {
+        // given
+        BDDMockito.given(developerService.getDeveloperById(anyInt(), any()))
+                .willThrow(new IllegalArgumentException("Id must not be null"));
+        // when
+        // then
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/v1/developers/1")
+                .param("fields", "email")
+                .contentType(MediaType.APPLICATION_JSON)))
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Test get all developers with unknown status functionality")
+    public void givenUnknownStatus_whenGetAllDevelopers_thenErrorResponse() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(get("/api/v1/developers")
+                .param("status", "RETIRED")
+                .contentType(MediaType.APPLICATION_JSON));
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400)));
+        verifyNoInteractions(developerSearchService);
+    }
+
     @Test
     @DisplayName("Test get developer by incorrect id functionality")
     public void givenIncorrectId_whenGetDeveloperById_thenErrorResponse() throws Exception{
@@ -220,4 +325,103 @@ public class DeveloperRestControllerV1Test {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Test get developer by id in smile format functionality")
+    public void givenSmileAccepted_whenGetDeveloperById_thenSmileResponse() throws Exception {
+        //given
+        DeveloperEntity entity = DataUtils.getJohnDoePersisted();
+        BDDMockito.given(developerService.getDeveloperById(anyInt()))
+                .willReturn(entity);
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/developers/1")
+                .accept(DeveloperMediaTypes.APPLICATION_SMILE));
+        //then
+        byte[] body = result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(DeveloperMediaTypes.APPLICATION_SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        DeveloperDto dto = new SmileMapper().readValue(body, DeveloperDto.class);
+        assertThat(dto.getFirstName()).isEqualTo("John");
+        assertThat(dto.getEmail()).isEqualTo(entity.getEmail());
+    }
+
+    @Test
+    @DisplayName("Test stream developers as ndjson functionality")
+    public void givenTwoActiveDevelopers_whenStream_thenOneJsonLinePerDeveloperAndStreamEnds() throws Exception {
+        //given
+        streamDevelopers(DataUtils.getJohnDoePersisted(), DataUtils.getMikeSmithPersisted());
+        //when
+        MvcResult started = mockMvc.perform(get("/api/v1/developers/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions result = mockMvc.perform(asyncDispatch(started));
+        //then
+        String body = result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), DeveloperDto.class).getFirstName()).isEqualTo("John");
+        assertThat(objectMapper.readValue(lines.get(1), DeveloperDto.class).getFirstName()).isEqualTo("Mike");
+        verify(developerService, times(1)).forEachActiveDeveloper(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Test stream developers in smile format functionality")
+    public void givenSmileAccepted_whenStream_thenSmileValuesAreStreamed() throws Exception {
+        //given
+        streamDevelopers(DataUtils.getJohnDoePersisted(), DataUtils.getMikeSmithPersisted());
+        //when
+        MvcResult started = mockMvc.perform(get("/api/v1/developers/stream")
+                        .accept(DeveloperMediaTypes.APPLICATION_SMILE))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions result = mockMvc.perform(asyncDispatch(started));
+        //then
+        byte[] body = result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(DeveloperMediaTypes.APPLICATION_SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        try (MappingIterator<DeveloperDto> values = new SmileMapper().readerFor(DeveloperDto.class).readValues(body)) {
+            assertThat(values.readAll()).extracting(DeveloperDto::getEmail)
+                    .containsExactly("jonh.doe@gmail.com", "mike.smith@gmail.com");
+        }
+    }
+
+    @Test
+    @DisplayName("Test stream without accept header defaults to ndjson functionality")
+    public void givenNoAcceptHeader_whenStream_thenNdjsonIsNegotiated() throws Exception {
+        //given
+        streamDevelopers();
+        //when
+        MvcResult started = mockMvc.perform(get("/api/v1/developers/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions result = mockMvc.perform(asyncDispatch(started));
+        //then
+        result
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamDevelopers(DeveloperEntity... developers) {
+        doAnswer(invocation -> {
+            Consumer<DeveloperEntity> consumer = invocation.getArgument(1);
+            for (DeveloperEntity developer : developers) {
+                consumer.accept(developer);
+            }
+            return null;
+        }).when(developerService).forEachActiveDeveloper(anyInt(), any(Consumer.class));
+    }
+}
@@ -0,0 +1,124 @@
+package com.dimacherkes.qafordevs.roster;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.Status;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OffHeapDeveloperRosterTests {
+
+    @Test
+    @DisplayName("Test roster round trip functionality")
+    public void givenDeveloper_whenUpsertAndFindById_thenSameDeveloperIsReturned() {
+        // given
+        OffHeapDeveloperRoster roster = new OffHeapDeveloperRoster(16);
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        developer.setLastName("Do\u00eb");
+        // when
+        roster.upsert(developer);
+        // then
+        assertThat(roster.findById(developer.getId())).isEqualTo(developer);
+        assertThat(roster.findById(developer.getId() + 1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Test roster update and remove functionality")
+    public void givenStoredDeveloper_whenUpdatedThenRemoved_thenLatestStateIsServed() {
+        // given
+        OffHeapDeveloperRoster roster = new OffHeapDeveloperRoster(16);
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        roster.upsert(developer);
+        // when
+        developer.setEmail("updated@mail.com");
+        roster.upsert(developer);
+        // then
+        assertThat(roster.findById(developer.getId()).getEmail()).isEqualTo("updated@mail.com");
+        roster.remove(developer.getId());
+        assertThat(roster.findById(developer.getId())).isNull();
+        assertThat(roster.findAllActiveBySpecialty("Java")).isEmpty();
+        assertThat(roster.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test developer that is no longer active leaves the roster functionality")
+    public void givenStoredDeveloper_whenUpsertedAsDeleted_thenItIsRemoved() {
+        // given
+        OffHeapDeveloperRoster roster = new OffHeapDeveloperRoster(16);
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        roster.upsert(developer);
+        // when
+        developer.setStatus(Status.DELETED);
+        roster.upsert(developer);
+        // then
+        assertThat(roster.findById(developer.getId())).isNull();
+        assertThat(roster.findAllActiveBySpecialty("Java")).isEmpty();
+        assertThat(roster.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test specialty change moves the developer between specialty lists functionality")
+    public void givenDevelopersOfOneSpecialty_whenOneChangesSpecialty_thenListsFollow() {
+        // given
+        OffHeapDeveloperRoster roster = new OffHeapDeveloperRoster(16);
+        for (int id = 1; id <= 3; id++) {
+            roster.upsert(developer(id, "Java", "John"));
+        }
+        // when
+        roster.upsert(developer(1, "Go", "John"));
+        roster.remove(2);
+        // then
+        assertThat(roster.findAllActiveBySpecialty("Java")).extracting(DeveloperEntity::getId).containsExactly(3);
+        assertThat(roster.findAllActiveBySpecialty("Go")).extracting(DeveloperEntity::getId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Test capacity beyond what a direct buffer holds is rejected functionality")
+    public void givenHugeCapacity_whenRosterCreated_thenIllegalStateExceptionIsThrown() {
+        // given
+        // when
+        // then
+        assertThatThrownBy(() -> new OffHeapDeveloperRoster(Integer.MAX_VALUE / 2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Test roster growth functionality")
+    public void givenManyDevelopers_whenUpsertedRepeatedly_thenIndexAndTextSurviveGrowth() {
+        // given
+        OffHeapDeveloperRoster roster = new OffHeapDeveloperRoster(16);
+        int count = 20_000;
+        // when
+        for (int round = 0; round < 3; round++) {
+            for (int id = 1; id <= count; id++) {
+                roster.upsert(developer(id, id % 2 == 0 ? "Java" : "Go", "round" + round));
+            }
+        }
+        for (int id = 1; id <= count; id += 4) {
+            roster.remove(id);
+        }
+        // then
+        assertThat(roster.size()).isEqualTo(count - count / 4);
+        assertThat(roster.findById(2).getFirstName()).isEqualTo("round2");
+        assertThat(roster.findById(5)).isNull();
+        List<DeveloperEntity> goDevelopers = roster.findAllActiveBySpecialty("Go");
+        assertThat(goDevelopers).hasSize(count / 4);
+        assertThat(goDevelopers).allMatch(developer -> developer.getId() % 4 == 3);
+    }
+
+    private static DeveloperEntity developer(int id, String specialty, String firstName) {
+        return DeveloperEntity.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName("Developer")
+                .email("developer" + id + "@mail.com")
+                .specialty(specialty)
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
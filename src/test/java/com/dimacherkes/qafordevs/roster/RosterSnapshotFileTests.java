@@ -0,0 +1,65 @@
+package com.dimacherkes.qafordevs.roster;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RosterSnapshotFileTests {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Test roster snapshot round trip functionality")
+    public void givenRoster_whenSnapshotWrittenAndRead_thenRowsAndWatermarkAreRestored() throws IOException {
+        // given
+        OffHeapDeveloperRoster roster = new OffHeapDeveloperRoster(16);
+        DeveloperEntity john = DataUtils.getJohnDoePersisted();
+        DeveloperEntity mike = DataUtils.getMikeSmithPersisted();
+        roster.upsert(john);
+        roster.upsert(mike);
+        Path path = directory.resolve("roster.snapshot");
+        Instant watermark = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        // when
+        int written = RosterSnapshotFile.write(roster, path, watermark);
+        OffHeapDeveloperRoster restored = new OffHeapDeveloperRoster(16);
+        Optional<Instant> read = RosterSnapshotFile.read(path, restored);
+        // then
+        assertThat(written).isEqualTo(2);
+        assertThat(read).contains(watermark);
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.findById(john.getId())).isEqualTo(john);
+        assertThat(restored.findById(mike.getId())).isEqualTo(mike);
+        assertThat(restored.findAllActiveBySpecialty(john.getSpecialty())).containsExactly(john);
+    }
+
+    @Test
+    @DisplayName("Test roster snapshot corruption functionality")
+    public void givenCorruptedSnapshot_whenRead_thenSnapshotIsIgnored() throws IOException {
+        // given
+        OffHeapDeveloperRoster roster = new OffHeapDeveloperRoster(16);
+        roster.upsert(DataUtils.getJohnDoePersisted());
+        Path path = directory.resolve("roster.snapshot");
+        RosterSnapshotFile.write(roster, path, Instant.now());
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(path, bytes);
+        // when
+        OffHeapDeveloperRoster restored = new OffHeapDeveloperRoster(16);
+        Optional<Instant> read = RosterSnapshotFile.read(path, restored);
+        // then
+        assertThat(read).isEmpty();
+        assertThat(restored.size()).isZero();
+    }
+}
@@ -0,0 +1,178 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.entity.DeveloperImportEntity;
+import com.dimacherkes.qafordevs.entity.ImportStatus;
+import com.dimacherkes.qafordevs.event.ChangeType;
+import com.dimacherkes.qafordevs.event.DeveloperBatchChangedEvent;
+import com.dimacherkes.qafordevs.exception.InvalidImportFileException;
+import com.dimacherkes.qafordevs.importer.DeveloperImportProperties;
+import com.dimacherkes.qafordevs.importer.ImportFormat;
+import com.dimacherkes.qafordevs.repository.DeveloperImportRepository;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeveloperImportServiceImplTests {
+
+    @Mock
+    private DeveloperRepository developerRepository;
+
+    @Mock
+    private DeveloperImportRepository importRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DeveloperImportServiceImpl serviceUnderTest;
+
+    @BeforeEach
+    public void setUp() {
+        DeveloperImportProperties properties = new DeveloperImportProperties();
+        properties.setBatchSize(2);
+        properties.setValidationParallelism(2);
+        serviceUnderTest = new DeveloperImportServiceImpl(developerRepository, importRepository, properties,
+                new ObjectMapper(), eventPublisher);
+        lenient().when(importRepository.save(any(DeveloperImportEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        serviceUnderTest.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test import developers from csv functionality")
+    public void givenCsvWithInvalidAndDuplicateRows_whenImportDevelopers_thenOnlyNewValidRowsAreSaved() {
+        // given
+        String csv = """
+                firstName,lastName,email,specialty
+                John,Doe,john.doe@mail.com,Java
+                Mike,Smith,not-an-email,Java
+                " Frank ",Jones,FRANK.JONES@mail.com,Java
+                Frank,Jones,frank.jones@mail.com,Java
+                Jane,Roe,existing@mail.com,Go
+                """;
+        DeveloperEntity existing = DataUtils.getJohnDoePersisted();
+        existing.setEmail("existing@mail.com");
+        BDDMockito.given(developerRepository.findAllByEmailKeyIn(anyCollection()))
+                .willReturn(List.of())
+                .willReturn(List.of(existing));
+        BDDMockito.given(developerRepository.saveAll(anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        // when
+        DeveloperImportEntity result = serviceUnderTest.importDevelopers(null, stream(csv), ImportFormat.CSV);
+        // then
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(result.getLastCommittedLine()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getDuplicates()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getErrorSample()).contains("line 2: invalid email");
+        verify(eventPublisher, times(2)).publishEvent(any(DeveloperBatchChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Test one change event is published per committed batch functionality")
+    public void givenBatchOfNewRows_whenImportDevelopers_thenOneEventListsTheWholeBatch() {
+        // given
+        String csv = """
+                firstName,lastName,email,specialty
+                John,Doe,john.doe@mail.com,Java
+                Mike,Smith,mike.smith@mail.com,Python
+                """;
+        BDDMockito.given(developerRepository.findAllByEmailKeyIn(anyCollection()))
+                .willReturn(List.of());
+        BDDMockito.given(developerRepository.saveAll(anyList()))
+                .willAnswer(invocation -> {
+                    List<DeveloperEntity> developers = invocation.getArgument(0);
+                    for (int i = 0; i < developers.size(); i++) {
+                        developers.get(i).setId(i + 1);
+                    }
+                    return developers;
+                });
+        // when
+        serviceUnderTest.importDevelopers(null, stream(csv), ImportFormat.CSV);
+        // then
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue()).isEqualTo(new DeveloperBatchChangedEvent(ChangeType.CREATED, List.of(1, 2),
+                List.of("john.doe@mail.com", "mike.smith@mail.com")));
+    }
+
+    @Test
+    @DisplayName("Test resume import functionality")
+    public void givenFailedImport_whenImportDevelopersWithItsId_thenCommittedLinesAreSkipped() {
+        // given
+        String ndjson = """
+                {"firstName":"John","lastName":"Doe","email":"john.doe@mail.com","specialty":"Java"}
+                {"firstName":"Mike","lastName":"Smith","email":"mike.smith@mail.com","specialty":"Java"}
+                {"firstName":"Frank","lastName":"Jones","email":"frank.jones@mail.com","specialty":"Java"}
+                """;
+        DeveloperImportEntity failed = DeveloperImportEntity.builder()
+                .id("import-1")
+                .status(ImportStatus.FAILED)
+                .lastCommittedLine(2)
+                .imported(2)
+                .build();
+        BDDMockito.given(importRepository.findById(anyString()))
+                .willReturn(Optional.of(failed));
+        BDDMockito.given(developerRepository.findAllByEmailKeyIn(anyCollection()))
+                .willReturn(List.of());
+        BDDMockito.given(developerRepository.saveAll(anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        // when
+        DeveloperImportEntity result = serviceUnderTest.importDevelopers("import-1", stream(ndjson), ImportFormat.NDJSON);
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DeveloperEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(developerRepository, times(1)).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(DeveloperEntity::getEmail).containsExactly("frank.jones@mail.com");
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getLastCommittedLine()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test csv without header is rejected before import starts functionality")
+    public void givenCsvWithoutHeader_whenImportDevelopers_thenInvalidImportFileExceptionIsThrown() {
+        // given
+        String csv = """
+                John,Doe,john.doe@mail.com,Java
+                Mike,Smith,mike.smith@mail.com,Java
+                """;
+        // when
+        // then
+        assertThatThrownBy(() -> serviceUnderTest.importDevelopers(null, stream(csv), ImportFormat.CSV))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("firstname");
+        verifyNoInteractions(importRepository, developerRepository);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
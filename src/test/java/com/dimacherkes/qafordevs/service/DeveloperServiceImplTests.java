@@ -4,7 +4,9 @@ import com.dimacherkes.qafordevs.entity.DeveloperEntity;
 import com.dimacherkes.qafordevs.exception.DeveloperNotFoundException;
 import com.dimacherkes.qafordevs.exception.DeveloperWithDuplicateEmailException;
 import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.roster.OffHeapDeveloperRoster;
 import com.dimacherkes.qafordevs.util.DataUtils;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +14,14 @@ import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.util.CollectionUtils;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +36,12 @@ public class DeveloperServiceImplTests {
     @Mock
     private DeveloperRepository developerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<OffHeapDeveloperRoster> developerRoster;
+
     @InjectMocks
     private DeveloperServiceImpl serviceUnderTest;
 
@@ -76,6 +90,37 @@ public class DeveloperServiceImplTests {
         verify(developerRepository, times(1)).save(any(DeveloperEntity.class));
     }
 
+    @Test
+    @DisplayName("Test update developer to a taken email functionality")
+    public void givenEmailTakenByAnotherDeveloper_whenUpdateDeveloper_thenDuplicateEmailExceptionIsThrown() {
+        // given
+        DeveloperEntity developerToUpdate = DataUtils.getJohnDoePersisted();
+        developerToUpdate.setEmail(" Mike.Smith@gmail.com ");
+        BDDMockito.given(developerRepository.existsById(anyInt()))
+                .willReturn(true);
+        BDDMockito.given(developerRepository.save(any(DeveloperEntity.class)))
+                .willThrow(integrityViolation(DeveloperEntity.EMAIL_KEY_INDEX));
+        // when
+        assertThrows(DeveloperWithDuplicateEmailException.class, () -> serviceUnderTest.updateDeveloper(developerToUpdate));
+        // then
+        assertThat(developerToUpdate.getEmail()).isEqualTo("Mike.Smith@gmail.com");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Test update developer violating another constraint functionality")
+    public void givenOtherConstraintViolated_whenUpdateDeveloper_thenViolationIsNotReportedAsDuplicateEmail() {
+        // given
+        DeveloperEntity developerToUpdate = DataUtils.getJohnDoePersisted();
+        BDDMockito.given(developerRepository.existsById(anyInt()))
+                .willReturn(true);
+        BDDMockito.given(developerRepository.save(any(DeveloperEntity.class)))
+                .willThrow(integrityViolation("developers_pkey"));
+        // when
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> serviceUnderTest.updateDeveloper(developerToUpdate));
+    }
+
     @Test
     @DisplayName("Test update developer with incorrect functionality")
     public void givenDeveloperToUpdateWithIncorrectId_whenUpdateDeveloper_thenExceptionIsThrown() {
@@ -226,4 +271,28 @@ public class DeveloperServiceImplTests {
         verify(developerRepository, never()).deleteById(anyInt());
     }
 
+    @Test
+    @DisplayName("Test for each active developer functionality")
+    public void givenThreeActiveDevelopers_whenForEachActiveDeveloperInBatchesOfTwo_thenAllAreVisited() {
+        // given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
+        DeveloperEntity developer3 = DataUtils.getFrankJonesPersisted();
+        BDDMockito.given(developerRepository.findAllActiveAfterId(eq(0), any(Limit.class)))
+                .willReturn(List.of(developer1, developer2));
+        BDDMockito.given(developerRepository.findAllActiveAfterId(eq(developer2.getId()), any(Limit.class)))
+                .willReturn(List.of(developer3));
+        List<DeveloperEntity> visited = new ArrayList<>();
+        // when
+        serviceUnderTest.forEachActiveDeveloper(2, visited::add);
+        // then
+        assertThat(visited).containsExactly(developer1, developer2, developer3);
+        verify(developerRepository, times(2)).findAllActiveAfterId(anyInt(), any(Limit.class));
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value violates unique constraint",
+                        new SQLException("duplicate key value", "23505"), constraintName));
+    }
 }
@@ -0,0 +1,152 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.it.AbstractRestControllerBaseTest;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import com.dimacherkes.qafordevs.util.DataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.dimacherkes.qafordevs.util.SqlStatementCounter.assertStatementsAtMost;
+
+/**
+ * Runs the {@link DeveloperServiceImplTests} scenarios against Postgres and fails when a service
+ * method exceeds its SQL statement budget. The persistence context is cleared before each measured
+ * call and the second-level and query caches are off, so every read has to reach the database and
+ * an N+1 shows up in the count.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.dimacherkes.qafordevs.metrics.StatementCountingInspector",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Import(DeveloperServiceImpl.class)
+public class DeveloperServiceStatementCountTests extends AbstractRestControllerBaseTest {
+
+    @Autowired
+    private DeveloperService serviceUnderTest;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test save developer statement budget functionality")
+    public void givenDeveloperToSave_whenSaveDeveloper_thenAtMostTwoStatementsAreExecuted() throws Throwable {
+        // given
+        DeveloperEntity developerToSave = DataUtils.getJohnDoeTransient();
+        // when
+        // then
+        assertStatementsAtMost(2, () -> {
+            serviceUnderTest.saveDeveloper(developerToSave);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("Test update developer statement budget functionality")
+    public void givenDeveloperToUpdate_whenUpdateDeveloper_thenAtMostThreeStatementsAreExecuted() throws Throwable {
+        // given
+        DeveloperEntity developerToUpdate = persistAndClear(DataUtils.getJohnDoeTransient());
+        developerToUpdate.setEmail("updated@gmail.com");
+        // when
+        // then
+        assertStatementsAtMost(3, () -> {
+            serviceUnderTest.updateDeveloper(developerToUpdate);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("Test get developer by id statement budget functionality")
+    public void givenId_whenGetDeveloperById_thenAtMostOneStatementIsExecuted() throws Throwable {
+        // given
+        DeveloperEntity developer = persistAndClear(DataUtils.getJohnDoeTransient());
+        // when
+        // then
+        assertStatementsAtMost(1, () -> serviceUnderTest.getDeveloperById(developer.getId()));
+    }
+
+    @Test
+    @DisplayName("Test get developer by email statement budget functionality")
+    public void givenEmail_whenGetDeveloperByEmail_thenAtMostOneStatementIsExecuted() throws Throwable {
+        // given
+        DeveloperEntity developer = persistAndClear(DataUtils.getJohnDoeTransient());
+        // when
+        // then
+        assertStatementsAtMost(1, () -> serviceUnderTest.getDeveloperByEmail(developer.getEmail()));
+    }
+
+    @Test
+    @DisplayName("Test get all developers statement budget functionality")
+    public void givenThreeDevelopers_whenGetAll_thenAtMostOneStatementIsExecuted() throws Throwable {
+        // given
+        persistAndClear(DataUtils.getJohnDoeTransient());
+        persistAndClear(DataUtils.getMikeSmithTransient());
+        persistAndClear(DataUtils.getFrankJonesTransient());
+        // when
+        // then
+        assertStatementsAtMost(1, () -> serviceUnderTest.getAllDevelopers());
+    }
+
+    @Test
+    @DisplayName("Test get all active by specialty statement budget functionality")
+    public void givenThreeDevelopers_whenGetAllActiveBySpecialty_thenAtMostOneStatementIsExecuted() throws Throwable {
+        // given
+        persistAndClear(DataUtils.getJohnDoeTransient());
+        persistAndClear(DataUtils.getMikeSmithTransient());
+        persistAndClear(DataUtils.getFrankJonesTransient());
+        // when
+        // then
+        assertStatementsAtMost(1, () -> serviceUnderTest.getAllActiveBySpecialty("Java"));
+    }
+
+    @Test
+    @DisplayName("Test soft delete statement budget functionality")
+    public void givenId_whenSoftDeleteById_thenAtMostTwoStatementsAreExecuted() throws Throwable {
+        // given
+        DeveloperEntity developer = persistAndClear(DataUtils.getJohnDoeTransient());
+        // when
+        // then
+        assertStatementsAtMost(2, () -> {
+            serviceUnderTest.softDeleteById(developer.getId());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("Test hard delete statement budget functionality")
+    public void givenId_whenHardDeleteById_thenAtMostTwoStatementsAreExecuted() throws Throwable {
+        // given
+        DeveloperEntity developer = persistAndClear(DataUtils.getJohnDoeTransient());
+        // when
+        // then
+        assertStatementsAtMost(2, () -> {
+            serviceUnderTest.hardDeleteById(developer.getId());
+            entityManager.flush();
+        });
+    }
+
+    private DeveloperEntity persistAndClear(DeveloperEntity developer) {
+        DeveloperEntity persisted = entityManager.persistAndFlush(developer);
+        entityManager.clear();
+        return persisted;
+    }
+}
@@ -0,0 +1,323 @@
+package com.dimacherkes.qafordevs.service;
+
+import com.dimacherkes.qafordevs.entity.JobEntity;
+import com.dimacherkes.qafordevs.entity.JobStatus;
+import com.dimacherkes.qafordevs.entity.JobType;
+import com.dimacherkes.qafordevs.jobs.JobProperties;
+import com.dimacherkes.qafordevs.repository.JobRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class JobServiceImplTests {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private final Map<String, JobEntity> storedJobs = new ConcurrentHashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private JobServiceImpl serviceUnderTest;
+
+    @BeforeEach
+    public void setUp() {
+        BDDMockito.given(jobRepository.save(any(JobEntity.class)))
+                .willAnswer(invocation -> {
+                    JobEntity job = invocation.getArgument(0);
+                    storedJobs.put(job.getId(), copy(job));
+                    return job;
+                });
+        BDDMockito.given(jobRepository.findById(anyString()))
+                .willAnswer(invocation -> Optional.ofNullable(storedJobs.get(invocation.<String>getArgument(0)))
+                        .map(JobServiceImplTests::copy));
+        BDDMockito.given(jobRepository.start(anyString(), any(JobStatus.class), any(Instant.class), any(JobStatus.class)))
+                .willAnswer(invocation -> update(invocation.getArgument(0),
+                        job -> job.getStatus() == invocation.getArgument(3),
+                        job -> {
+                            job.setStatus(invocation.getArgument(1));
+                            job.setStartedAt(invocation.getArgument(2));
+                        }));
+        BDDMockito.given(jobRepository.updateProgress(anyString(), anyLong(), any(), any(Instant.class), anyCollection()))
+                .willAnswer(invocation -> update(invocation.getArgument(0),
+                        job -> invocation.<Collection<JobStatus>>getArgument(4).contains(job.getStatus()),
+                        job -> {
+                            job.setProcessed(invocation.getArgument(1));
+                            job.setTotal(invocation.getArgument(2));
+                        }));
+        BDDMockito.given(jobRepository.requestCancel(anyString(), any(Instant.class), anyCollection()))
+                .willAnswer(invocation -> update(invocation.getArgument(0),
+                        job -> invocation.<Collection<JobStatus>>getArgument(2).contains(job.getStatus()),
+                        job -> job.setCancelRequested(true)));
+        BDDMockito.given(jobRepository.finish(anyString(), any(JobStatus.class), any(), any(), any(Instant.class),
+                        anyCollection()))
+                .willAnswer(invocation -> update(invocation.getArgument(0),
+                        job -> invocation.<Collection<JobStatus>>getArgument(5).contains(job.getStatus()),
+                        job -> {
+                            job.setStatus(invocation.getArgument(1));
+                            job.setResult(invocation.getArgument(2));
+                            job.setError(invocation.getArgument(3));
+                            job.setFinishedAt(invocation.getArgument(4));
+                        }));
+        JobProperties properties = new JobProperties();
+        properties.setMaxConcurrentJobs(1);
+        properties.setProgressFlushInterval(Duration.ZERO);
+        properties.setNodeId("node-a");
+        meterRegistry = new SimpleMeterRegistry();
+        serviceUnderTest = new JobServiceImpl(jobRepository, properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        serviceUnderTest.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test run job functionality")
+    public void givenJob_whenSubmit_thenJobCompletesWithResultAndMetrics() throws InterruptedException {
+        // given
+        // when
+        JobEntity job = serviceUnderTest.submit(JobType.DEVELOPER_EXPORT, context -> {
+            context.setTotal(3L);
+            context.addProcessed(3);
+            return "done";
+        });
+        // then
+        JobEntity finished = awaitTerminal(job.getId());
+        assertThat(finished.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(finished.getResult()).isEqualTo("done");
+        assertThat(finished.getProcessed()).isEqualTo(3);
+        assertThat(meterRegistry.find("developer.jobs.duration").tag("status", "completed").timer()).isNotNull();
+        assertThat(meterRegistry.find("developer.jobs.throughput").summary()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Test cancel job functionality")
+    public void givenRunningAndQueuedJobs_whenCancel_thenBothAreCancelled() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        JobEntity running = serviceUnderTest.submit(JobType.DEVELOPER_SOFT_DELETE, context -> {
+            started.countDown();
+            while (true) {
+                context.addProcessed(1);
+                context.throwIfCancelled();
+                Thread.sleep(5);
+            }
+        });
+        JobEntity queued = serviceUnderTest.submit(JobType.DEVELOPER_EXPORT, context -> "never");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // when
+        JobEntity cancelledQueued = serviceUnderTest.cancel(queued.getId());
+        serviceUnderTest.cancel(running.getId());
+        // then
+        assertThat(cancelledQueued.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(awaitTerminal(running.getId()).getStatus()).isEqualTo(JobStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Test cancel job owned by another instance functionality")
+    public void givenJobOfAnotherInstance_whenCancel_thenCancellationIsRequested() {
+        // given
+        JobEntity foreign = storeOpenJob("node-b", Instant.now());
+        // when
+        JobEntity result = serviceUnderTest.cancel(foreign.getId());
+        // then
+        assertThat(result.isCancelRequested()).isTrue();
+        assertThat(storedJobs.get(foreign.getId()).getStatus()).isEqualTo(JobStatus.RUNNING);
+    }
+
+    @Test
+    @DisplayName("Test heartbeat applies cancellation requested elsewhere functionality")
+    public void givenCancellationRequestedElsewhere_whenHeartbeat_thenOwnRunningJobIsCancelled() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        JobEntity running = serviceUnderTest.submit(JobType.DEVELOPER_SOFT_DELETE, context -> {
+            started.countDown();
+            while (true) {
+                context.throwIfCancelled();
+                Thread.sleep(5);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        BDDMockito.given(jobRepository.findAllByOwnerAndCancelRequestedTrueAndStatusIn(eq("node-a"), anyCollection()))
+                .willReturn(List.of(copy(storedJobs.get(running.getId()))));
+        // when
+        serviceUnderTest.heartbeat();
+        // then
+        assertThat(awaitTerminal(running.getId()).getStatus()).isEqualTo(JobStatus.CANCELLED);
+        Mockito.verify(jobRepository).touchHeartbeats(eq("node-a"), any(Instant.class), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Test heartbeat fails jobs of a silent instance functionality")
+    public void givenStaleJobOfAnotherInstance_whenHeartbeat_thenItIsFailed() {
+        // given
+        JobEntity stale = storeOpenJob("node-b", Instant.now().minus(Duration.ofMinutes(5)));
+        BDDMockito.given(jobRepository.findAllByStatusInAndHeartbeatAtBefore(anyCollection(), any(Instant.class)))
+                .willReturn(List.of(copy(stale)));
+        // when
+        serviceUnderTest.heartbeat();
+        // then
+        JobEntity failed = storedJobs.get(stale.getId());
+        assertThat(failed.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(failed.getError()).contains("node-b");
+    }
+
+    @Test
+    @DisplayName("Test restart fails only jobs left by this instance functionality")
+    public void givenOpenJobsOfThisInstance_whenApplicationReady_thenTheyAreFailed() {
+        // given
+        JobEntity leftover = storeOpenJob("node-a", Instant.now().minus(Duration.ofMinutes(5)));
+        BDDMockito.given(jobRepository.findAllByOwnerAndStatusIn(eq("node-a"), anyCollection()))
+                .willReturn(List.of(copy(leftover)));
+        // when
+        serviceUnderTest.onApplicationReady();
+        // then
+        assertThat(storedJobs.get(leftover.getId()).getStatus()).isEqualTo(JobStatus.FAILED);
+        Mockito.verify(jobRepository, Mockito.never()).findAllByStatusInAndHeartbeatAtBefore(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Test cancel through another instance does not reopen a finished job functionality")
+    public void givenJobCompletedAfterItWasRead_whenCancel_thenItStaysCompleted() {
+        // given
+        JobEntity foreign = storeOpenJob("node-b", Instant.now());
+        BDDMockito.given(jobRepository.findById(foreign.getId()))
+                .willAnswer(invocation -> {
+                    JobEntity read = copy(storedJobs.get(foreign.getId()));
+                    // the owner completes the job right after the cancel read it
+                    storedJobs.get(foreign.getId()).setStatus(JobStatus.COMPLETED);
+                    return Optional.of(read);
+                });
+        // when
+        JobEntity result = serviceUnderTest.cancel(foreign.getId());
+        // then
+        assertThat(result.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(storedJobs.get(foreign.getId()).getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(storedJobs.get(foreign.getId()).isCancelRequested()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test finishing job keeps the outcome another instance recorded meanwhile functionality")
+    public void givenJobFailedElsewhereWhileRunning_whenTaskCompletes_thenFailureIsKept() throws InterruptedException {
+        // given
+        // when
+        JobEntity job = serviceUnderTest.submit(JobType.DEVELOPER_EXPORT, context -> {
+            // a stale sweep on another instance fails the job while it still runs here
+            update(context.getJobId(), stored -> true, stored -> {
+                stored.setStatus(JobStatus.FAILED);
+                stored.setError("Owner node-a stopped sending heartbeats");
+            });
+            return "done";
+        });
+        // then
+        Timer duration = awaitDurationTimer();
+        JobEntity stored = storedJobs.get(job.getId());
+        assertThat(stored.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(stored.getResult()).isNull();
+        assertThat(duration.getId().getTag("status")).isEqualTo("failed");
+    }
+
+    private JobEntity storeOpenJob(String owner, Instant heartbeatAt) {
+        JobEntity job = JobEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .type(JobType.DEVELOPER_EXPORT)
+                .status(JobStatus.RUNNING)
+                .owner(owner)
+                .heartbeatAt(heartbeatAt)
+                .build();
+        storedJobs.put(job.getId(), job);
+        return job;
+    }
+
+    private JobEntity awaitTerminal(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            JobEntity job = storedJobs.get(id);
+            if (job.getStatus().isTerminal()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + id + " did not finish in time");
+    }
+
+    private Timer awaitDurationTimer() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Timer timer = meterRegistry.find("developer.jobs.duration").timer();
+            if (timer != null) {
+                return timer;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job did not finish in time");
+    }
+
+    /**
+     * Applies the change to the stored job only when the condition holds, like the conditional updates.
+     */
+    private int update(String id, Predicate<JobEntity> condition, Consumer<JobEntity> change) {
+        AtomicInteger updated = new AtomicInteger();
+        storedJobs.computeIfPresent(id, (key, job) -> {
+            if (!condition.test(job)) {
+                return job;
+            }
+            JobEntity changed = copy(job);
+            change.accept(changed);
+            updated.set(1);
+            return changed;
+        });
+        return updated.get();
+    }
+
+    private static JobEntity copy(JobEntity job) {
+        return JobEntity.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .processed(job.getProcessed())
+                .total(job.getTotal())
+                .result(job.getResult())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .updatedAt(job.getUpdatedAt())
+                .owner(job.getOwner())
+                .heartbeatAt(job.getHeartbeatAt())
+                .cancelRequested(job.isCancelRequested())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardKeyResolverTests {
+
+    @Test
+    @DisplayName("Test email hash is case insensitive functionality")
+    public void givenSameEmailInDifferentCase_whenShardForEmail_thenSameShardIsReturned() {
+        // given
+        ShardKeyResolver resolver = new ShardKeyResolver(ShardingStrategy.EMAIL_HASH, 4, 0);
+        // when
+        int lowerCaseShard = resolver.shardForEmail("john.doe@gmail.com");
+        int mixedCaseShard = resolver.shardForEmail(" John.Doe@Gmail.com ");
+        // then
+        assertThat(lowerCaseShard).isEqualTo(mixedCaseShard);
+        assertThat(lowerCaseShard).isBetween(0, 3);
+    }
+
+    @Test
+    @DisplayName("Test interleaved id allocation functionality")
+    public void givenEmailHashStrategy_whenNextId_thenIdMapsBackToSameShard() {
+        // given
+        ShardKeyResolver resolver = new ShardKeyResolver(ShardingStrategy.EMAIL_HASH, 3, 0);
+        // when
+        long firstIdOfShard2 = resolver.nextId(2, 0);
+        long nextIdOfShard1 = resolver.nextId(1, 17);
+        // then
+        assertThat(firstIdOfShard2).isEqualTo(3);
+        assertThat(nextIdOfShard1).isEqualTo(20);
+        assertThat(resolver.shardForId((int) firstIdOfShard2)).isEqualTo(2);
+        assertThat(resolver.shardForId((int) nextIdOfShard1)).isEqualTo(1);
+        assertThat(resolver.idIncrement()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test id range allocation functionality")
+    public void givenIdRangeStrategy_whenShardForId_thenRangeOwnerIsReturned() {
+        // given
+        ShardKeyResolver resolver = new ShardKeyResolver(ShardingStrategy.ID_RANGE, 2, 1000);
+        // when
+        long firstIdOfShard1 = resolver.nextId(1, 0);
+        // then
+        assertThat(firstIdOfShard1).isEqualTo(1001);
+        assertThat(resolver.shardForId(1000)).isEqualTo(0);
+        assertThat(resolver.shardForId(1001)).isEqualTo(1);
+        assertThat(resolver.shardForId(5000)).isEqualTo(1);
+        assertThat(resolver.lastIdOfRange(1)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(resolver.idIncrement()).isEqualTo(1);
+    }
+}
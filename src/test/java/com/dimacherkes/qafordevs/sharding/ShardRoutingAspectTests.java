@@ -0,0 +1,202 @@
+package com.dimacherkes.qafordevs.sharding;
+
+import com.dimacherkes.qafordevs.deadline.RequestDeadline;
+import com.dimacherkes.qafordevs.entity.DeveloperEntity;
+import com.dimacherkes.qafordevs.exception.DeveloperEmailShardChangeException;
+import com.dimacherkes.qafordevs.repository.DeveloperRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+
+@SuppressWarnings("unchecked")
+public class ShardRoutingAspectTests {
+
+    private final ExecutorService scatterExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ShardKeyResolver resolver = new ShardKeyResolver(ShardingStrategy.EMAIL_HASH, 2, 0);
+    private DeveloperRepository shards;
+    private DeveloperRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        shards = Mockito.mock(DeveloperRepository.class);
+        ShardRoutingAspect aspect = new ShardRoutingAspect(resolver, scatterExecutor,
+                Mockito.mock(ObjectProvider.class), Mockito.mock(ObjectProvider.class));
+        AspectJProxyFactory factory = new AspectJProxyFactory(shards);
+        factory.addAspect(aspect);
+        repository = factory.getProxy();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scatterExecutor.close();
+    }
+
+    @Test
+    @DisplayName("Test point read is routed to the owning shard functionality")
+    public void givenId_whenFindById_thenOnlyOwningShardIsQueried() {
+        // given
+        given(shards.findById(anyInt())).willAnswer(invocation -> ShardContext.current() == 1
+                ? Optional.of(developer(2))
+                : Optional.empty());
+        // when
+        Optional<DeveloperEntity> found = repository.findById(2);
+        // then
+        assertThat(found).map(DeveloperEntity::getId).contains(2);
+        Mockito.verify(shards, Mockito.times(1)).findById(2);
+    }
+
+    @Test
+    @DisplayName("Test limited scatter is merged in id order and cut to the limit functionality")
+    public void givenLimit_whenScatter_thenLowestIdsAcrossShardsAreReturned() {
+        // given
+        given(shards.findAllActiveAfterId(anyInt(), any(Limit.class))).willAnswer(invocation -> ShardContext.current() == 0
+                ? List.of(developer(1), developer(3), developer(5))
+                : List.of(developer(2), developer(4), developer(6)));
+        // when
+        List<DeveloperEntity> batch = repository.findAllActiveAfterId(0, Limit.of(3));
+        // then
+        assertThat(batch).extracting(DeveloperEntity::getId).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Test updated-after scatter keeps the query order functionality")
+    public void givenUpdatedAfter_whenScatter_thenMergedByUpdatedAtThenId() {
+        // given
+        Instant now = Instant.now();
+        given(shards.findAllUpdatedAfter(any(), anyInt(), any(Limit.class))).willAnswer(invocation -> ShardContext.current() == 0
+                ? List.of(updated(5, now.minusSeconds(30)), updated(1, now))
+                : List.of(updated(2, now.minusSeconds(20)), updated(4, now.plusSeconds(10))));
+        // when
+        List<DeveloperEntity> batch = repository.findAllUpdatedAfter(Instant.EPOCH, 0, Limit.of(3));
+        // then
+        assertThat(batch).extracting(DeveloperEntity::getId).containsExactly(5, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Test optional results are merged across shards functionality")
+    public void givenOptionalResult_whenScatter_thenPresentShardResultIsReturned() {
+        // given
+        given(shards.findOne(any(Example.class))).willAnswer(invocation -> ShardContext.current() == 1
+                ? Optional.of(developer(8))
+                : Optional.empty());
+        // when
+        Optional<DeveloperEntity> found = repository.findOne(Example.of(new DeveloperEntity()));
+        // then
+        assertThat(found).map(DeveloperEntity::getId).contains(8);
+    }
+
+    @Test
+    @DisplayName("Test pages are merged across shards functionality")
+    public void givenSecondPage_whenScatter_thenMergedSliceAndTotalAreReturned() {
+        // given
+        given(shards.findAll(any(Pageable.class))).willAnswer(invocation -> {
+            Pageable requested = invocation.getArgument(0);
+            assertThat(requested.getOffset()).isZero();
+            assertThat(requested.getPageSize()).isEqualTo(4);
+            return ShardContext.current() == 0
+                    ? new PageImpl<>(List.of(developer(1), developer(3), developer(5), developer(7)), requested, 10)
+                    : new PageImpl<>(List.of(developer(2), developer(4), developer(6), developer(8)), requested, 10);
+        });
+        // when
+        Page<DeveloperEntity> page = repository.findAll(PageRequest.of(1, 2));
+        // then
+        assertThat(page.getContent()).extracting(DeveloperEntity::getId).containsExactly(3, 4);
+        assertThat(page.getTotalElements()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Test counts are summed across shards functionality")
+    public void givenCount_whenScatter_thenShardCountsAreSummed() {
+        // given
+        given(shards.count()).willAnswer(invocation -> ShardContext.current() == 0 ? 3L : 4L);
+        // when
+        long count = repository.count();
+        // then
+        assertThat(count).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Test scatter threads run with the request deadline functionality")
+    public void givenRequestDeadline_whenScatter_thenEveryShardQuerySeesTheDeadline() throws Exception {
+        // given
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        Thread caller = Thread.currentThread();
+        Map<Integer, Long> deadlines = new ConcurrentHashMap<>();
+        given(shards.count()).willAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isNotSameAs(caller);
+            deadlines.put(ShardContext.current(), RequestDeadline.current());
+            return 1L;
+        });
+        // when
+        long count = RequestDeadline.callWith(deadline, () -> repository.count());
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(deadlines).containsOnlyKeys(0, 1);
+        assertThat(deadlines.values()).containsOnly(deadline);
+    }
+
+    @Test
+    @DisplayName("Test email change to another shard is rejected functionality")
+    public void givenEmailOwnedByAnotherShard_whenSave_thenDeveloperEmailShardChangeExceptionIsThrown() {
+        // given
+        // developer 1 lives on shard 0
+        String email = "developer0@mail.com";
+        for (int i = 1; resolver.shardForEmail(email) == 0; i++) {
+            email = "developer" + i + "@mail.com";
+        }
+        DeveloperEntity developer = DeveloperEntity.builder().id(1).email(email).build();
+        // when
+        // then
+        assertThatThrownBy(() -> repository.save(developer)).isInstanceOf(DeveloperEmailShardChangeException.class);
+        Mockito.verifyNoInteractions(shards);
+    }
+
+    @Test
+    @DisplayName("Test call inside a surrounding transaction is rejected functionality")
+    public void givenActiveTransaction_whenRepositoryCalled_thenIllegalStateExceptionIsThrown() {
+        // given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // when
+            // then
+            assertThatThrownBy(() -> repository.findById(1)).isInstanceOf(IllegalStateException.class);
+            Mockito.verifyNoInteractions(shards);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static DeveloperEntity developer(int id) {
+        return DeveloperEntity.builder().id(id).build();
+    }
+
+    private static DeveloperEntity updated(int id, Instant updatedAt) {
+        return DeveloperEntity.builder().id(id).updatedAt(updatedAt).build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.dimacherkes.qafordevs.slowquery;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowQueryListenerTests {
+
+    @Test
+    @DisplayName("Test fast statement is skipped functionality")
+    public void givenStatementBelowThreshold_whenAfterQuery_thenNothingIsLogged() {
+        // given
+        List<SlowQuery> logged = new ArrayList<>();
+        SlowQueryListener listener = new SlowQueryListener(properties(1.0), logged::add);
+        // when
+        listener.afterQuery(execution(10), List.of(new QueryInfo("select 1")));
+        // then
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test slow statement is logged functionality")
+    public void givenStatementAboveThreshold_whenAfterQuery_thenStatementAndCallerAreLogged() {
+        // given
+        List<SlowQuery> logged = new ArrayList<>();
+        SlowQueryListener listener = new SlowQueryListener(properties(1.0), logged::add);
+        // when
+        listener.afterQuery(execution(150), List.of(new QueryInfo("select * from developers")));
+        // then
+        assertThat(logged).hasSize(1);
+        assertThat(logged.get(0).elapsedMillis()).isEqualTo(150);
+        assertThat(logged.get(0).statements()).containsExactly("select * from developers");
+        assertThat(logged.get(0).caller()).startsWith(SlowQueryListenerTests.class.getName());
+    }
+
+    @Test
+    @DisplayName("Test zero sample rate functionality")
+    public void givenZeroSampleRate_whenAfterQuery_thenNothingIsLogged() {
+        // given
+        List<SlowQuery> logged = new ArrayList<>();
+        SlowQueryListener listener = new SlowQueryListener(properties(0.0), logged::add);
+        // when
+        listener.afterQuery(execution(150), List.of(new QueryInfo("select * from developers")));
+        // then
+        assertThat(logged).isEmpty();
+    }
+
+    private static SlowQueryLogProperties properties(double sampleRate) {
+        SlowQueryLogProperties properties = new SlowQueryLogProperties();
+        properties.setThreshold(Duration.ofMillis(100));
+        properties.setSampleRate(sampleRate);
+        return properties;
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setDataSourceName("dataSource");
+        return executionInfo;
+    }
+}
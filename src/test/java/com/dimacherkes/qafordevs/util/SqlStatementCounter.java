@@ -0,0 +1,26 @@
+package com.dimacherkes.qafordevs.util;
+
+import com.dimacherkes.qafordevs.metrics.StatementCountingInspector;
+import org.assertj.core.api.ThrowableAssert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budget assertions backed by {@link StatementCountingInspector}. The inspector counts per
+ * thread, so the action has to run on the test thread (MockMvc and direct service calls do).
+ */
+public class SqlStatementCounter {
+
+    public static int countStatements(ThrowableAssert.ThrowingCallable action) throws Throwable {
+        StatementCountingInspector.reset();
+        action.call();
+        return StatementCountingInspector.count();
+    }
+
+    public static void assertStatementsAtMost(int budget, ThrowableAssert.ThrowingCallable action) throws Throwable {
+        int executed = countStatements(action);
+        assertThat(executed)
+                .as("SQL statements executed, budget is %d", budget)
+                .isLessThanOrEqualTo(budget);
+    }
+}